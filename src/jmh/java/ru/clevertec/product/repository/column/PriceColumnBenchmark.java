@@ -0,0 +1,99 @@
+package ru.clevertec.product.repository.column;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.clevertec.product.data.InfoProductDto;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.mapper.ProductMapper;
+import ru.clevertec.product.mapper.ProductMapperImpl;
+
+/**
+ * Отбор продуктов по диапазону цен с преобразованием в {@link InfoProductDto}: фильтр потока
+ * по BigDecimal против столбца цен в копейках со скалярным, векторным и адаптивным просмотром.
+ * Цены равномерно распределены от 0.01 до 1000.00, доля попавших в диапазон в процентах задаётся selectivity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PriceColumnBenchmark {
+
+    private static final int MAX_UNITS = 100_000;
+
+    @Param({"100000", "1000000"})
+    private int products;
+
+    @Param({"0.1", "1", "10", "50"})
+    private double selectivity;
+
+    private final ProductMapper mapper = new ProductMapperImpl();
+    private List<Product> list;
+    private PriceColumn scalarColumn;
+    private PriceColumn vectorColumn;
+    private PriceColumn adaptiveColumn;
+    private BigDecimal min;
+    private BigDecimal max;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        list = IntStream.range(0, products)
+                .mapToObj(i -> Product.builder()
+                        .uuid(UUID.randomUUID())
+                        .name("Плюмбус")
+                        .description("это универсальное устройство")
+                        .price(BigDecimal.valueOf(random.nextInt(MAX_UNITS) + 1, 2))
+                        .build())
+                .toList();
+        scalarColumn = new PriceColumn(PriceScanner.scalar());
+        vectorColumn = new PriceColumn(PriceScanner.vector());
+        adaptiveColumn = new PriceColumn(PriceScanner.best());
+        list.forEach(scalarColumn::put);
+        list.forEach(vectorColumn::put);
+        list.forEach(adaptiveColumn::put);
+        long from = MAX_UNITS / 4;
+        min = BigDecimal.valueOf(from, 2);
+        max = BigDecimal.valueOf(from + (long) (MAX_UNITS * selectivity / 100) - 1, 2);
+    }
+
+    @Benchmark
+    public List<InfoProductDto> bigDecimalStream() {
+        return list.stream()
+                .filter(product -> product.getPrice().compareTo(min) >= 0 && product.getPrice().compareTo(max) <= 0)
+                .map(mapper::toInfoProductDto)
+                .toList();
+    }
+
+    @Benchmark
+    public List<InfoProductDto> scalarColumn() {
+        return scalarColumn.between(min, max).stream()
+                .map(mapper::toInfoProductDto)
+                .toList();
+    }
+
+    @Benchmark
+    public List<InfoProductDto> vectorColumn() {
+        return vectorColumn.between(min, max).stream()
+                .map(mapper::toInfoProductDto)
+                .toList();
+    }
+
+    @Benchmark
+    public List<InfoProductDto> adaptiveColumn() {
+        return adaptiveColumn.between(min, max).stream()
+                .map(mapper::toInfoProductDto)
+                .toList();
+    }
+}
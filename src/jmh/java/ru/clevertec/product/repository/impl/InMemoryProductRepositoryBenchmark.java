@@ -0,0 +1,67 @@
+package ru.clevertec.product.repository.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.clevertec.product.entity.Product;
+
+/**
+ * Стоимость выборки недавно созданных продуктов по индексу и полным просмотром. Время индексной
+ * выборки должно расти с размером результата и почти не зависеть от размера каталога.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InMemoryProductRepositoryBenchmark {
+
+    private static final LocalDateTime START = LocalDateTime.of(2023, 10, 28, 11, 17, 0);
+
+    @Param({"10000", "100000"})
+    private int products;
+
+    @Param({"10", "100", "1000"})
+    private int results;
+
+    private InMemoryProductRepository repository;
+    private LocalDateTime since;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new InMemoryProductRepository();
+        repository.saveAll(IntStream.range(0, products)
+                .mapToObj(i -> Product.builder()
+                        .name("Плюмбус")
+                        .description("это универсальное устройство")
+                        .price(BigDecimal.valueOf(i + 1))
+                        .created(START.plusSeconds(i))
+                        .build())
+                .toList());
+        since = START.plusSeconds(products - results);
+    }
+
+    @Benchmark
+    public List<Product> findCreatedSinceByIndex() {
+        return repository.findCreatedSince(since, results);
+    }
+
+    @Benchmark
+    public List<Product> findCreatedSinceByScan() {
+        return repository.findAll().stream()
+                .filter(product -> !product.getCreated().isBefore(since))
+                .sorted(Comparator.comparing(Product::getCreated))
+                .limit(results)
+                .toList();
+    }
+}
@@ -0,0 +1,69 @@
+package ru.clevertec.product.repository.impl;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.repository.jdbc.ConnectionPool;
+
+/**
+ * Сравнение сохранения пачки продуктов по одному запросу и через JDBC batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JdbcProductRepositoryBenchmark {
+
+    @Param({"100", "1000"})
+    private int products;
+
+    private ConnectionPool connectionPool;
+    private JdbcProductRepository repository;
+    private List<Product> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        connectionPool = new ConnectionPool("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1", "sa", "", 4);
+        repository = new JdbcProductRepository(connectionPool);
+        repository.createSchema();
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareBatch() {
+        batch = IntStream.range(0, products)
+                .mapToObj(i -> Product.builder()
+                        .uuid(UUID.randomUUID())
+                        .name("Плюмбус")
+                        .description("это универсальное устройство")
+                        .price(BigDecimal.valueOf(i + 1))
+                        .build())
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connectionPool.close();
+    }
+
+    @Benchmark
+    public void saveOneByOne() {
+        batch.forEach(repository::save);
+    }
+
+    @Benchmark
+    public List<Product> saveBatched() {
+        return repository.saveAll(batch);
+    }
+}
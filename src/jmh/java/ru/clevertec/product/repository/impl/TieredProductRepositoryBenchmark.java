@@ -0,0 +1,71 @@
+package ru.clevertec.product.repository.impl;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import ru.clevertec.product.entity.Product;
+
+/**
+ * Задержка поиска существующего и отсутствующего продукта в зависимости от размера уровня в памяти.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TieredProductRepositoryBenchmark {
+
+    private static final int PRODUCTS = 100_000;
+
+    @Param({"1000", "10000", "100000"})
+    private int hotCapacity;
+
+    private TieredProductRepository repository;
+    private List<UUID> uuids;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        repository = new TieredProductRepository(Files.createTempDirectory("tiered-benchmark"), hotCapacity,
+                10_000, 4, Duration.ofSeconds(1));
+        uuids = IntStream.range(0, PRODUCTS)
+                .mapToObj(i -> repository.save(Product.builder()
+                                .name("Плюмбус")
+                                .description("это универсальное устройство")
+                                .price(BigDecimal.valueOf(i + 1))
+                                .build())
+                        .getUuid())
+                .toList();
+        repository.flush();
+        repository.compact();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        repository.close();
+    }
+
+    @Benchmark
+    public Optional<Product> findExisting() {
+        return repository.findById(uuids.get(ThreadLocalRandom.current().nextInt(PRODUCTS)));
+    }
+
+    @Benchmark
+    public Optional<Product> findMissing() {
+        return repository.findById(UUID.randomUUID());
+    }
+}
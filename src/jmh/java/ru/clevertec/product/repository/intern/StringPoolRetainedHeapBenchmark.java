@@ -0,0 +1,95 @@
+package ru.clevertec.product.repository.intern;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.repository.impl.InMemoryProductRepository;
+
+/**
+ * Удерживаемая куча каталога в памяти с пулом строк и без него. Каждый продукт приходит со своими
+ * копиями трёх названий и описаний, как после маппинга запроса. Объём считается по занятой куче
+ * после полной сборки мусора до создания продуктов и после их сохранения и выводится
+ * вспомогательным счётчиком retainedBytesPerProduct; основной результат - время создания и сохранения.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class StringPoolRetainedHeapBenchmark {
+
+    private static final String[] NAMES = {"Плюмбус", "Прибор", "Гаджет"};
+    private static final String[] DESCRIPTIONS = {
+            "это универсальное устройство", "это очень полезная вещь", "это удобный прибор"};
+    private static final LocalDateTime CREATED = LocalDateTime.of(2023, 10, 28, 11, 17, 0);
+
+    @Param({"100000", "300000"})
+    private int products;
+
+    @Param({"true", "false"})
+    private boolean pooled;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Retained {
+
+        public long retainedBytesPerProduct;
+    }
+
+    @Benchmark
+    public InMemoryProductRepository saveAll(Retained retained) {
+        long before = usedAfterFullGc();
+        InMemoryProductRepository repository = new InMemoryProductRepository(pooled
+                ? new StringPool(1 << 16)
+                : new PassThroughStringPool());
+        repository.saveAll(IntStream.range(0, products)
+                .mapToObj(i -> Product.builder()
+                        .name(new String(NAMES[i % NAMES.length].toCharArray()))
+                        .description(new String(DESCRIPTIONS[i % DESCRIPTIONS.length].toCharArray()))
+                        .price(BigDecimal.valueOf(i + 1))
+                        .created(CREATED)
+                        .build())
+                .toList());
+        long after = usedAfterFullGc();
+        retained.retainedBytesPerProduct = (after - before) / products;
+        return repository;
+    }
+
+    private long usedAfterFullGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Пул, который ничего не дедуплицирует: репозиторий хранит строки в том виде, в котором они пришли.
+     */
+    private static class PassThroughStringPool extends StringPool {
+
+        private PassThroughStringPool() {
+            super(1);
+        }
+
+        @Override
+        public String intern(String value) {
+            return value;
+        }
+    }
+}
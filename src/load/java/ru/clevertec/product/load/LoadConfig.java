@@ -0,0 +1,70 @@
+package ru.clevertec.product.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Параметры прогона. Аргументы командной строки имеют вид {@code --имя=значение}:
+ * <ul>
+ *     <li>{@code repository} - in-memory, tiered, jdbc или write-behind (in-memory)</li>
+ *     <li>{@code threads} - число нагружающих потоков (число процессоров)</li>
+ *     <li>{@code duration} - длительность в формате ISO-8601 (PT1M)</li>
+ *     <li>{@code warmup} - прогрев, не попадающий в итог (PT10S)</li>
+ *     <li>{@code report} - период промежуточного отчёта (PT5S)</li>
+ *     <li>{@code mix} - доли операций (get:80,create:10,update:8,delete:2)</li>
+ *     <li>{@code keys} - число продуктов, загружаемых до старта (10000)</li>
+ *     <li>{@code zipf} - показатель перекоса обращений от 0 до 1 (0.99)</li>
+ *     <li>{@code directory} - рабочий каталог tiered-репозитория (временный)</li>
+ * </ul>
+ */
+public record LoadConfig(String repository,
+                         int threads,
+                         Duration duration,
+                         Duration warmup,
+                         Duration report,
+                         WorkloadMix mix,
+                         int keys,
+                         double zipf,
+                         Path directory) {
+
+    private static final Set<String> OPTIONS =
+            Set.of("repository", "threads", "duration", "warmup", "report", "mix", "keys", "zipf", "directory");
+
+    public LoadConfig {
+        if (threads < 1 || keys < 1) {
+            throw new IllegalArgumentException("threads and keys must be positive");
+        }
+        if (duration.isNegative() || duration.isZero() || warmup.isNegative()
+            || report.isNegative() || report.isZero()) {
+            throw new IllegalArgumentException("duration and report period must be positive");
+        }
+    }
+
+    public static LoadConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("expected --name=value, got " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            if (!OPTIONS.contains(name)) {
+                throw new IllegalArgumentException("unknown option " + name + ", expected one of " + OPTIONS);
+            }
+            options.put(name, arg.substring(arg.indexOf('=') + 1));
+        }
+        return new LoadConfig(
+                options.getOrDefault("repository", "in-memory"),
+                Integer.parseInt(options.getOrDefault("threads",
+                        String.valueOf(Runtime.getRuntime().availableProcessors()))),
+                Duration.parse(options.getOrDefault("duration", "PT1M")),
+                Duration.parse(options.getOrDefault("warmup", "PT10S")),
+                Duration.parse(options.getOrDefault("report", "PT5S")),
+                WorkloadMix.parse(options.getOrDefault("mix", "get:80,create:10,update:8,delete:2")),
+                Integer.parseInt(options.getOrDefault("keys", "10000")),
+                Double.parseDouble(options.getOrDefault("zipf", "0.99")),
+                options.containsKey("directory") ? Path.of(options.get("directory")) : null);
+    }
+}
@@ -0,0 +1,291 @@
+package ru.clevertec.product.load;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import ru.clevertec.product.data.ProductDto;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.exception.ProductNotFoundException;
+import ru.clevertec.product.mapper.ProductMapper;
+import ru.clevertec.product.mapper.ProductMapperImpl;
+import ru.clevertec.product.repository.ProductRepository;
+import ru.clevertec.product.repository.impl.InMemoryProductRepository;
+import ru.clevertec.product.repository.impl.JdbcProductRepository;
+import ru.clevertec.product.repository.impl.TieredProductRepository;
+import ru.clevertec.product.repository.impl.WriteBehindProductRepository;
+import ru.clevertec.product.repository.jdbc.ConnectionPool;
+import ru.clevertec.product.service.ProductService;
+import ru.clevertec.product.service.impl.ProductServiceImpl;
+
+/**
+ * Сквозной нагрузочный прогон сервиса продуктов поверх выбранного репозитория.
+ * Каталог заполняется заранее, затем потоки выполняют смесь операций, выбирая продукты
+ * по распределению Ципфа. Каждый период печатается пропускная способность, перцентили задержки,
+ * занятая куча и работа сборщика мусора; итог по операциям считается без прогрева.
+ * Запуск: {@code ./gradlew loadTest -PloadArgs="--repository=tiered --threads=8 --duration=PT5M"},
+ * параметры описаны в {@link LoadConfig}.
+ */
+public class LoadGenerator {
+
+    private static final String[] NAMES = {"Плюмбус", "Плюмбусик", "Шлепа", "Гаджет", "Портал"};
+    private static final String[] DESCRIPTIONS = {"это универсальное устройство", "это полезная вещь в хозяйстве"};
+    private static final double NANOS_PER_MICRO = 1_000;
+
+    private final LoadConfig config;
+    private final ProductService productService;
+    private final AtomicReferenceArray<UUID> keys;
+    private final ZipfianGenerator zipfian;
+    private final Map<Operation, LatencyHistogram> live = new EnumMap<>(Operation.class);
+    private final Map<Operation, LatencyHistogram> total = new EnumMap<>(Operation.class);
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private volatile boolean running = true;
+
+    public LoadGenerator(LoadConfig config, ProductService productService) {
+        this.config = config;
+        this.productService = productService;
+        this.keys = new AtomicReferenceArray<>(config.keys());
+        this.zipfian = new ZipfianGenerator(config.keys(), config.zipf());
+        for (Operation operation : Operation.values()) {
+            live.put(operation, new LatencyHistogram());
+            total.put(operation, new LatencyHistogram());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadConfig config = LoadConfig.parse(args);
+        List<AutoCloseable> resources = new ArrayList<>();
+        try {
+            ProductRepository productRepository = openRepository(config, resources);
+            ProductMapper mapper = new ProductMapperImpl();
+            LoadGenerator generator = new LoadGenerator(config, new ProductServiceImpl(mapper, productRepository));
+            generator.preload(mapper, productRepository);
+            generator.run();
+        } finally {
+            for (int i = resources.size() - 1; i >= 0; i--) {
+                resources.get(i).close();
+            }
+        }
+    }
+
+    /**
+     * Заполняет каталог пачками в обход сервиса, чтобы не искажать статистику операций.
+     */
+    public void preload(ProductMapper mapper, ProductRepository productRepository) {
+        int batchSize = 1000;
+        for (int from = 0; from < config.keys(); from += batchSize) {
+            List<Product> batch = new ArrayList<>(batchSize);
+            for (int i = from; i < Math.min(from + batchSize, config.keys()); i++) {
+                batch.add(mapper.toProduct(randomProduct()));
+            }
+            List<Product> saved = productRepository.saveAll(batch);
+            for (int i = 0; i < saved.size(); i++) {
+                keys.set(from + i, saved.get(i).getUuid());
+            }
+        }
+        System.out.printf("preloaded %d products into %s repository%n", config.keys(), config.repository());
+    }
+
+    public void run() throws InterruptedException {
+        System.out.printf("threads=%d duration=%s warmup=%s mix=%s zipf=%.2f%n", config.threads(),
+                config.duration(), config.warmup(), config.mix(), config.zipf());
+        List<Thread> workers = new ArrayList<>(config.threads());
+        for (int i = 0; i < config.threads(); i++) {
+            Thread worker = new Thread(this::work, "load-worker-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        GcSnapshot startGc = GcSnapshot.take();
+        GcSnapshot previousGc = startGc;
+        GcSnapshot measuredGc = config.warmup().isZero() ? startGc : null;
+        long start = System.nanoTime();
+        long end = start + config.warmup().toNanos() + config.duration().toNanos();
+        long warmupEnd = start + config.warmup().toNanos();
+        long previous = start;
+        System.out.printf("%8s %10s %10s %10s %10s %8s %8s %10s %6s %8s%n", "time,s", "ops/s", "p50,us",
+                "p99,us", "p999,us", "misses", "errors", "heap,MB", "gc", "gc,ms");
+        while (previous < end) {
+            long next = Math.min(previous + config.report().toNanos(), end);
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, next - System.nanoTime()));
+            long now = System.nanoTime();
+            LatencyHistogram interval = new LatencyHistogram();
+            boolean measured = previous >= warmupEnd;
+            for (Operation operation : Operation.values()) {
+                LatencyHistogram operationInterval = new LatencyHistogram();
+                operationInterval.drainFrom(live.get(operation));
+                interval.add(operationInterval);
+                if (measured) {
+                    total.get(operation).add(operationInterval);
+                }
+            }
+            GcSnapshot gc = GcSnapshot.take();
+            report(now - start, now - previous, interval, gc, previousGc);
+            previousGc = gc;
+            previous = now;
+            if (measuredGc == null && now >= warmupEnd) {
+                measuredGc = gc;
+            }
+        }
+        running = false;
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        summary(config.duration(), measuredGc == null ? startGc : measuredGc, GcSnapshot.take());
+    }
+
+    private void work() {
+        while (running) {
+            Operation operation = config.mix().next();
+            long start = System.nanoTime();
+            try {
+                if (!execute(operation)) {
+                    misses.increment();
+                }
+            } catch (ProductNotFoundException e) {
+                misses.increment();
+            } catch (RuntimeException e) {
+                errors.increment();
+            }
+            live.get(operation).record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Созданный продукт занимает ячейку, выбранную с тем же перекосом, поэтому удалённые популярные
+     * продукты быстро замещаются; вытесненный из ячейки продукт остаётся в каталоге.
+     *
+     * @return false, если продукт был удалён и ещё не пересоздан
+     */
+    private boolean execute(Operation operation) {
+        switch (operation) {
+            case GET -> {
+                UUID uuid = keys.get(zipfian.next());
+                if (uuid == null) {
+                    return false;
+                }
+                productService.get(uuid);
+            }
+            case GET_ALL -> productService.getAll();
+            case CREATE -> keys.set(zipfian.next(), productService.create(randomProduct()));
+            case UPDATE -> {
+                UUID uuid = keys.get(zipfian.next());
+                if (uuid == null) {
+                    return false;
+                }
+                productService.update(uuid, randomProduct());
+            }
+            case DELETE -> {
+                UUID uuid = keys.getAndSet(zipfian.next(), null);
+                if (uuid == null) {
+                    return false;
+                }
+                productService.delete(uuid);
+            }
+        }
+        return true;
+    }
+
+    private void report(long elapsed, long period, LatencyHistogram interval, GcSnapshot gc, GcSnapshot previousGc) {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        System.out.printf("%8.1f %10.0f %10.1f %10.1f %10.1f %8d %8d %10d %6d %8d%n",
+                elapsed / 1e9,
+                interval.count() * 1e9 / period,
+                interval.percentile(50) / NANOS_PER_MICRO,
+                interval.percentile(99) / NANOS_PER_MICRO,
+                interval.percentile(99.9) / NANOS_PER_MICRO,
+                misses.sumThenReset(),
+                errors.sumThenReset(),
+                heap.getUsed() >> 20,
+                gc.count() - previousGc.count(),
+                gc.millis() - previousGc.millis());
+    }
+
+    private void summary(Duration duration, GcSnapshot from, GcSnapshot to) {
+        double seconds = duration.toNanos() / 1e9;
+        System.out.printf("%nsummary over %s without warmup%n", duration);
+        System.out.printf("%-8s %12s %10s %10s %10s %10s%n", "op", "count", "ops/s", "p50,us", "p99,us", "p999,us");
+        LatencyHistogram all = new LatencyHistogram();
+        for (Operation operation : Operation.values()) {
+            LatencyHistogram histogram = total.get(operation);
+            all.add(histogram);
+            if (histogram.count() > 0) {
+                printSummaryLine(operation.key(), histogram, seconds);
+            }
+        }
+        printSummaryLine("all", all, seconds);
+        System.out.printf("gc: %d collections, %d ms (%.2f%% of wall time)%n", to.count() - from.count(),
+                to.millis() - from.millis(), (to.millis() - from.millis()) / (seconds * 10));
+    }
+
+    private static void printSummaryLine(String name, LatencyHistogram histogram, double seconds) {
+        System.out.printf("%-8s %12d %10.0f %10.1f %10.1f %10.1f%n", name, histogram.count(),
+                histogram.count() / seconds,
+                histogram.percentile(50) / NANOS_PER_MICRO,
+                histogram.percentile(99) / NANOS_PER_MICRO,
+                histogram.percentile(99.9) / NANOS_PER_MICRO);
+    }
+
+    private static ProductDto randomProduct() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new ProductDto(NAMES[random.nextInt(NAMES.length)],
+                DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)],
+                BigDecimal.valueOf(random.nextInt(1, 100_000), 2));
+    }
+
+    private static ProductRepository openRepository(LoadConfig config, List<AutoCloseable> resources)
+            throws IOException {
+        return switch (config.repository()) {
+            case "in-memory" -> new InMemoryProductRepository();
+            case "tiered" -> {
+                TieredProductRepository repository = new TieredProductRepository(config.directory() == null
+                        ? Files.createTempDirectory("product-load")
+                        : config.directory(), Math.max(1, config.keys() / 10));
+                resources.add(repository);
+                yield repository;
+            }
+            case "jdbc" -> {
+                ConnectionPool pool = new ConnectionPool("jdbc:h2:mem:load;DB_CLOSE_DELAY=-1", "sa", "",
+                        config.threads());
+                resources.add(pool);
+                JdbcProductRepository repository = new JdbcProductRepository(pool);
+                repository.createSchema();
+                yield repository;
+            }
+            case "write-behind" -> {
+                WriteBehindProductRepository repository =
+                        new WriteBehindProductRepository(new InMemoryProductRepository());
+                resources.add(repository);
+                yield repository;
+            }
+            default -> throw new IllegalArgumentException("unknown repository " + config.repository()
+                                                          + ", expected in-memory, tiered, jdbc or write-behind");
+        };
+    }
+
+    private record GcSnapshot(long count, long millis) {
+
+        private static GcSnapshot take() {
+            long count = 0;
+            long millis = 0;
+            for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                count += Math.max(0, collector.getCollectionCount());
+                millis += Math.max(0, collector.getCollectionTime());
+            }
+            return new GcSnapshot(count, millis);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package ru.clevertec.product.load;
+
+/**
+ * Операции сервиса, из которых складывается нагрузка.
+ */
+public enum Operation {
+
+    GET("get"),
+    GET_ALL("getAll"),
+    CREATE("create"),
+    UPDATE("update"),
+    DELETE("delete");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public static Operation of(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equalsIgnoreCase(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("unknown operation " + key);
+    }
+}
@@ -0,0 +1,70 @@
+package ru.clevertec.product.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Доли операций в нагрузке. Задаётся строкой вида {@code get:80,create:10,update:8,delete:2},
+ * веса не обязаны давать в сумме 100.
+ */
+public class WorkloadMix {
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private final int[] cumulative = new int[OPERATIONS.length];
+    private final int total;
+
+    private WorkloadMix(Map<Operation, Integer> weights) {
+        int sum = 0;
+        for (Operation operation : OPERATIONS) {
+            sum += weights.getOrDefault(operation, 0);
+            cumulative[operation.ordinal()] = sum;
+        }
+        if (sum <= 0) {
+            throw new IllegalArgumentException("workload mix must contain a positive weight");
+        }
+        this.total = sum;
+    }
+
+    public static WorkloadMix parse(String text) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : text.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("expected operation:weight, got " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("weight must not be negative: " + part);
+            }
+            weights.merge(Operation.of(pair[0].trim()), weight, Integer::sum);
+        }
+        return new WorkloadMix(weights);
+    }
+
+    public Operation next() {
+        int value = ThreadLocalRandom.current().nextInt(total);
+        for (Operation operation : OPERATIONS) {
+            if (value < cumulative[operation.ordinal()]) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    @Override
+    public String toString() {
+        int previous = 0;
+        StringBuilder builder = new StringBuilder();
+        for (Operation operation : OPERATIONS) {
+            int weight = cumulative[operation.ordinal()] - previous;
+            previous = cumulative[operation.ordinal()];
+            if (weight > 0) {
+                builder.append(builder.isEmpty() ? "" : ",").append(operation.key()).append(':').append(weight);
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,49 @@
+package ru.clevertec.product.load;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Генератор номеров ключей с распределением Ципфа: ключ 0 самый популярный, вероятность ключа i
+ * пропорциональна 1 / (i + 1)^theta. Алгоритм Грея и др. из YCSB, дзета-константа считается один раз
+ * при создании, выбор ключа стоит O(1).
+ */
+public class ZipfianGenerator {
+
+    private final int items;
+    private final double theta;
+    private final double alpha;
+    private final double zetaN;
+    private final double eta;
+
+    public ZipfianGenerator(int items, double theta) {
+        if (items < 1 || theta <= 0 || theta >= 1) {
+            throw new IllegalArgumentException("items must be positive and theta between 0 and 1");
+        }
+        this.items = items;
+        this.theta = theta;
+        this.alpha = 1 / (1 - theta);
+        this.zetaN = zeta(items, theta);
+        double zeta2 = zeta(2, theta);
+        this.eta = (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta2 / zetaN);
+    }
+
+    public int next() {
+        double u = ThreadLocalRandom.current().nextDouble();
+        double uz = u * zetaN;
+        if (uz < 1) {
+            return 0;
+        }
+        if (uz < 1 + Math.pow(0.5, theta)) {
+            return 1;
+        }
+        return Math.min(items - 1, (int) (items * Math.pow(eta * u - eta + 1, alpha)));
+    }
+
+    private static double zeta(int n, double theta) {
+        double sum = 0;
+        for (int i = 1; i <= n; i++) {
+            sum += 1 / Math.pow(i, theta);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,11 @@
+package ru.clevertec.product.exception;
+
+public class ServiceOverloadedException extends RuntimeException {
+
+    /**
+     * @param limit текущий предел одновременных запросов
+     */
+    public ServiceOverloadedException(int limit) {
+        super(String.format("Service overloaded: concurrency limit %d reached", limit));
+    }
+}
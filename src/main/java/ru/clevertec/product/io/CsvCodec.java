@@ -0,0 +1,113 @@
+package ru.clevertec.product.io;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import ru.clevertec.product.data.InfoProductDto;
+import ru.clevertec.product.data.ProductDto;
+
+final class CsvCodec {
+
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+    private static final String HEADER_NAME = "name";
+    private static final String HEADER_UUID = "uuid";
+    private static final String HEADER = "uuid,name,description,price";
+    private static final char NEW_LINE = '\n';
+
+    private CsvCodec() {
+    }
+
+    static boolean isHeader(String line) {
+        String first = split(line).get(0).trim();
+        return HEADER_NAME.equalsIgnoreCase(first) || HEADER_UUID.equalsIgnoreCase(first);
+    }
+
+    static ProductDto parse(String line) {
+        List<String> columns = split(line);
+        int offset = switch (columns.size()) {
+            case 3 -> 0;
+            case 4 -> 1; //uuid при импорте игнорируется, его задаёт репозиторий
+            default -> throw new IllegalArgumentException(
+                    String.format("expected 3 or 4 columns but was %d", columns.size()));
+        };
+        String description = columns.get(offset + 1);
+        return new ProductDto(columns.get(offset),
+                description.isEmpty() ? null : description,
+                parsePrice(columns.get(offset + 2)));
+    }
+
+    static void writeHeader(StringBuilder out) {
+        out.append(HEADER).append(NEW_LINE);
+    }
+
+    static void write(InfoProductDto product, StringBuilder out) {
+        out.append(product.uuid()).append(SEPARATOR);
+        writeText(product.name(), out);
+        out.append(SEPARATOR);
+        writeText(product.description(), out);
+        out.append(SEPARATOR)
+                .append(product.price().toPlainString())
+                .append(NEW_LINE);
+    }
+
+    static BigDecimal parsePrice(String value) {
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("incorrect product price: %s", value));
+        }
+    }
+
+    private static void writeText(String value, StringBuilder out) {
+        if (value == null) {
+            return;
+        }
+        boolean quoted = value.indexOf(SEPARATOR) >= 0 || value.indexOf(QUOTE) >= 0
+                         || value.indexOf(NEW_LINE) >= 0 || value.indexOf('\r') >= 0;
+        if (!quoted) {
+            out.append(value);
+            return;
+        }
+        out.append(QUOTE);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == QUOTE) {
+                out.append(QUOTE);
+            }
+            out.append(c);
+        }
+        out.append(QUOTE);
+    }
+
+    private static List<String> split(String line) {
+        List<String> columns = new ArrayList<>(4);
+        StringBuilder column = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == QUOTE && i + 1 < line.length() && line.charAt(i + 1) == QUOTE) {
+                    column.append(QUOTE);
+                    i++;
+                } else if (c == QUOTE) {
+                    quoted = false;
+                } else {
+                    column.append(c);
+                }
+            } else if (c == QUOTE) {
+                quoted = true;
+            } else if (c == SEPARATOR) {
+                columns.add(column.toString());
+                column.setLength(0);
+            } else {
+                column.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unclosed quote");
+        }
+        columns.add(column.toString());
+        return columns;
+    }
+}
@@ -0,0 +1,40 @@
+package ru.clevertec.product.io;
+
+import java.time.Duration;
+import java.util.List;
+
+public record ImportReport(
+
+        /**
+         * Количество прочитанных непустых строк без заголовка
+         */
+        long lines,
+
+        /**
+         * Количество сохранённых продуктов
+         */
+        long imported,
+
+        /**
+         * Количество строк с ошибками
+         */
+        long failed,
+
+        /**
+         * Ошибки по строкам, хранится не больше заданного в импортёре лимита
+         */
+        List<LineError> errors,
+
+        /**
+         * Время выполнения импорта
+         */
+        Duration elapsed) {
+
+    /**
+     * @return количество обработанных строк в секунду
+     */
+    public double throughput() {
+        long nanos = Math.max(elapsed.toNanos(), 1);
+        return lines * 1_000_000_000d / nanos;
+    }
+}
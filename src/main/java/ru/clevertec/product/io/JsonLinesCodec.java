@@ -0,0 +1,178 @@
+package ru.clevertec.product.io;
+
+import java.util.HashMap;
+import java.util.Map;
+import ru.clevertec.product.data.InfoProductDto;
+import ru.clevertec.product.data.ProductDto;
+
+/**
+ * Разбор и запись плоских JSON-объектов без вложенности, достаточные для построчного импорта и экспорта.
+ */
+final class JsonLinesCodec {
+
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final String PRICE = "price";
+    private static final String UUID = "uuid";
+
+    private final String line;
+    private int position;
+
+    private JsonLinesCodec(String line) {
+        this.line = line;
+    }
+
+    static ProductDto parse(String line) {
+        Map<String, String> fields = new JsonLinesCodec(line).readObject();
+        String price = fields.get(PRICE);
+        if (price == null) {
+            throw new IllegalArgumentException("null product price");
+        }
+        return new ProductDto(fields.get(NAME), fields.get(DESCRIPTION), CsvCodec.parsePrice(price));
+    }
+
+    static void write(InfoProductDto product, StringBuilder out) {
+        out.append('{');
+        writeField(UUID, product.uuid().toString(), out);
+        out.append(',');
+        writeField(NAME, product.name(), out);
+        out.append(',');
+        writeField(DESCRIPTION, product.description(), out);
+        out.append(",\"").append(PRICE).append("\":")
+                .append(product.price().toPlainString())
+                .append("}\n");
+    }
+
+    private static void writeField(String key, String value, StringBuilder out) {
+        writeString(key, out);
+        out.append(':');
+        if (value == null) {
+            out.append("null");
+        } else {
+            writeString(value, out);
+        }
+    }
+
+    private static void writeString(String value, StringBuilder out) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < ' ') {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    private Map<String, String> readObject() {
+        Map<String, String> fields = new HashMap<>();
+        expect('{');
+        if (peek() == '}') {
+            position++;
+            return fields;
+        }
+        do {
+            String key = readString();
+            expect(':');
+            fields.put(key, readValue());
+        } while (next() == ',');
+        position--;
+        expect('}');
+        if (skipWhitespace() < line.length()) {
+            throw error("unexpected trailing characters");
+        }
+        return fields;
+    }
+
+    private String readValue() {
+        char c = peek();
+        if (c == '"') {
+            return readString();
+        }
+        int start = position;
+        while (position < line.length() && ",} \t".indexOf(line.charAt(position)) < 0) {
+            position++;
+        }
+        String literal = line.substring(start, position);
+        if (literal.isEmpty()) {
+            throw error("value expected");
+        }
+        return "null".equals(literal) ? null : literal;
+    }
+
+    private String readString() {
+        expect('"');
+        StringBuilder value = new StringBuilder();
+        while (position < line.length()) {
+            char c = line.charAt(position++);
+            if (c == '"') {
+                return value.toString();
+            }
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            if (position >= line.length()) {
+                break;
+            }
+            char escaped = line.charAt(position++);
+            switch (escaped) {
+                case 'n' -> value.append('\n');
+                case 't' -> value.append('\t');
+                case 'r' -> value.append('\r');
+                case 'b' -> value.append('\b');
+                case 'f' -> value.append('\f');
+                case 'u' -> {
+                    if (position + 4 > line.length()) {
+                        throw error("incorrect unicode escape");
+                    }
+                    value.append((char) Integer.parseInt(line.substring(position, position + 4), 16));
+                    position += 4;
+                }
+                default -> value.append(escaped);
+            }
+        }
+        throw error("unclosed string");
+    }
+
+    private void expect(char expected) {
+        if (next() != expected) {
+            throw error(String.format("'%s' expected", expected));
+        }
+    }
+
+    private char next() {
+        char c = peek();
+        position++;
+        return c;
+    }
+
+    private char peek() {
+        if (skipWhitespace() >= line.length()) {
+            throw error("unexpected end of line");
+        }
+        return line.charAt(position);
+    }
+
+    private int skipWhitespace() {
+        while (position < line.length() && Character.isWhitespace(line.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(String.format("incorrect json at position %d: %s", position, message));
+    }
+}
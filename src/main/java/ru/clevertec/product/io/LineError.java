@@ -0,0 +1,14 @@
+package ru.clevertec.product.io;
+
+public record LineError(
+
+        /**
+         * Номер строки в файле, начиная с 1
+         */
+        long line,
+
+        /**
+         * Причина ошибки
+         */
+        String message) {
+}
@@ -0,0 +1,123 @@
+package ru.clevertec.product.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+import ru.clevertec.product.entity.Product;
+
+/**
+ * Компактное бинарное представление продукта, все поля могут быть null.
+ */
+public final class ProductCodec {
+
+    private ProductCodec() {
+    }
+
+    public static void write(DataOutput out, Product product) throws IOException {
+        writeUuid(out, product.getUuid());
+        writeString(out, product.getName());
+        writeString(out, product.getDescription());
+        writePrice(out, product.getPrice());
+        writeCreated(out, product.getCreated());
+    }
+
+    public static Product read(DataInput in) throws IOException {
+        return Product.builder()
+                .uuid(readUuid(in))
+                .name(readString(in))
+                .description(readString(in))
+                .price(readPrice(in))
+                .created(readCreated(in))
+                .build();
+    }
+
+    public static byte[] toBytes(Product product) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            write(out, product);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static Product fromBytes(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            return read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeUuid(DataOutput out, UUID uuid) throws IOException {
+        out.writeBoolean(uuid != null);
+        if (uuid != null) {
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        }
+    }
+
+    private static UUID readUuid(DataInput in) throws IOException {
+        return in.readBoolean()
+                ? new UUID(in.readLong(), in.readLong())
+                : null;
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        return in.readBoolean()
+                ? in.readUTF()
+                : null;
+    }
+
+    private static void writePrice(DataOutput out, BigDecimal price) throws IOException {
+        out.writeBoolean(price != null);
+        if (price != null) {
+            byte[] unscaled = price.unscaledValue().toByteArray();
+            out.writeInt(price.scale());
+            out.writeByte(unscaled.length);
+            out.write(unscaled);
+        }
+    }
+
+    private static BigDecimal readPrice(DataInput in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        int scale = in.readInt();
+        byte[] unscaled = new byte[in.readUnsignedByte()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private static void writeCreated(DataOutput out, LocalDateTime created) throws IOException {
+        out.writeBoolean(created != null);
+        if (created != null) {
+            out.writeLong(created.toLocalDate().toEpochDay());
+            out.writeLong(created.toLocalTime().toNanoOfDay());
+        }
+    }
+
+    private static LocalDateTime readCreated(DataInput in) throws IOException {
+        return in.readBoolean()
+                ? LocalDateTime.of(LocalDate.ofEpochDay(in.readLong()), LocalTime.ofNanoOfDay(in.readLong()))
+                : null;
+    }
+}
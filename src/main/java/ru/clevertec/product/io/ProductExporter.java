@@ -0,0 +1,39 @@
+package ru.clevertec.product.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public interface ProductExporter {
+
+    /**
+     * Потоково выгружает все продукты в канал, не собирая их в общий список.
+     * Канал после выгрузки не закрывается.
+     *
+     * @param channel канал для записи
+     * @param format  формат строк
+     * @return количество выгруженных продуктов
+     * @throws UncheckedIOException если запись в канал не удалась
+     */
+    long export(WritableByteChannel channel, ProductFormat format);
+
+    /**
+     * Выгружает все продукты в файл, перезаписывая его.
+     *
+     * @param path   путь к файлу
+     * @param format формат строк
+     * @return количество выгруженных продуктов
+     * @throws UncheckedIOException если запись в файл не удалась
+     */
+    default long export(Path path, ProductFormat format) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            return export(channel, format);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package ru.clevertec.product.io;
+
+import ru.clevertec.product.data.InfoProductDto;
+import ru.clevertec.product.data.ProductDto;
+
+public enum ProductFormat {
+
+    /**
+     * Строка вида {@code name,description,price} или {@code uuid,name,description,price},
+     * первая строка может быть заголовком.
+     */
+    CSV {
+        @Override
+        public ProductDto parse(String line) {
+            return CsvCodec.parse(line);
+        }
+
+        @Override
+        public boolean isHeader(String line) {
+            return CsvCodec.isHeader(line);
+        }
+
+        @Override
+        public void writeHeader(StringBuilder out) {
+            CsvCodec.writeHeader(out);
+        }
+
+        @Override
+        public void write(InfoProductDto product, StringBuilder out) {
+            CsvCodec.write(product, out);
+        }
+    },
+
+    /**
+     * Один JSON-объект на строку с полями {@code name}, {@code description} и {@code price}.
+     */
+    JSON_LINES {
+        @Override
+        public ProductDto parse(String line) {
+            return JsonLinesCodec.parse(line);
+        }
+
+        @Override
+        public boolean isHeader(String line) {
+            return false;
+        }
+
+        @Override
+        public void writeHeader(StringBuilder out) {
+        }
+
+        @Override
+        public void write(InfoProductDto product, StringBuilder out) {
+            JsonLinesCodec.write(product, out);
+        }
+    };
+
+    /**
+     * Разбирает одну строку файла в DTO.
+     *
+     * @param line строка без символа перевода строки
+     * @return DTO с информацией о продукте
+     * @throws IllegalArgumentException если строка не соответствует формату
+     */
+    public abstract ProductDto parse(String line);
+
+    /**
+     * Проверяет, является ли первая строка файла заголовком.
+     *
+     * @param line первая строка файла
+     * @return true если строку нужно пропустить
+     */
+    public abstract boolean isHeader(String line);
+
+    /**
+     * Дописывает заголовок файла вместе с переводом строки, если формат его предусматривает.
+     *
+     * @param out буфер для записи
+     */
+    public abstract void writeHeader(StringBuilder out);
+
+    /**
+     * Дописывает продукт одной строкой вместе с переводом строки,
+     * результат читается обратно через {@link #parse(String)}.
+     *
+     * @param product информация о продукте
+     * @param out     буфер для записи
+     */
+    public abstract void write(InfoProductDto product, StringBuilder out);
+}
@@ -0,0 +1,17 @@
+package ru.clevertec.product.io;
+
+import java.nio.file.Path;
+
+public interface ProductImporter {
+
+    /**
+     * Потоково загружает продукты из файла в репозиторий.
+     * Строки с ошибками разбора, валидации или сохранения пропускаются и попадают в отчёт.
+     *
+     * @param path   путь к файлу
+     * @param format формат строк файла
+     * @return отчёт об импорте
+     * @throws java.io.UncheckedIOException если файл не удалось прочитать
+     */
+    ImportReport importFile(Path path, ProductFormat format);
+}
@@ -0,0 +1,99 @@
+package ru.clevertec.product.io.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.io.ProductExporter;
+import ru.clevertec.product.io.ProductFormat;
+import ru.clevertec.product.mapper.ProductMapper;
+import ru.clevertec.product.repository.ProductRepository;
+
+/**
+ * Выгрузка через один переиспользуемый буфер на вызов: каждая строка кодируется в буфер,
+ * заполненный буфер сразу сбрасывается в канал.
+ */
+public class ChannelProductExporter implements ProductExporter {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final ProductMapper mapper;
+    private final ProductRepository productRepository;
+    private final int bufferSize;
+
+    public ChannelProductExporter(ProductMapper mapper, ProductRepository productRepository) {
+        this(mapper, productRepository, DEFAULT_BUFFER_SIZE);
+    }
+
+    public ChannelProductExporter(ProductMapper mapper, ProductRepository productRepository, int bufferSize) {
+        if (bufferSize < 16) {
+            throw new IllegalArgumentException("buffer size must be at least 16 bytes");
+        }
+        this.mapper = mapper;
+        this.productRepository = productRepository;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public long export(WritableByteChannel channel, ProductFormat format) {
+        Writer writer = new Writer(channel, bufferSize);
+        format.writeHeader(writer.line);
+        writer.encodeLine();
+        productRepository.forEach(product -> writer.write(format, product));
+        writer.drain();
+        return writer.count;
+    }
+
+    private class Writer {
+
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer;
+        private final StringBuilder line = new StringBuilder(256);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private long count;
+
+        private Writer(WritableByteChannel channel, int bufferSize) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        }
+
+        private void write(ProductFormat format, Product product) {
+            format.write(mapper.toInfoProductDto(product), line);
+            encodeLine();
+            count++;
+        }
+
+        private void encodeLine() {
+            CharBuffer chars = CharBuffer.wrap(line);
+            encoder.reset();
+            CoderResult result;
+            while ((result = encoder.encode(chars, buffer, true)).isOverflow()) {
+                drain();
+            }
+            if (result.isError()) {
+                throw new IllegalStateException(result.toString());
+            }
+            line.setLength(0);
+        }
+
+        private void drain() {
+            buffer.flip();
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buffer.clear();
+        }
+    }
+}
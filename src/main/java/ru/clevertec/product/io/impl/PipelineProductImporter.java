@@ -0,0 +1,266 @@
+package ru.clevertec.product.io.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.io.ImportReport;
+import ru.clevertec.product.io.LineError;
+import ru.clevertec.product.io.ProductFormat;
+import ru.clevertec.product.io.ProductImporter;
+import ru.clevertec.product.mapper.ProductMapper;
+import ru.clevertec.product.repository.ProductRepository;
+import ru.clevertec.product.validator.ProductValidator;
+
+/**
+ * Импорт в три стадии, связанные ограниченными очередями: чтение строк в вызывающем потоке,
+ * разбор, маппинг и валидация в пуле воркеров, пакетная запись в репозиторий в отдельном потоке.
+ * Объём занятой памяти не зависит от размера файла. Вызывающий поток ждёт очереди и стадии с таймаутом
+ * и проверяет, не завершилась ли какая-то стадия раньше времени: если воркер или запись упали,
+ * например с {@link Error}, импорт прерывается, а не ждёт места в очереди бесконечно.
+ */
+public class PipelineProductImporter implements ProductImporter {
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    private static final int DEFAULT_MAX_ERRORS = 1000;
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    private final ProductMapper mapper;
+    private final ProductValidator productValidator;
+    private final ProductRepository productRepository;
+    private final int workers;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final int maxErrors;
+
+    public PipelineProductImporter(ProductMapper mapper, ProductRepository productRepository) {
+        this(mapper, new ProductValidator(), productRepository, Runtime.getRuntime().availableProcessors(),
+                DEFAULT_QUEUE_CAPACITY, DEFAULT_BATCH_SIZE, DEFAULT_MAX_ERRORS);
+    }
+
+    public PipelineProductImporter(ProductMapper mapper, ProductValidator productValidator,
+                                   ProductRepository productRepository, int workers, int queueCapacity,
+                                   int batchSize, int maxErrors) {
+        if (workers < 1 || queueCapacity < 1 || batchSize < 1 || maxErrors < 0) {
+            throw new IllegalArgumentException(
+                    "workers, queue capacity and batch size must be positive, max errors must not be negative");
+        }
+        this.mapper = mapper;
+        this.productValidator = productValidator;
+        this.productRepository = productRepository;
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+    }
+
+    @Override
+    public ImportReport importFile(Path path, ProductFormat format) {
+        long start = System.nanoTime();
+        BlockingQueue<Line> lines = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Row> rows = new ArrayBlockingQueue<>(queueCapacity);
+        Errors errors = new Errors(maxErrors);
+        ExecutorService executor = Executors.newFixedThreadPool(workers + 1);
+        try {
+            List<Future<?>> stages = new ArrayList<>(workers + 1);
+            for (int i = 0; i < workers; i++) {
+                stages.add(executor.submit(() -> transform(format, lines, rows, errors)));
+            }
+            Future<Long> writer = executor.submit(() -> write(rows, errors));
+            stages.add(writer);
+            long total = read(path, format, lines, stages);
+            for (int i = 0; i < workers; i++) {
+                put(lines, Line.END, stages);
+            }
+            for (Future<?> transformer : stages.subList(0, workers)) {
+                await(transformer, stages);
+            }
+            put(rows, Row.END, stages);
+            long imported = await(writer, stages);
+            return new ImportReport(total, imported, errors.count(), errors.list(),
+                    Duration.ofNanos(System.nanoTime() - start));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("import failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long read(Path path, ProductFormat format, BlockingQueue<Line> lines, List<Future<?>> stages)
+            throws IOException, InterruptedException, ExecutionException {
+        long total = 0;
+        long number = 0;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                number++;
+                if (text.isBlank() || number == 1 && isHeader(format, text)) {
+                    continue;
+                }
+                put(lines, new Line(number, text), stages);
+                total++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Строка, которую не удалось разобрать как заголовок, считается данными: её ошибку
+     * зафиксирует воркер вместе с номером строки, а не прервёт импорт.
+     */
+    private boolean isHeader(ProductFormat format, String text) {
+        try {
+            return format.isHeader(text);
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Кладёт элемент в очередь, пока ждёт места, проверяет стадии, см. {@link #checkStages(List)}.
+     */
+    private static <T> void put(BlockingQueue<T> queue, T item, List<Future<?>> stages)
+            throws InterruptedException, ExecutionException {
+        while (!queue.offer(item, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+            checkStages(stages);
+        }
+    }
+
+    private static <T> T await(Future<T> stage, List<Future<?>> stages)
+            throws InterruptedException, ExecutionException {
+        while (true) {
+            try {
+                return stage.get(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                checkStages(stages);
+            }
+        }
+    }
+
+    /**
+     * Стадия завершается сама только после маркера конца, поэтому раньше она может завершиться
+     * лишь с ошибкой: get() бросит её в вызывающий поток, а остальные стадии остановит shutdownNow().
+     */
+    private static void checkStages(List<Future<?>> stages) throws InterruptedException, ExecutionException {
+        for (Future<?> stage : stages) {
+            if (stage.isDone()) {
+                stage.get();
+            }
+        }
+    }
+
+    private Void transform(ProductFormat format, BlockingQueue<Line> lines, BlockingQueue<Row> rows,
+                           Errors errors) throws InterruptedException {
+        Line line;
+        while ((line = lines.take()) != Line.END) {
+            try {
+                Product product = mapper.toProduct(format.parse(line.text()));
+                if (product.getCreated() == null) {
+                    product.setCreated(LocalDateTime.now());
+                }
+                productValidator.validate(product);
+                rows.put(new Row(line.number(), product));
+            } catch (RuntimeException e) {
+                errors.add(line.number(), e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private long write(BlockingQueue<Row> rows, Errors errors) throws InterruptedException {
+        List<Row> batch = new ArrayList<>(batchSize);
+        long imported = 0;
+        while (true) {
+            Row row = rows.take();
+            boolean end = row == Row.END;
+            if (!end) {
+                batch.add(row);
+                rows.drainTo(batch, batchSize - batch.size());
+                end = batch.remove(Row.END);
+            }
+            if (batch.size() >= batchSize || end && !batch.isEmpty()) {
+                imported += flush(batch, errors);
+                batch.clear();
+            }
+            if (end) {
+                return imported;
+            }
+        }
+    }
+
+    private long flush(List<Row> batch, Errors errors) {
+        try {
+            productRepository.saveAll(batch.stream()
+                    .map(Row::product)
+                    .toList());
+            return batch.size();
+        } catch (RuntimeException e) {
+            batch.forEach(row -> errors.add(row.number(), e.getMessage()));
+            return 0;
+        }
+    }
+
+    private record Line(long number, String text) {
+
+        private static final Line END = new Line(-1, null);
+    }
+
+    private record Row(long number, Product product) {
+
+        private static final Row END = new Row(-1, null);
+    }
+
+    private static class Errors {
+
+        private final int limit;
+        private final AtomicLong count = new AtomicLong();
+        private final List<LineError> list = new ArrayList<>();
+
+        private Errors(int limit) {
+            this.limit = limit;
+        }
+
+        private void add(long line, String message) {
+            if (count.incrementAndGet() <= limit) {
+                synchronized (list) {
+                    list.add(new LineError(line, message));
+                }
+            }
+        }
+
+        private long count() {
+            return count.get();
+        }
+
+        private List<LineError> list() {
+            synchronized (list) {
+                return list.stream()
+                        .sorted(Comparator.comparingLong(LineError::line))
+                        .toList();
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ru.clevertec.product.jfr;
+
+import java.util.UUID;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Операция хранилища продуктов. По умолчанию выключено.
+ */
+@Name("ru.clevertec.product.RepositoryOperation")
+@Label("Product Repository Operation")
+@Category({"Product", "Repository"})
+@Enabled(false)
+@StackTrace(false)
+public class RepositoryOperationEvent extends Event {
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Product UUID")
+    String uuid;
+
+    @Label("Result Size")
+    @Description("Количество найденных или записанных продуктов")
+    int resultSize;
+
+    /**
+     * Фиксирует событие, если оно включено и длительность превысила порог записи.
+     */
+    public void complete(String repository, String operation, UUID uuid, int resultSize) {
+        end();
+        if (shouldCommit()) {
+            this.repository = repository;
+            this.operation = operation;
+            this.uuid = uuid == null ? null : uuid.toString();
+            this.resultSize = resultSize;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ru.clevertec.product.jfr;
+
+import java.util.UUID;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Операция сервиса продуктов. По умолчанию выключено: пока событие не включено в записи,
+ * begin и commit ничего не делают, а поля не заполняются.
+ */
+@Name("ru.clevertec.product.ServiceOperation")
+@Label("Product Service Operation")
+@Category({"Product", "Service"})
+@Enabled(false)
+@StackTrace(false)
+public class ServiceOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Product UUID")
+    String uuid;
+
+    @Label("Result Size")
+    @Description("Количество возвращённых продуктов")
+    int resultSize;
+
+    @Label("Failure")
+    @Description("Класс исключения, если операция завершилась ошибкой")
+    String failure;
+
+    /**
+     * Фиксирует событие, если оно включено и длительность превысила порог записи.
+     */
+    public void complete(String operation, UUID uuid, int resultSize, Throwable failure) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.uuid = uuid == null ? null : uuid.toString();
+            this.resultSize = resultSize;
+            this.failure = failure == null ? null : failure.getClass().getName();
+            commit();
+        }
+    }
+}
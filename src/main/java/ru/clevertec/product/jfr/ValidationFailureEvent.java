@@ -0,0 +1,36 @@
+package ru.clevertec.product.jfr;
+
+import java.util.List;
+import java.util.UUID;
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Продукт не прошёл валидацию. По умолчанию выключено.
+ */
+@Name("ru.clevertec.product.ValidationFailure")
+@Label("Product Validation Failure")
+@Category({"Product", "Validation"})
+@Enabled(false)
+@StackTrace(false)
+public class ValidationFailureEvent extends Event {
+
+    @Label("Product UUID")
+    String uuid;
+
+    @Label("Errors")
+    String errors;
+
+    public static void emit(UUID uuid, List<String> errors) {
+        ValidationFailureEvent event = new ValidationFailureEvent();
+        if (event.isEnabled()) {
+            event.uuid = uuid == null ? null : uuid.toString();
+            event.errors = String.join("; ", errors);
+            event.commit();
+        }
+    }
+}
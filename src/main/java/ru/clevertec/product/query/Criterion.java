@@ -0,0 +1,143 @@
+package ru.clevertec.product.query;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+import ru.clevertec.product.entity.Product;
+
+/**
+ * Условие отбора продуктов. Условия на поля комбинируются через {@link #and(Criterion)},
+ * {@link #or(Criterion)} и {@link #negate()}; планировщик разбирает дерево условий,
+ * чтобы найти подходящий индекс.
+ */
+public sealed interface Criterion {
+
+    boolean test(Product product);
+
+    static Criterion all() {
+        return All.INSTANCE;
+    }
+
+    static Criterion nameStartsWith(String prefix) {
+        return new NameStartsWith(prefix);
+    }
+
+    static Criterion descriptionContains(String text) {
+        return new DescriptionContains(text);
+    }
+
+    /**
+     * Цена в отрезке [min, max], null означает отсутствие границы.
+     */
+    static Criterion priceBetween(BigDecimal min, BigDecimal max) {
+        return new PriceBetween(min, max);
+    }
+
+    /**
+     * Время создания в полуинтервале [from, to), null означает отсутствие границы.
+     */
+    static Criterion createdBetween(LocalDateTime from, LocalDateTime to) {
+        return new CreatedBetween(from, to);
+    }
+
+    default Criterion and(Criterion other) {
+        return new And(Stream.concat(conjuncts(this), conjuncts(other)).toList());
+    }
+
+    default Criterion or(Criterion other) {
+        return new Or(List.of(this, other));
+    }
+
+    default Criterion negate() {
+        return new Not(this);
+    }
+
+    private static Stream<Criterion> conjuncts(Criterion criterion) {
+        return criterion instanceof And and
+                ? and.criteria().stream()
+                : Stream.of(criterion);
+    }
+
+    enum All implements Criterion {
+
+        INSTANCE;
+
+        @Override
+        public boolean test(Product product) {
+            return true;
+        }
+    }
+
+    record NameStartsWith(String prefix) implements Criterion {
+
+        @Override
+        public boolean test(Product product) {
+            return product.getName() != null && product.getName().startsWith(prefix);
+        }
+    }
+
+    record DescriptionContains(String text) implements Criterion {
+
+        @Override
+        public boolean test(Product product) {
+            return product.getDescription() != null && product.getDescription().contains(text);
+        }
+    }
+
+    record PriceBetween(BigDecimal min, BigDecimal max) implements Criterion {
+
+        @Override
+        public boolean test(Product product) {
+            BigDecimal price = product.getPrice();
+            return price != null
+                    && (min == null || price.compareTo(min) >= 0)
+                    && (max == null || price.compareTo(max) <= 0);
+        }
+    }
+
+    record CreatedBetween(LocalDateTime from, LocalDateTime to) implements Criterion {
+
+        @Override
+        public boolean test(Product product) {
+            LocalDateTime created = product.getCreated();
+            return created != null
+                    && (from == null || !created.isBefore(from))
+                    && (to == null || created.isBefore(to));
+        }
+    }
+
+    record And(List<Criterion> criteria) implements Criterion {
+
+        @Override
+        public boolean test(Product product) {
+            for (Criterion criterion : criteria) {
+                if (!criterion.test(product)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    record Or(List<Criterion> criteria) implements Criterion {
+
+        @Override
+        public boolean test(Product product) {
+            for (Criterion criterion : criteria) {
+                if (criterion.test(product)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    record Not(Criterion criterion) implements Criterion {
+
+        @Override
+        public boolean test(Product product) {
+            return !criterion.test(product);
+        }
+    }
+}
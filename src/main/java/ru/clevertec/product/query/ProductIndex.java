@@ -0,0 +1,24 @@
+package ru.clevertec.product.query;
+
+import java.util.function.Consumer;
+import ru.clevertec.product.entity.Product;
+
+/**
+ * Индекс, которым планировщик может заменить полный обход репозитория.
+ */
+public interface ProductIndex {
+
+    /**
+     * Оценивает количество продуктов, которые индекс вернёт для условия.
+     *
+     * @param criterion условие на одно поле, без And/Or/Not
+     * @return оценка количества или -1, если индекс не умеет отбирать по этому условию
+     */
+    long estimate(Criterion criterion);
+
+    /**
+     * Передаёт действию все продукты, удовлетворяющие условию, и, возможно, часть неподходящих:
+     * исполнитель запроса всё равно проверяет полное условие.
+     */
+    void forEachCandidate(Criterion criterion, Consumer<? super Product> action);
+}
@@ -0,0 +1,52 @@
+package ru.clevertec.product.query;
+
+/**
+ * Запрос к каталогу: условие отбора, необязательный порядок и ограничение количества результатов.
+ * Экземпляры неизменяемы, методы orderBy и limit возвращают новый запрос.
+ */
+public record ProductQuery(
+
+        /**
+         * Условие отбора
+         */
+        Criterion criterion,
+
+        /**
+         * Порядок результатов или null, если порядок не важен
+         */
+        ProductSort sort,
+
+        /**
+         * Максимальное количество результатов
+         */
+        int limit) {
+
+    public ProductQuery {
+        if (criterion == null) {
+            throw new IllegalArgumentException("criterion must not be null");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+    }
+
+    public static ProductQuery where(Criterion criterion) {
+        return new ProductQuery(criterion, null, Integer.MAX_VALUE);
+    }
+
+    public static ProductQuery all() {
+        return where(Criterion.all());
+    }
+
+    public ProductQuery orderBy(ProductSort sort) {
+        return new ProductQuery(criterion, sort, limit);
+    }
+
+    public ProductQuery limit(int limit) {
+        return new ProductQuery(criterion, sort, limit);
+    }
+
+    public boolean isLimited() {
+        return limit != Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,136 @@
+package ru.clevertec.product.query;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.repository.ProductRepository;
+
+/**
+ * Исполнитель запросов. Планировщик выбирает среди условий верхнего уровня то, для которого
+ * один из индексов обещает меньше всего кандидатов, и обходит репозиторий целиком, если таких нет.
+ * Запрос с порядком и ограничением держит в куче только limit лучших продуктов вместо сортировки
+ * всех подходящих.
+ */
+public class ProductQueryEngine {
+
+    private static final int MAX_INITIAL_CAPACITY = 1024;
+
+    private final ProductRepository productRepository;
+    private final List<ProductIndex> indexes;
+
+    public ProductQueryEngine(ProductRepository productRepository) {
+        this(productRepository, List.of());
+    }
+
+    public ProductQueryEngine(ProductRepository productRepository, List<ProductIndex> indexes) {
+        this.productRepository = productRepository;
+        this.indexes = List.copyOf(indexes);
+    }
+
+    public QueryPlan plan(ProductQuery query) {
+        boolean topK = query.sort() != null && query.isLimited();
+        QueryPlan best = new QueryPlan(null, null, -1, topK);
+        for (Criterion conjunct : conjuncts(query.criterion())) {
+            for (ProductIndex index : indexes) {
+                long estimate = index.estimate(conjunct);
+                if (estimate >= 0 && (best.isFullScan() || estimate < best.estimate())) {
+                    best = new QueryPlan(index, conjunct, estimate, topK);
+                }
+            }
+        }
+        return best;
+    }
+
+    public List<Product> execute(ProductQuery query) {
+        if (query.limit() == 0) {
+            return List.of();
+        }
+        QueryPlan plan = plan(query);
+        Results results = plan.topK()
+                ? new TopK(query.sort().comparator(), query.limit())
+                : new Collected(query.sort(), query.limit());
+        Criterion criterion = query.criterion();
+        Consumer<Product> sink = product -> {
+            if (criterion.test(product)) {
+                results.accept(product);
+            }
+        };
+        if (plan.isFullScan()) {
+            productRepository.forEach(sink);
+        } else {
+            plan.index().forEachCandidate(plan.indexCriterion(), sink);
+        }
+        return results.list();
+    }
+
+    private List<Criterion> conjuncts(Criterion criterion) {
+        return criterion instanceof Criterion.And and
+                ? and.criteria()
+                : List.of(criterion);
+    }
+
+    private interface Results extends Consumer<Product> {
+
+        List<Product> list();
+    }
+
+    private static class TopK implements Results {
+
+        private final Comparator<Product> comparator;
+        private final int limit;
+        private final PriorityQueue<Product> heap;
+
+        private TopK(Comparator<Product> comparator, int limit) {
+            this.comparator = comparator;
+            this.limit = limit;
+            this.heap = new PriorityQueue<>(Math.min(limit, MAX_INITIAL_CAPACITY) + 1, comparator.reversed());
+        }
+
+        @Override
+        public void accept(Product product) {
+            if (heap.size() < limit) {
+                heap.add(product);
+            } else if (comparator.compare(product, heap.peek()) < 0) {
+                heap.poll(); //в вершине худший из отобранных
+                heap.add(product);
+            }
+        }
+
+        @Override
+        public List<Product> list() {
+            List<Product> list = new ArrayList<>(heap);
+            list.sort(comparator);
+            return list;
+        }
+    }
+
+    private static class Collected implements Results {
+
+        private final ProductSort sort;
+        private final int limit;
+        private final List<Product> list = new ArrayList<>();
+
+        private Collected(ProductSort sort, int limit) {
+            this.sort = sort;
+            this.limit = limit;
+        }
+
+        @Override
+        public void accept(Product product) {
+            if (list.size() < limit) {
+                list.add(product);
+            }
+        }
+
+        @Override
+        public List<Product> list() {
+            if (sort != null) {
+                list.sort(sort.comparator());
+            }
+            return list;
+        }
+    }
+}
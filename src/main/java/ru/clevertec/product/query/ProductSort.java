@@ -0,0 +1,47 @@
+package ru.clevertec.product.query;
+
+import java.util.Comparator;
+import ru.clevertec.product.entity.Product;
+
+public record ProductSort(
+
+        /**
+         * Поле сортировки
+         */
+        Field field,
+
+        /**
+         * Направление сортировки
+         */
+        boolean ascending) {
+
+    public static ProductSort asc(Field field) {
+        return new ProductSort(field, true);
+    }
+
+    public static ProductSort desc(Field field) {
+        return new ProductSort(field, false);
+    }
+
+    /**
+     * Порядок продуктов; продукты без значения поля идут последними, равные упорядочены по uuid.
+     */
+    public Comparator<Product> comparator() {
+        Comparator<Product> byField = switch (field) {
+            case NAME -> Comparator.comparing(Product::getName, nullsLast(ascending));
+            case PRICE -> Comparator.comparing(Product::getPrice, nullsLast(ascending));
+            case CREATED -> Comparator.comparing(Product::getCreated, nullsLast(ascending));
+        };
+        return byField.thenComparing(Product::getUuid, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+
+    private static <T extends Comparable<? super T>> Comparator<T> nullsLast(boolean ascending) {
+        return Comparator.nullsLast(ascending
+                ? Comparator.<T>naturalOrder()
+                : Comparator.<T>reverseOrder());
+    }
+
+    public enum Field {
+        NAME, PRICE, CREATED
+    }
+}
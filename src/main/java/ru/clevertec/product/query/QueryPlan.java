@@ -0,0 +1,28 @@
+package ru.clevertec.product.query;
+
+public record QueryPlan(
+
+        /**
+         * Индекс, через который отбираются продукты, или null для полного обхода
+         */
+        ProductIndex index,
+
+        /**
+         * Условие, по которому индекс отбирает кандидатов, или null для полного обхода
+         */
+        Criterion indexCriterion,
+
+        /**
+         * Оценка количества кандидатов или -1, если она неизвестна
+         */
+        long estimate,
+
+        /**
+         * Используется ли ограниченная куча для выбора первых limit результатов
+         */
+        boolean topK) {
+
+    public boolean isFullScan() {
+        return index == null;
+    }
+}
@@ -1,9 +1,14 @@
 package ru.clevertec.product.repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.repository.index.CreatedOrder;
 
 public interface ProductRepository {
 
@@ -22,6 +27,77 @@ public interface ProductRepository {
      */
     List<Product> findAll();
 
+    /**
+     * Обходит все продукты, не собирая их в общий список.
+     *
+     * @param action действие над каждым продуктом
+     */
+    default void forEach(Consumer<? super Product> action) {
+        findAll().forEach(action);
+    }
+
+    /**
+     * Номер версии содержимого, растущий при каждом изменении через репозиторий. Если версия
+     * не изменилась, {@link #findAll()} вернёт те же продукты, что и при предыдущем чтении версии.
+     * Версия читается до данных: данные могут оказаться новее прочитанной версии, но не старее.
+     *
+     * @return текущая версия или -1, если репозиторий не отслеживает изменения
+     */
+    default long version() {
+        return -1;
+    }
+
+    /**
+     * Ищет продукты, созданные не раньше указанного времени, для первого запроса инкрементального опроса.
+     * Следующие страницы нужно запрашивать через {@link #findCreatedSince(LocalDateTime, UUID, int)}
+     * от последнего полученного продукта: повтор с его временем вернёт те же продукты, если их
+     * с этим временем больше limit.
+     *
+     * @param since нижняя граница времени создания включительно
+     * @param limit максимальное количество продуктов
+     * @return продукты в порядке {@link CreatedOrder}
+     */
+    default List<Product> findCreatedSince(LocalDateTime since, int limit) {
+        return findAll().stream()
+                .filter(product -> product.getCreated() != null && !product.getCreated().isBefore(since))
+                .sorted(CreatedOrder.PRODUCTS)
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Ищет продукты, лежащие в порядке {@link CreatedOrder} строго после курсора (created, uuid),
+     * обычно - после последнего продукта предыдущей страницы.
+     *
+     * @param created время создания курсора
+     * @param uuid    идентификатор курсора
+     * @param limit   максимальное количество продуктов
+     * @return продукты в порядке {@link CreatedOrder}
+     */
+    default List<Product> findCreatedSince(LocalDateTime created, UUID uuid, int limit) {
+        return findAll().stream()
+                .filter(product -> CreatedOrder.isAfter(product, created, uuid))
+                .sorted(CreatedOrder.PRODUCTS)
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Ищет продукты с ценой в заданном диапазоне.
+     *
+     * @param min нижняя граница цены включительно
+     * @param max верхняя граница цены включительно
+     * @return найденные продукты, порядок не определён: реализация по умолчанию сохраняет порядок хранения,
+     *         индексы и разбиение на узлы его не сохраняют
+     */
+    default List<Product> findByPriceBetween(BigDecimal min, BigDecimal max) {
+        return findAll().stream()
+                .filter(product -> product.getPrice() != null
+                                   && product.getPrice().compareTo(min) >= 0
+                                   && product.getPrice().compareTo(max) <= 0)
+                .toList();
+    }
+
     /**
      * Сохраняет или обновляет продукт в памяти.
      *
@@ -31,10 +107,38 @@ public interface ProductRepository {
      */
     Product save(Product product);
 
+    /**
+     * Сохраняет или обновляет пачку продуктов за одну операцию.
+     *
+     * @param products сохраняемые продукты
+     * @return сохранённые продукты
+     * @throws IllegalArgumentException если среди переданных продуктов есть null
+     */
+    default List<Product> saveAll(List<Product> products) {
+        return products.stream()
+                .map(this::save)
+                .toList();
+    }
+
     /**
      * Удаляет продукт из памяти по идентификатору.
      *
      * @param uuid идентификатор продукта
      */
     void delete(UUID uuid);
+
+    /**
+     * Удаляет все продукты, подходящие под условие.
+     *
+     * @param filter условие удаления
+     * @return количество удалённых продуктов
+     */
+    default int deleteIf(Predicate<? super Product> filter) {
+        List<UUID> matching = findAll().stream()
+                .filter(filter)
+                .map(Product::getUuid)
+                .toList();
+        matching.forEach(this::delete);
+        return matching.size();
+    }
 }
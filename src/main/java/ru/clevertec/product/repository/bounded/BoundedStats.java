@@ -0,0 +1,44 @@
+package ru.clevertec.product.repository.bounded;
+
+public record BoundedStats(
+
+        /**
+         * Количество продуктов в репозитории
+         */
+        int size,
+
+        /**
+         * Оценка памяти, занятой продуктами
+         */
+        long usedBytes,
+
+        /**
+         * Допустимый объём памяти
+         */
+        long budgetBytes,
+
+        /**
+         * Количество найденных по uuid продуктов
+         */
+        long hits,
+
+        /**
+         * Количество поисков по uuid без результата
+         */
+        long misses,
+
+        /**
+         * Количество вытесненных продуктов
+         */
+        long evictions,
+
+        /**
+         * Оценка памяти, освобождённой вытеснением
+         */
+        long evictedBytes) {
+
+    public double hitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,17 @@
+package ru.clevertec.product.repository.bounded;
+
+import ru.clevertec.product.entity.Product;
+
+/**
+ * Получает продукты, вытесненные из ограниченного репозитория. Вызывается вне блокировки
+ * репозитория в потоке, выполнившем сохранение.
+ */
+@FunctionalInterface
+public interface EvictionListener {
+
+    /**
+     * @param product вытесненный продукт
+     * @param bytes   оценка памяти, которую он занимал
+     */
+    void evicted(Product product, long bytes);
+}
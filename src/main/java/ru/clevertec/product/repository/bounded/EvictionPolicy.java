@@ -0,0 +1,51 @@
+package ru.clevertec.product.repository.bounded;
+
+import java.util.UUID;
+import ru.clevertec.product.entity.Product;
+
+/**
+ * Порядок вытеснения продуктов из ограниченного репозитория. Реализации не потокобезопасны,
+ * репозиторий вызывает их под своей блокировкой.
+ */
+public interface EvictionPolicy {
+
+    void added(Product product);
+
+    void accessed(Product product);
+
+    /**
+     * Вызывается, когда сохранённый продукт заменяется новой версией с тем же uuid.
+     */
+    default void replaced(Product previous, Product product) {
+        removed(previous);
+        added(product);
+    }
+
+    void removed(Product product);
+
+    /**
+     * @return uuid продукта, который следует вытеснить первым, или null, если отслеживаемых продуктов нет
+     */
+    UUID victim();
+
+    /**
+     * Вытесняет продукт, к которому дольше всех не обращались.
+     */
+    static EvictionPolicy lru() {
+        return new LruEvictionPolicy();
+    }
+
+    /**
+     * Вытесняет продукт с наименьшим числом обращений, при равенстве - раньше всех достигший этого числа.
+     */
+    static EvictionPolicy lfu() {
+        return new LfuEvictionPolicy();
+    }
+
+    /**
+     * Вытесняет продукт с самым ранним временем создания.
+     */
+    static EvictionPolicy oldestCreated() {
+        return new OldestCreatedEvictionPolicy();
+    }
+}
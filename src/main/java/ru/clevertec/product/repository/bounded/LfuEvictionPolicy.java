@@ -0,0 +1,81 @@
+package ru.clevertec.product.repository.bounded;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.UUID;
+import ru.clevertec.product.entity.Product;
+
+/**
+ * LFU за O(1): продукты разложены по корзинам с одинаковым числом обращений,
+ * минимальное число обращений отслеживается отдельно.
+ */
+class LfuEvictionPolicy implements EvictionPolicy {
+
+    private final Map<UUID, Integer> frequencies = new HashMap<>();
+    private final Map<Integer, LinkedHashSet<UUID>> buckets = new HashMap<>();
+    private int minFrequency;
+
+    @Override
+    public void added(Product product) {
+        frequencies.put(product.getUuid(), 1);
+        buckets.computeIfAbsent(1, frequency -> new LinkedHashSet<>()).add(product.getUuid());
+        minFrequency = 1;
+    }
+
+    @Override
+    public void accessed(Product product) {
+        UUID uuid = product.getUuid();
+        Integer frequency = frequencies.get(uuid);
+        if (frequency == null) {
+            return;
+        }
+        frequencies.put(uuid, frequency + 1);
+        buckets.computeIfAbsent(frequency + 1, next -> new LinkedHashSet<>()).add(uuid);
+        unlink(uuid, frequency);
+    }
+
+    @Override
+    public void replaced(Product previous, Product product) {
+        accessed(product);
+    }
+
+    @Override
+    public void removed(Product product) {
+        Integer frequency = frequencies.remove(product.getUuid());
+        if (frequency != null) {
+            unlink(product.getUuid(), frequency);
+        }
+    }
+
+    @Override
+    public UUID victim() {
+        LinkedHashSet<UUID> bucket = buckets.get(minFrequency);
+        return bucket == null ? null : bucket.iterator().next();
+    }
+
+    private void unlink(UUID uuid, int frequency) {
+        LinkedHashSet<UUID> bucket = buckets.get(frequency);
+        bucket.remove(uuid);
+        if (bucket.isEmpty()) {
+            buckets.remove(frequency);
+            if (minFrequency == frequency) {
+                minFrequency = buckets.isEmpty() ? 0 : nextFrequency(frequency);
+            }
+        }
+    }
+
+    /**
+     * После обращения минимум растёт на единицу, после удаления его приходится искать.
+     */
+    private int nextFrequency(int frequency) {
+        if (buckets.containsKey(frequency + 1)) {
+            return frequency + 1;
+        }
+        int min = Integer.MAX_VALUE;
+        for (int candidate : buckets.keySet()) {
+            min = Math.min(min, candidate);
+        }
+        return min;
+    }
+}
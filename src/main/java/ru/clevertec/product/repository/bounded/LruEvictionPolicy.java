@@ -0,0 +1,36 @@
+package ru.clevertec.product.repository.bounded;
+
+import java.util.LinkedHashSet;
+import java.util.UUID;
+import ru.clevertec.product.entity.Product;
+
+class LruEvictionPolicy implements EvictionPolicy {
+
+    private final LinkedHashSet<UUID> order = new LinkedHashSet<>();
+
+    @Override
+    public void added(Product product) {
+        order.add(product.getUuid());
+    }
+
+    @Override
+    public void accessed(Product product) {
+        order.remove(product.getUuid());
+        order.add(product.getUuid());
+    }
+
+    @Override
+    public void replaced(Product previous, Product product) {
+        accessed(product);
+    }
+
+    @Override
+    public void removed(Product product) {
+        order.remove(product.getUuid());
+    }
+
+    @Override
+    public UUID victim() {
+        return order.isEmpty() ? null : order.iterator().next();
+    }
+}
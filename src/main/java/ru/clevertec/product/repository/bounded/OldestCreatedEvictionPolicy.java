@@ -0,0 +1,49 @@
+package ru.clevertec.product.repository.bounded;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import ru.clevertec.product.entity.Product;
+
+class OldestCreatedEvictionPolicy implements EvictionPolicy {
+
+    private static final Comparator<Key> ORDER = Comparator.comparing(Key::created)
+            .thenComparing(Key::uuid);
+
+    private final TreeSet<Key> order = new TreeSet<>(ORDER);
+    private final Map<UUID, Key> keys = new HashMap<>();
+
+    @Override
+    public void added(Product product) {
+        Key key = new Key(product.getCreated(), product.getUuid());
+        Key previous = keys.put(product.getUuid(), key);
+        if (previous != null) {
+            order.remove(previous);
+        }
+        order.add(key);
+    }
+
+    @Override
+    public void accessed(Product product) {
+        //время создания не зависит от обращений
+    }
+
+    @Override
+    public void removed(Product product) {
+        Key key = keys.remove(product.getUuid());
+        if (key != null) {
+            order.remove(key);
+        }
+    }
+
+    @Override
+    public UUID victim() {
+        return order.isEmpty() ? null : order.first().uuid();
+    }
+
+    private record Key(LocalDateTime created, UUID uuid) {
+    }
+}
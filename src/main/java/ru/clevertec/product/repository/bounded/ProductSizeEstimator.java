@@ -0,0 +1,69 @@
+package ru.clevertec.product.repository.bounded;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import ru.clevertec.product.entity.Product;
+
+/**
+ * Оценивает объём памяти, удерживаемый продуктом вместе с его полями, для 64-битной JVM
+ * со сжатыми ссылками и компактными строками. Строки считаются принадлежащими продукту,
+ * даже если они разделяются через пул, поэтому оценка сверху.
+ */
+public class ProductSizeEstimator {
+
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+
+    private static final long PRODUCT = align(OBJECT_HEADER + 5 * REFERENCE);
+    private static final long STRING = align(OBJECT_HEADER + REFERENCE + Integer.BYTES + 2 * Byte.BYTES);
+    private static final long UUID_SIZE = align(OBJECT_HEADER + 2 * Long.BYTES);
+    private static final long BIG_DECIMAL = align(OBJECT_HEADER + 2 * REFERENCE + 2 * Integer.BYTES + Long.BYTES);
+    private static final long BIG_INTEGER = align(OBJECT_HEADER + REFERENCE + 5 * Integer.BYTES);
+    private static final long LOCAL_DATE_TIME = align(OBJECT_HEADER + 2 * REFERENCE)
+                                                + align(OBJECT_HEADER + Integer.BYTES + 2 * Short.BYTES)
+                                                + align(OBJECT_HEADER + 3 * Byte.BYTES + Integer.BYTES);
+
+    public long estimate(Product product) {
+        return PRODUCT
+               + estimate(product.getName())
+               + estimate(product.getDescription())
+               + (product.getUuid() == null ? 0 : UUID_SIZE)
+               + estimate(product.getPrice())
+               + (product.getCreated() == null ? 0 : LOCAL_DATE_TIME);
+    }
+
+    /**
+     * Оценивает объём строки вместе с массивом байт: один байт на символ в кодировке LATIN1,
+     * два - если строка хранится в UTF16.
+     */
+    public static long estimate(String value) {
+        if (value == null) {
+            return 0;
+        }
+        int bytesPerChar = 1;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                bytesPerChar = 2; //кириллица не помещается в LATIN1
+                break;
+            }
+        }
+        return STRING + align(ARRAY_HEADER + (long) value.length() * bytesPerChar);
+    }
+
+    private static long estimate(BigDecimal value) {
+        if (value == null) {
+            return 0;
+        }
+        int bitLength = value.unscaledValue().bitLength();
+        if (bitLength < Long.SIZE) {
+            return BIG_DECIMAL; //значение хранится в поле long без BigInteger
+        }
+        return BIG_DECIMAL + BIG_INTEGER + align(ARRAY_HEADER + (long) (bitLength + 31) / 32 * Integer.BYTES);
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
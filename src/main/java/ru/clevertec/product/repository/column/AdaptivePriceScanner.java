@@ -0,0 +1,34 @@
+package ru.clevertec.product.repository.column;
+
+/**
+ * Оценивает долю подходящих строк по равномерной выборке и передаёт узкие диапазоны
+ * одному просмотру, а широкие - другому.
+ */
+class AdaptivePriceScanner implements PriceScanner {
+
+    private static final int SAMPLE_SIZE = 512;
+    private static final int SELECTIVE_PERCENT = 1;
+
+    private final PriceScanner selective;
+    private final PriceScanner dense;
+
+    AdaptivePriceScanner(PriceScanner selective, PriceScanner dense) {
+        this.selective = selective;
+        this.dense = dense;
+    }
+
+    @Override
+    public int scan(long[] prices, int length, long min, long max, int[] rowIds) {
+        if (length < SAMPLE_SIZE * 8) {
+            return dense.scan(prices, length, min, max, rowIds); //выборка стоила бы дороже выигрыша
+        }
+        int step = length / SAMPLE_SIZE;
+        int matched = 0;
+        for (int row = 0; row < length; row += step) {
+            matched += prices[row] >= min & prices[row] <= max ? 1 : 0;
+        }
+        return matched * 100 <= SAMPLE_SIZE * SELECTIVE_PERCENT
+                ? selective.scan(prices, length, min, max, rowIds)
+                : dense.scan(prices, length, min, max, rowIds);
+    }
+}
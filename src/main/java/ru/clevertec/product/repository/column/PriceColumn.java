@@ -0,0 +1,155 @@
+package ru.clevertec.product.repository.column;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import ru.clevertec.product.entity.Product;
+
+/**
+ * Цены продуктов в виде массива long в копейках рядом с массивом самих продуктов. Отбор по диапазону
+ * проходит по примитивному массиву без обращения к BigDecimal и возвращает номера строк, по которым
+ * затем берутся продукты. Освободившиеся строки переиспользуются. Цены, которые нельзя точно
+ * представить в копейках, хранятся отдельно и сравниваются как BigDecimal.
+ */
+public class PriceColumn {
+
+    private static final int SCALE = 2;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long DELETED = Long.MIN_VALUE; //меньше любой нижней границы, см. MIN_UNITS
+    private static final BigDecimal MIN_UNITS = BigDecimal.valueOf(DELETED + 1);
+    private static final BigDecimal MAX_UNITS = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    private final PriceScanner scanner;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> rowIds = new HashMap<>();
+    private final Map<UUID, Product> irregular = new HashMap<>();
+    private long[] prices = new long[INITIAL_CAPACITY];
+    private Product[] rows = new Product[INITIAL_CAPACITY];
+    private int[] free = new int[INITIAL_CAPACITY];
+    private int freeCount;
+    private int length;
+
+    public PriceColumn() {
+        this(PriceScanner.best());
+    }
+
+    public PriceColumn(PriceScanner scanner) {
+        this.scanner = scanner;
+    }
+
+    public void put(Product product) {
+        Long units = toUnitsExact(product.getPrice());
+        lock.writeLock().lock();
+        try {
+            Integer row = rowIds.get(product.getUuid());
+            if (units == null) {
+                if (row != null) {
+                    release(product.getUuid(), row);
+                }
+                irregular.put(product.getUuid(), product);
+                return;
+            }
+            irregular.remove(product.getUuid());
+            int target = row == null ? allocate(product.getUuid()) : row;
+            prices[target] = units;
+            rows[target] = product;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID uuid) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowIds.get(uuid);
+            if (row != null) {
+                release(uuid, row);
+            }
+            irregular.remove(uuid);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return продукты с ценой в [min, max]: сначала в порядке строк столбца, который после переиспользования
+     *         освободившихся строк не совпадает с порядком добавления, затем цены не в целых копейках
+     */
+    public List<Product> between(BigDecimal min, BigDecimal max) {
+        BigDecimal minUnits = min.movePointRight(SCALE).setScale(0, RoundingMode.CEILING).max(MIN_UNITS);
+        BigDecimal maxUnits = max.movePointRight(SCALE).setScale(0, RoundingMode.FLOOR).min(MAX_UNITS);
+        lock.readLock().lock();
+        try {
+            List<Product> found = new ArrayList<>();
+            if (minUnits.compareTo(maxUnits) <= 0) { //границы округлены до целых копеек внутрь диапазона
+                int[] matched = new int[length];
+                int count = scanner.scan(prices, length, minUnits.longValueExact(), maxUnits.longValueExact(),
+                        matched);
+                for (int i = 0; i < count; i++) {
+                    found.add(rows[matched[i]]);
+                }
+            }
+            for (Product product : irregular.values()) {
+                if (product.getPrice().compareTo(min) >= 0 && product.getPrice().compareTo(max) <= 0) {
+                    found.add(product);
+                }
+            }
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rowIds.size() + irregular.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int allocate(UUID uuid) {
+        int row;
+        if (freeCount > 0) {
+            row = free[--freeCount];
+        } else {
+            if (length == prices.length) {
+                prices = Arrays.copyOf(prices, length * 2);
+                rows = Arrays.copyOf(rows, length * 2);
+            }
+            row = length++;
+        }
+        rowIds.put(uuid, row);
+        return row;
+    }
+
+    private void release(UUID uuid, int row) {
+        rowIds.remove(uuid);
+        prices[row] = DELETED;
+        rows[row] = null;
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, freeCount * 2);
+        }
+        free[freeCount++] = row;
+    }
+
+    /**
+     * @return цена в копейках или null, если её нельзя представить точно
+     */
+    private static Long toUnitsExact(BigDecimal price) {
+        try {
+            long units = price.movePointRight(SCALE).longValueExact();
+            return units == DELETED ? null : units;
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package ru.clevertec.product.repository.column;
+
+/**
+ * Отбор строк столбца цен по диапазону.
+ */
+public interface PriceScanner {
+
+    /**
+     * Записывает в rowIds номера строк, цена которых лежит в [min, max], по возрастанию.
+     *
+     * @param prices цены в копейках
+     * @param length количество просматриваемых строк
+     * @param rowIds массив для результата длиной не меньше length
+     * @return количество найденных строк
+     */
+    int scan(long[] prices, int length, long min, long max, int[] rowIds);
+
+    static PriceScanner scalar() {
+        return new ScalarPriceScanner();
+    }
+
+    /**
+     * Векторная реализация собирается отдельно от основного кода (source set vector) и загружается по имени.
+     *
+     * @throws IllegalStateException если JVM запущена без модуля jdk.incubator.vector
+     *                               или векторной реализации нет в classpath
+     */
+    static PriceScanner vector() {
+        if (!isVectorModuleAvailable()) {
+            throw new IllegalStateException("module jdk.incubator.vector is not available, "
+                                            + "start the JVM with --add-modules jdk.incubator.vector");
+        }
+        try {
+            return (PriceScanner) Class.forName(vectorScannerName())
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(vectorScannerName() + " is not on the classpath", e);
+        }
+    }
+
+    /**
+     * Если модуль Vector API подключён, узкие диапазоны отбираются векторно, остальные скалярно,
+     * иначе всегда скалярно.
+     */
+    static PriceScanner best() {
+        return isVectorAvailable()
+                ? new AdaptivePriceScanner(vector(), new ScalarPriceScanner())
+                : new ScalarPriceScanner();
+    }
+
+    static boolean isVectorAvailable() {
+        String resource = vectorScannerName().replace('.', '/') + ".class";
+        return isVectorModuleAvailable() && PriceScanner.class.getClassLoader().getResource(resource) != null;
+    }
+
+    private static boolean isVectorModuleAvailable() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+
+    private static String vectorScannerName() {
+        return PriceScanner.class.getPackageName() + ".VectorPriceScanner";
+    }
+}
@@ -0,0 +1,15 @@
+package ru.clevertec.product.repository.column;
+
+class ScalarPriceScanner implements PriceScanner {
+
+    @Override
+    public int scan(long[] prices, int length, long min, long max, int[] rowIds) {
+        int found = 0;
+        for (int row = 0; row < length; row++) {
+            long price = prices[row];
+            rowIds[found] = row;
+            found += price >= min & price <= max ? 1 : 0; //без ветвления, номер перезапишется, если не подошёл
+        }
+        return found;
+    }
+}
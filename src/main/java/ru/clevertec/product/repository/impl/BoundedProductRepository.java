@@ -0,0 +1,223 @@
+package ru.clevertec.product.repository.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.jfr.RepositoryOperationEvent;
+import ru.clevertec.product.repository.ProductRepository;
+import ru.clevertec.product.repository.bounded.BoundedStats;
+import ru.clevertec.product.repository.bounded.EvictionListener;
+import ru.clevertec.product.repository.bounded.EvictionPolicy;
+import ru.clevertec.product.repository.bounded.ProductSizeEstimator;
+import ru.clevertec.product.validator.ProductValidator;
+
+/**
+ * Репозиторий в памяти с ограничением по объёму. Для каждого продукта оценивается занимаемая память,
+ * при превышении бюджета продукты вытесняются в порядке, заданном политикой, и передаются слушателю.
+ * Продукт, который больше всего бюджета, не сохраняется и сразу передаётся слушателю.
+ * Предназначен для узлов-кэшей: вытесненный продукт считается отсутствующим.
+ */
+public class BoundedProductRepository implements ProductRepository {
+
+    private static final String REPOSITORY = "bounded";
+    private static final EvictionListener IGNORE = (product, bytes) -> {
+    };
+
+    private final long budgetBytes;
+    private final EvictionPolicy policy;
+    private final ProductSizeEstimator estimator;
+    private final EvictionListener listener;
+    private final ProductValidator productValidator = new ProductValidator();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private long usedBytes;
+    private long evictions;
+    private long evictedBytes;
+
+    public BoundedProductRepository(long budgetBytes, EvictionPolicy policy) {
+        this(budgetBytes, policy, new ProductSizeEstimator(), IGNORE);
+    }
+
+    public BoundedProductRepository(long budgetBytes, EvictionPolicy policy, ProductSizeEstimator estimator,
+                                    EvictionListener listener) {
+        if (budgetBytes < 1) {
+            throw new IllegalArgumentException("memory budget must be positive");
+        }
+        this.budgetBytes = budgetBytes;
+        this.policy = policy;
+        this.estimator = estimator;
+        this.listener = listener;
+    }
+
+    /**
+     * Обращение учитывается политикой вытеснения.
+     */
+    @Override
+    public Optional<Product> findById(UUID uuid) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        Entry entry;
+        lock.lock();
+        try {
+            entry = entries.get(uuid);
+            if (entry != null) {
+                policy.accessed(entry.product());
+            }
+        } finally {
+            lock.unlock();
+        }
+        (entry == null ? misses : hits).increment();
+        event.complete(REPOSITORY, "findById", uuid, entry == null ? 0 : 1);
+        return entry == null ? Optional.empty() : Optional.of(entry.product());
+    }
+
+    /**
+     * Возвращает копию содержимого, обращения не учитываются политикой вытеснения.
+     */
+    @Override
+    public List<Product> findAll() {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        List<Product> products;
+        lock.lock();
+        try {
+            products = new ArrayList<>(entries.size());
+            entries.values().forEach(entry -> products.add(entry.product()));
+        } finally {
+            lock.unlock();
+        }
+        event.complete(REPOSITORY, "findAll", null, products.size());
+        return products;
+    }
+
+    @Override
+    public Product save(Product product) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        prepare(product);
+        long bytes = estimator.estimate(product);
+        List<Entry> evicted = new ArrayList<>();
+        lock.lock();
+        try {
+            put(product, bytes, evicted);
+        } finally {
+            lock.unlock();
+        }
+        notify(evicted);
+        event.complete(REPOSITORY, "save", product.getUuid(), 1);
+        return product;
+    }
+
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        products.forEach(this::prepare);
+        long[] bytes = new long[products.size()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = estimator.estimate(products.get(i));
+        }
+        List<Entry> evicted = new ArrayList<>();
+        lock.lock();
+        try {
+            for (int i = 0; i < bytes.length; i++) {
+                put(products.get(i), bytes[i], evicted);
+            }
+        } finally {
+            lock.unlock();
+        }
+        notify(evicted);
+        event.complete(REPOSITORY, "saveAll", null, products.size());
+        return products;
+    }
+
+    @Override
+    public void delete(UUID uuid) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        Entry removed;
+        lock.lock();
+        try {
+            removed = entries.remove(uuid);
+            if (removed != null) {
+                usedBytes -= removed.bytes();
+                policy.removed(removed.product());
+            }
+        } finally {
+            lock.unlock();
+        }
+        event.complete(REPOSITORY, "delete", uuid, removed == null ? 0 : 1);
+    }
+
+    public BoundedStats stats() {
+        lock.lock();
+        try {
+            return new BoundedStats(entries.size(), usedBytes, budgetBytes, hits.sum(), misses.sum(),
+                    evictions, evictedBytes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void put(Product product, long bytes, List<Entry> evicted) {
+        Entry entry = new Entry(product, bytes);
+        Entry previous = entries.remove(product.getUuid());
+        if (previous != null) {
+            usedBytes -= previous.bytes();
+        }
+        if (bytes > budgetBytes) {
+            if (previous != null) {
+                policy.removed(previous.product());
+            }
+            evicted(entry, evicted);
+            return;
+        }
+        entries.put(product.getUuid(), entry);
+        usedBytes += bytes;
+        if (previous == null) {
+            policy.added(product);
+        } else {
+            policy.replaced(previous.product(), product);
+        }
+        while (usedBytes > budgetBytes) {
+            Entry victim = entries.remove(policy.victim());
+            policy.removed(victim.product());
+            usedBytes -= victim.bytes();
+            evicted(victim, evicted);
+        }
+    }
+
+    private void evicted(Entry entry, List<Entry> evicted) {
+        evictions++;
+        evictedBytes += entry.bytes();
+        evicted.add(entry);
+    }
+
+    private void notify(List<Entry> evicted) {
+        for (Entry entry : evicted) {
+            listener.evicted(entry.product(), entry.bytes());
+        }
+    }
+
+    private void prepare(Product product) {
+        if (product.getUuid() == null) {
+            product.setUuid(UUID.randomUUID());
+        }
+        if (product.getCreated() == null) {
+            product.setCreated(LocalDateTime.now());
+        }
+        productValidator.validate(product);
+    }
+
+    private record Entry(Product product, long bytes) {
+    }
+}
@@ -1,46 +1,363 @@
 package ru.clevertec.product.repository.impl;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.jfr.RepositoryOperationEvent;
+import ru.clevertec.product.query.ProductIndex;
 import ru.clevertec.product.repository.ProductRepository;
+import ru.clevertec.product.repository.column.PriceColumn;
+import ru.clevertec.product.repository.index.CreatedIndex;
+import ru.clevertec.product.repository.intern.StringPool;
+import ru.clevertec.product.repository.intern.StringPoolStats;
 import ru.clevertec.product.validator.ProductValidator;
 
+/**
+ * Продукты лежат в массиве ячеек в порядке добавления, uuid сопоставлен своей ячейке.
+ * Удаление оставляет в ячейке отметку (null), которую пропускают читатели, и стоит O(1).
+ * Когда доля отметок среди занятых ячеек превышает порог, фоновый поток уплотняет массив
+ * за один проход. Чтение идёт без блокировок, запись - под общей блокировкой.
+ */
 public class InMemoryProductRepository implements ProductRepository {
 
-    private final List<Product> products = new CopyOnWriteArrayList<>();
+    private static final int DEFAULT_STRING_POOL_CAPACITY = 1 << 16;
+    private static final double DEFAULT_COMPACTION_THRESHOLD = 0.25;
+    private static final int MIN_TOMBSTONES_TO_COMPACT = 64;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final String REPOSITORY = "in-memory";
+    private static final Executor COMPACTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "in-memory-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<UUID, Slot> slotsByUuid = new ConcurrentHashMap<>();
     private final ProductValidator productValidator = new ProductValidator();
+    private final Object writeLock = new Object();
+    private final CreatedIndex createdIndex = new CreatedIndex();
+    private final PriceColumn priceColumn = new PriceColumn();
+    private final StringPool stringPool;
+    private final double compactionThreshold;
+    private volatile Product[] slots = new Product[INITIAL_CAPACITY];
+    private volatile int size;
+    private volatile long version;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private int tombstones;
+    private long compactions;
+    private boolean compactionScheduled;
+
+    public InMemoryProductRepository() {
+        this(new StringPool(DEFAULT_STRING_POOL_CAPACITY));
+    }
+
+    /**
+     * @param stringPool пул, через который сохраняемые названия и описания заменяются каноническими копиями
+     */
+    public InMemoryProductRepository(StringPool stringPool) {
+        this(stringPool, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * @param stringPool          пул, через который сохраняемые названия и описания заменяются каноническими копиями
+     * @param compactionThreshold доля отметок удаления среди занятых ячеек, после которой запускается уплотнение
+     */
+    public InMemoryProductRepository(StringPool stringPool, double compactionThreshold) {
+        if (compactionThreshold <= 0 || compactionThreshold >= 1) {
+            throw new IllegalArgumentException("compaction threshold must be between 0 and 1");
+        }
+        this.stringPool = stringPool;
+        this.compactionThreshold = compactionThreshold;
+    }
 
     @Override
     public Optional<Product> findById(UUID uuid) {
-        return products.stream()
-                .filter(product -> product.getUuid().equals(uuid))
-                .findAny();
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        Slot slot = slotsByUuid.get(uuid);
+        event.complete(REPOSITORY, "findById", uuid, slot == null ? 0 : 1);
+        return slot == null ? Optional.empty() : Optional.of(slot.product);
     }
 
+    /**
+     * Возвращает неизменяемый снимок, который переиспользуется до следующего изменения.
+     */
     @Override
     public List<Product> findAll() {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        long current = version;
+        Snapshot cached = snapshot;
+        List<Product> products = cached.products();
+        if (cached.version() != current) {
+            List<Product> live = new ArrayList<>(size);
+            forEach(live::add);
+            products = Collections.unmodifiableList(live);
+            if (current > snapshot.version()) {
+                snapshot = new Snapshot(current, products);
+            }
+        }
+        event.complete(REPOSITORY, "findAll", null, products.size());
         return products;
     }
 
+    /**
+     * Обходит ячейки без копирования, пропуская отметки удаления.
+     */
+    @Override
+    public void forEach(Consumer<? super Product> action) {
+        int used = size; //размер читается раньше массива, см. compact()
+        Product[] current = slots;
+        for (int index = 0, end = Math.min(used, current.length); index < end; index++) {
+            Product product = current[index];
+            if (product != null) {
+                action.accept(product);
+            }
+        }
+    }
+
     @Override
     public Product save(Product product) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        prepare(product);
+        synchronized (writeLock) {
+            upsert(product);
+            version++;
+        }
+        event.complete(REPOSITORY, "save", product.getUuid(), 1);
+        return product;
+    }
+
+    @Override
+    public List<Product> saveAll(List<Product> batch) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        batch.forEach(this::prepare);
+        synchronized (writeLock) {
+            batch.forEach(this::upsert);
+            version++;
+        }
+        event.complete(REPOSITORY, "saveAll", null, batch.size());
+        return batch;
+    }
+
+    @Override
+    public void delete(UUID uuid) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        boolean removed;
+        synchronized (writeLock) {
+            Slot slot = slotsByUuid.get(uuid);
+            removed = slot != null;
+            if (removed) {
+                bury(slot);
+                version++;
+                scheduleCompactionIfNeeded();
+            }
+        }
+        event.complete(REPOSITORY, "delete", uuid, removed ? 1 : 0);
+    }
+
+    /**
+     * Отмечает удалёнными все подходящие продукты за один проход, версия растёт один раз.
+     */
+    @Override
+    public int deleteIf(Predicate<? super Product> filter) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        int removed = 0;
+        synchronized (writeLock) {
+            Product[] current = slots;
+            for (int index = 0; index < size; index++) {
+                Product product = current[index];
+                if (product != null && filter.test(product)) {
+                    bury(slotsByUuid.get(product.getUuid()));
+                    removed++;
+                }
+            }
+            if (removed > 0) {
+                version++;
+                scheduleCompactionIfNeeded();
+            }
+        }
+        event.complete(REPOSITORY, "deleteIf", null, removed);
+        return removed;
+    }
+
+    /**
+     * Версия увеличивается под блокировкой записи после изменения ячеек, уплотнение её не меняет.
+     */
+    @Override
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Выбирает продукты по индексу времени создания, не просматривая остальные.
+     */
+    @Override
+    public List<Product> findCreatedSince(LocalDateTime since, int limit) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        List<Product> found = createdIndex.since(since, limit);
+        event.complete(REPOSITORY, "findCreatedSince", null, found.size());
+        return found;
+    }
+
+    @Override
+    public List<Product> findCreatedSince(LocalDateTime created, UUID uuid, int limit) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        List<Product> found = createdIndex.after(created, uuid, limit);
+        event.complete(REPOSITORY, "findCreatedSince", uuid, found.size());
+        return found;
+    }
+
+    /**
+     * Отбирает продукты по столбцу цен в копейках, см. {@link PriceColumn}; порядок результата - порядок
+     * столбца, а не ячеек хранилища.
+     */
+    @Override
+    public List<Product> findByPriceBetween(BigDecimal min, BigDecimal max) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        List<Product> found = priceColumn.between(min, max);
+        event.complete(REPOSITORY, "findByPriceBetween", null, found.size());
+        return found;
+    }
+
+    /**
+     * Переписывает живые продукты в новый массив без отметок удаления, сохраняя порядок.
+     * Массив публикуется раньше размера: читатель со старым размером дочитает новый массив
+     * до той же границы и увидит все живые продукты.
+     */
+    public void compact() {
+        synchronized (writeLock) {
+            compactionScheduled = false;
+            if (tombstones == 0) {
+                return;
+            }
+            Product[] current = slots;
+            Product[] compacted = new Product[Math.max(INITIAL_CAPACITY, Integer.highestOneBit(size - tombstones) << 1)];
+            int next = 0;
+            for (int index = 0; index < size; index++) {
+                Product product = current[index];
+                if (product != null) {
+                    slotsByUuid.get(product.getUuid()).index = next;
+                    compacted[next++] = product;
+                }
+            }
+            slots = compacted;
+            size = next;
+            tombstones = 0;
+            compactions++;
+        }
+    }
+
+    /**
+     * @return доля отметок удаления среди занятых ячеек
+     */
+    public double fragmentation() {
+        synchronized (writeLock) {
+            return size == 0 ? 0 : (double) tombstones / size;
+        }
+    }
+
+    /**
+     * @return количество выполненных уплотнений
+     */
+    public long compactions() {
+        synchronized (writeLock) {
+            return compactions;
+        }
+    }
+
+    /**
+     * Индекс по времени создания для {@link ru.clevertec.product.query.ProductQueryEngine}.
+     */
+    public ProductIndex createdIndex() {
+        return createdIndex;
+    }
+
+    public StringPoolStats stringPoolStats() {
+        return stringPool.stats();
+    }
+
+    private void upsert(Product product) {
+        createdIndex.put(product);
+        priceColumn.put(product);
+        Slot slot = slotsByUuid.get(product.getUuid());
+        if (slot != null) {
+            slots[slot.index] = product;
+            slot.product = product;
+            return;
+        }
+        if (size == slots.length) {
+            slots = Arrays.copyOf(slots, size * 2);
+        }
+        slots[size] = product;
+        slotsByUuid.put(product.getUuid(), new Slot(product, size));
+        size++; //запись размера публикует заполненную ячейку
+    }
+
+    private void bury(Slot slot) {
+        UUID uuid = slot.product.getUuid();
+        slotsByUuid.remove(uuid);
+        slots[slot.index] = null;
+        tombstones++;
+        createdIndex.remove(uuid);
+        priceColumn.remove(uuid);
+    }
+
+    private void scheduleCompactionIfNeeded() {
+        if (!compactionScheduled
+            && tombstones >= MIN_TOMBSTONES_TO_COMPACT
+            && tombstones >= compactionThreshold * size) {
+            compactionScheduled = true;
+            COMPACTOR.execute(this::compact);
+        }
+    }
+
+    private void prepare(Product product) {
         if (product.getUuid() == null) {
             product.setUuid(UUID.randomUUID()); //заглушка, пока не подключена БД
         }
         if (product.getCreated() == null) {
             product.setCreated(LocalDateTime.now());
         }
-        productValidator.validate(product);
-        products.add(product);
-        return product;
+        productValidator.validate(product); //отклонённый продукт не должен вытеснять строки из пула
+        product.setName(stringPool.intern(product.getName()));
+        product.setDescription(stringPool.intern(product.getDescription()));
     }
 
-    @Override
-    public void delete(UUID uuid) {
-        products.removeIf(product -> product.getUuid().equals(uuid));
+    /**
+     * Номер ячейки меняется только под блокировкой записи, продукт читается без неё.
+     */
+    private static class Slot {
+
+        private volatile Product product;
+        private int index;
+
+        private Slot(Product product, int index) {
+            this.product = product;
+            this.index = index;
+        }
+    }
+
+    private record Snapshot(long version, List<Product> products) {
+
+        private static final Snapshot EMPTY = new Snapshot(-1, List.of());
     }
 }
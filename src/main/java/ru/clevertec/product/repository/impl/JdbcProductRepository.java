@@ -0,0 +1,329 @@
+package ru.clevertec.product.repository.impl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.exception.RepositoryException;
+import ru.clevertec.product.exception.ValidationException;
+import ru.clevertec.product.jfr.RepositoryOperationEvent;
+import ru.clevertec.product.repository.ProductRepository;
+import ru.clevertec.product.repository.index.CreatedOrder;
+import ru.clevertec.product.repository.jdbc.ConnectionPool;
+import ru.clevertec.product.repository.jdbc.PooledConnection;
+import ru.clevertec.product.validator.ProductValidator;
+
+/**
+ * Репозиторий поверх JDBC. Запросы подготавливаются один раз на соединение пула,
+ * пачки сохраняются через JDBC batch в одной транзакции, выборка всех продуктов
+ * идёт страницами по ключу uuid. Запрос сохранения использует MERGE в диалекте H2.
+ * Выборки по времени создания упорядочены по (created, uuid); H2 сравнивает UUID без знака,
+ * что совпадает с {@link CreatedOrder}.
+ * Столбец цены хранит два знака после запятой, более точные цены отклоняются,
+ * а не округляются базой данных.
+ */
+public class JdbcProductRepository implements ProductRepository {
+
+    private static final String REPOSITORY = "jdbc";
+    private static final int DEFAULT_PAGE_SIZE = 1000;
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    private static final int PRICE_SCALE = 2;
+
+    private static final String CREATE_TABLE = """
+            CREATE TABLE IF NOT EXISTS product (
+                uuid        UUID PRIMARY KEY,
+                name        VARCHAR(10)    NOT NULL,
+                description VARCHAR(30),
+                price       DECIMAL(19, 2) NOT NULL,
+                created     TIMESTAMP(9)   NOT NULL
+            )""";
+    private static final String CREATE_CREATED_INDEX =
+            "CREATE INDEX IF NOT EXISTS product_created ON product (created, uuid)";
+    private static final String COLUMNS = "uuid, name, description, price, created";
+    private static final String FIND_BY_ID = "SELECT " + COLUMNS + " FROM product WHERE uuid = ?";
+    private static final String FIND_FIRST_PAGE = "SELECT " + COLUMNS + " FROM product ORDER BY uuid LIMIT ?";
+    private static final String FIND_NEXT_PAGE =
+            "SELECT " + COLUMNS + " FROM product WHERE uuid > ? ORDER BY uuid LIMIT ?";
+    private static final String FIND_CREATED_SINCE =
+            "SELECT " + COLUMNS + " FROM product WHERE created >= ? ORDER BY created, uuid LIMIT ?";
+    private static final String FIND_CREATED_AFTER = "SELECT " + COLUMNS
+            + " FROM product WHERE created > ? OR created = ? AND uuid > ? ORDER BY created, uuid LIMIT ?";
+    private static final String UPSERT = "MERGE INTO product (" + COLUMNS + ") KEY (uuid) VALUES (?, ?, ?, ?, ?)";
+    private static final String DELETE = "DELETE FROM product WHERE uuid = ?";
+
+    private final ConnectionPool connectionPool;
+    private final ProductValidator productValidator = new ProductValidator();
+    private final int pageSize;
+    private final int batchSize;
+
+    public JdbcProductRepository(ConnectionPool connectionPool) {
+        this(connectionPool, DEFAULT_PAGE_SIZE, DEFAULT_BATCH_SIZE);
+    }
+
+    public JdbcProductRepository(ConnectionPool connectionPool, int pageSize, int batchSize) {
+        if (pageSize < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("page and batch size must be positive");
+        }
+        this.connectionPool = connectionPool;
+        this.pageSize = pageSize;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Создаёт таблицу продуктов и индекс по времени создания, если их ещё нет.
+     */
+    public void createSchema() {
+        try (PooledConnection connection = connectionPool.acquire();
+             Statement statement = connection.connection().createStatement()) {
+            statement.execute(CREATE_TABLE);
+            statement.execute(CREATE_CREATED_INDEX);
+        } catch (SQLException e) {
+            throw new RepositoryException("cannot create schema", e);
+        }
+    }
+
+    @Override
+    public Optional<Product> findById(UUID uuid) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        try (PooledConnection connection = connectionPool.acquire()) {
+            PreparedStatement statement = connection.statement(FIND_BY_ID);
+            statement.setObject(1, uuid);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                Optional<Product> found = resultSet.next()
+                        ? Optional.of(toProduct(resultSet))
+                        : Optional.empty();
+                event.complete(REPOSITORY, "findById", uuid, found.isPresent() ? 1 : 0);
+                return found;
+            }
+        } catch (SQLException e) {
+            throw new RepositoryException("cannot find product " + uuid, e);
+        }
+    }
+
+    @Override
+    public List<Product> findAll() {
+        List<Product> products = new ArrayList<>();
+        forEach(products::add);
+        return products;
+    }
+
+    /**
+     * Обходит продукты страницами по возрастанию uuid, соединение не удерживается между страницами.
+     */
+    @Override
+    public void forEach(Consumer<? super Product> action) {
+        List<Product> page = findPage(null, pageSize);
+        while (!page.isEmpty()) {
+            page.forEach(action);
+            if (page.size() < pageSize) {
+                return;
+            }
+            page = findPage(page.get(page.size() - 1).getUuid(), pageSize);
+        }
+    }
+
+    /**
+     * Возвращает страницу продуктов по возрастанию uuid.
+     *
+     * @param after uuid последнего продукта предыдущей страницы или null для первой страницы
+     * @param limit максимальный размер страницы
+     * @return продукты с uuid строго больше after
+     */
+    public List<Product> findPage(UUID after, int limit) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        try (PooledConnection connection = connectionPool.acquire()) {
+            PreparedStatement statement;
+            if (after == null) {
+                statement = connection.statement(FIND_FIRST_PAGE);
+                statement.setInt(1, limit);
+            } else {
+                statement = connection.statement(FIND_NEXT_PAGE);
+                statement.setObject(1, after);
+                statement.setInt(2, limit);
+            }
+            List<Product> page = new ArrayList<>(limit);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    page.add(toProduct(resultSet));
+                }
+            }
+            event.complete(REPOSITORY, "findPage", after, page.size());
+            return page;
+        } catch (SQLException e) {
+            throw new RepositoryException("cannot find products after " + after, e);
+        }
+    }
+
+    @Override
+    public List<Product> findCreatedSince(LocalDateTime since, int limit) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        try (PooledConnection connection = connectionPool.acquire()) {
+            PreparedStatement statement = connection.statement(FIND_CREATED_SINCE);
+            statement.setObject(1, since);
+            statement.setInt(2, limit);
+            List<Product> products = query(statement);
+            event.complete(REPOSITORY, "findCreatedSince", null, products.size());
+            return products;
+        } catch (SQLException e) {
+            throw new RepositoryException("cannot find products created since " + since, e);
+        }
+    }
+
+    @Override
+    public List<Product> findCreatedSince(LocalDateTime created, UUID uuid, int limit) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        try (PooledConnection connection = connectionPool.acquire()) {
+            PreparedStatement statement = connection.statement(FIND_CREATED_AFTER);
+            statement.setObject(1, created);
+            statement.setObject(2, created);
+            statement.setObject(3, uuid);
+            statement.setInt(4, limit);
+            List<Product> products = query(statement);
+            event.complete(REPOSITORY, "findCreatedSince", uuid, products.size());
+            return products;
+        } catch (SQLException e) {
+            throw new RepositoryException("cannot find products created after " + created + " " + uuid, e);
+        }
+    }
+
+    private List<Product> query(PreparedStatement statement) throws SQLException {
+        List<Product> products = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                products.add(toProduct(resultSet));
+            }
+        }
+        return products;
+    }
+
+    @Override
+    public Product save(Product product) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        prepare(product);
+        try (PooledConnection connection = connectionPool.acquire()) {
+            PreparedStatement statement = connection.statement(UPSERT);
+            bind(statement, product);
+            statement.executeUpdate();
+            event.complete(REPOSITORY, "save", product.getUuid(), 1);
+            return product;
+        } catch (SQLException e) {
+            throw new RepositoryException("cannot save product " + product.getUuid(), e);
+        }
+    }
+
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        products.forEach(this::prepare);
+        try (PooledConnection connection = connectionPool.acquire()) {
+            Connection jdbc = connection.connection();
+            jdbc.setAutoCommit(false);
+            try {
+                PreparedStatement statement = connection.statement(UPSERT);
+                int pending = 0;
+                for (Product product : products) {
+                    bind(statement, product);
+                    statement.addBatch();
+                    if (++pending == batchSize) {
+                        statement.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    statement.executeBatch();
+                }
+                jdbc.commit();
+            } catch (SQLException e) {
+                rollback(connection);
+                throw e;
+            } finally {
+                restoreAutoCommit(connection);
+            }
+            event.complete(REPOSITORY, "saveAll", null, products.size());
+            return products;
+        } catch (SQLException e) {
+            throw new RepositoryException("cannot save products", e);
+        }
+    }
+
+    @Override
+    public void delete(UUID uuid) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        try (PooledConnection connection = connectionPool.acquire()) {
+            PreparedStatement statement = connection.statement(DELETE);
+            statement.setObject(1, uuid);
+            int deleted = statement.executeUpdate();
+            event.complete(REPOSITORY, "delete", uuid, deleted);
+        } catch (SQLException e) {
+            throw new RepositoryException("cannot delete product " + uuid, e);
+        }
+    }
+
+    private void prepare(Product product) {
+        if (product.getUuid() == null) {
+            product.setUuid(UUID.randomUUID());
+        }
+        if (product.getCreated() == null) {
+            product.setCreated(LocalDateTime.now());
+        }
+        productValidator.validate(product);
+        if (product.getPrice().stripTrailingZeros().scale() > PRICE_SCALE) {
+            throw new ValidationException(List.of("product price has more than " + PRICE_SCALE + " decimal places"));
+        }
+    }
+
+    private void bind(PreparedStatement statement, Product product) throws SQLException {
+        statement.setObject(1, product.getUuid());
+        statement.setString(2, product.getName());
+        if (product.getDescription() == null) {
+            statement.setNull(3, Types.VARCHAR);
+        } else {
+            statement.setString(3, product.getDescription());
+        }
+        statement.setBigDecimal(4, product.getPrice());
+        statement.setObject(5, product.getCreated());
+    }
+
+    private Product toProduct(ResultSet resultSet) throws SQLException {
+        return Product.builder()
+                .uuid(resultSet.getObject(1, UUID.class))
+                .name(resultSet.getString(2))
+                .description(resultSet.getString(3))
+                .price(resultSet.getBigDecimal(4))
+                .created(resultSet.getObject(5, LocalDateTime.class))
+                .build();
+    }
+
+    private void rollback(PooledConnection connection) {
+        connection.invalidate(); //в запросе могли остаться невыполненные элементы пачки
+        try {
+            connection.connection().rollback();
+        } catch (SQLException ignored) {
+            //соединение всё равно будет закрыто при возврате в пул
+        }
+    }
+
+    private void restoreAutoCommit(PooledConnection connection) {
+        try {
+            connection.connection().setAutoCommit(true);
+        } catch (SQLException e) {
+            connection.invalidate();
+        }
+    }
+}
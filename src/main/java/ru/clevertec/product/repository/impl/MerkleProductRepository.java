@@ -0,0 +1,182 @@
+package ru.clevertec.product.repository.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.io.ProductCodec;
+import ru.clevertec.product.repository.ProductRepository;
+import ru.clevertec.product.repository.merkle.MerklePeer;
+import ru.clevertec.product.repository.merkle.MerkleSync;
+import ru.clevertec.product.repository.merkle.MerkleTree;
+
+/**
+ * Декоратор, поддерживающий {@link MerkleTree} над содержимым обёрнутого репозитория. Для каждого листа
+ * хранится корзина хешей его продуктов, по ней сравниваются продукты различающихся листьев
+ * без чтения из репозитория. Все изменения должны проходить через декоратор, иначе дерево
+ * разойдётся с данными. Синхронизация двух репозиториев - {@link MerkleSync#sync(MerklePeer, MerklePeer)}.
+ */
+public class MerkleProductRepository implements ProductRepository, MerklePeer {
+
+    private static final int DEFAULT_DEPTH = 14;
+
+    private final ProductRepository productRepository;
+    private final MerkleTree tree;
+    private final Map<UUID, Long>[] buckets;
+
+    public MerkleProductRepository(ProductRepository productRepository) {
+        this(productRepository, DEFAULT_DEPTH);
+    }
+
+    /**
+     * Строит дерево по текущему содержимому репозитория.
+     *
+     * @param depth глубина дерева, листьев 2^depth; при различии в продукте передаются хеши всех
+     *              продуктов его листа, поэтому глубину выбирают около log2(размер каталога / 8)
+     */
+    @SuppressWarnings("unchecked")
+    public MerkleProductRepository(ProductRepository productRepository, int depth) {
+        this.productRepository = productRepository;
+        this.tree = new MerkleTree(depth);
+        this.buckets = new Map[tree.leaves()];
+        productRepository.forEach(this::track);
+    }
+
+    @Override
+    public Optional<Product> findById(UUID uuid) {
+        return productRepository.findById(uuid);
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return productRepository.findAll();
+    }
+
+    @Override
+    public void forEach(Consumer<? super Product> action) {
+        productRepository.forEach(action);
+    }
+
+    @Override
+    public List<Product> findCreatedSince(LocalDateTime since, int limit) {
+        return productRepository.findCreatedSince(since, limit);
+    }
+
+    @Override
+    public List<Product> findCreatedSince(LocalDateTime created, UUID uuid, int limit) {
+        return productRepository.findCreatedSince(created, uuid, limit);
+    }
+
+    @Override
+    public long version() {
+        return productRepository.version();
+    }
+
+    @Override
+    public List<Product> findByPriceBetween(BigDecimal min, BigDecimal max) {
+        return productRepository.findByPriceBetween(min, max);
+    }
+
+    @Override
+    public synchronized Product save(Product product) {
+        Product saved = productRepository.save(product);
+        track(saved);
+        return saved;
+    }
+
+    @Override
+    public synchronized List<Product> saveAll(List<Product> products) {
+        List<Product> saved = productRepository.saveAll(products);
+        saved.forEach(this::track);
+        return saved;
+    }
+
+    @Override
+    public synchronized void delete(UUID uuid) {
+        productRepository.delete(uuid);
+        int leaf = tree.leafOf(uuid);
+        Map<UUID, Long> bucket = buckets[leaf - tree.leaves()];
+        Long previous = bucket == null ? null : bucket.remove(uuid);
+        if (previous != null) {
+            tree.toggle(leaf, previous);
+        }
+    }
+
+    public MerkleTree tree() {
+        return tree;
+    }
+
+    @Override
+    public int depth() {
+        return tree.depth();
+    }
+
+    @Override
+    public long[] hashes(int[] nodes) {
+        long[] hashes = new long[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            hashes[i] = tree.hash(nodes[i]);
+        }
+        return hashes;
+    }
+
+    @Override
+    public synchronized Map<UUID, Long> entries(int leaf) {
+        Map<UUID, Long> bucket = buckets[leaf - tree.leaves()];
+        return bucket == null ? Map.of() : new HashMap<>(bucket);
+    }
+
+    @Override
+    public List<byte[]> products(Collection<UUID> uuids) {
+        List<byte[]> products = new ArrayList<>(uuids.size());
+        for (UUID uuid : uuids) {
+            productRepository.findById(uuid)
+                    .map(ProductCodec::toBytes)
+                    .ifPresent(products::add);
+        }
+        return products;
+    }
+
+    @Override
+    public synchronized void apply(List<byte[]> products, Collection<UUID> deleted) {
+        if (!products.isEmpty()) {
+            saveAll(products.stream()
+                    .map(ProductCodec::fromBytes)
+                    .toList());
+        }
+        deleted.forEach(this::delete);
+    }
+
+    private void track(Product product) {
+        long hash = hash(product);
+        int leaf = tree.leafOf(product.getUuid());
+        Map<UUID, Long> bucket = buckets[leaf - tree.leaves()];
+        if (bucket == null) {
+            bucket = new HashMap<>();
+            buckets[leaf - tree.leaves()] = bucket;
+        }
+        Long previous = bucket.put(product.getUuid(), hash);
+        tree.toggle(leaf, previous == null ? hash : previous ^ hash);
+    }
+
+    /**
+     * Цена и время создания приводятся к каноническому виду: репозитории могут вернуть 10 и 10.00
+     * для одной цены, а хранилище с микросекундной точностью - усечённое время создания.
+     */
+    private static long hash(Product product) {
+        BigDecimal price = product.getPrice() == null ? null : product.getPrice().stripTrailingZeros();
+        LocalDateTime created = product.getCreated() == null
+                ? null
+                : product.getCreated().truncatedTo(ChronoUnit.MICROS);
+        return MerkleTree.hash(ProductCodec.toBytes(new Product(product.getUuid(), product.getName(),
+                product.getDescription(), price, created)));
+    }
+}
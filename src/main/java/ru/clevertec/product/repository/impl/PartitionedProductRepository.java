@@ -0,0 +1,264 @@
+package ru.clevertec.product.repository.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.repository.ProductRepository;
+import ru.clevertec.product.repository.index.CreatedOrder;
+import ru.clevertec.product.repository.partition.ConsistentHashRing;
+
+/**
+ * Репозиторий, разбивающий продукты по uuid между узлами с помощью согласованного хеширования.
+ * Запросы по одному продукту уходят узлу-владельцу, выборка всех продуктов и пакетное сохранение
+ * выполняются на узлах параллельно. При добавлении и удалении узла переносятся только продукты,
+ * сменившие владельца; на время переноса остальные операции ждут. По умолчанию запросы к узлам
+ * выполняет общий для всех экземпляров ограниченный пул потоков: узлы блокируются на вводе-выводе,
+ * и общий ForkJoinPool занимать ими нельзя. Узел, который сам разбит на узлы, должен получить
+ * собственный пул, иначе вложенные запросы могут занять все потоки общего.
+ */
+public class PartitionedProductRepository implements ProductRepository {
+
+    private static final int DEFAULT_VIRTUAL_NODES = 128;
+    private static final int DEFAULT_NODE_THREADS = 16;
+    private static final AtomicInteger NODE_THREADS = new AtomicInteger();
+    private static final Executor NODE_EXECUTOR = Executors.newFixedThreadPool(DEFAULT_NODE_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "partitioned-repository-node-" + NODE_THREADS.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ConsistentHashRing ring;
+    private final Map<String, ProductRepository> nodes = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Executor executor;
+
+    public PartitionedProductRepository() {
+        this(DEFAULT_VIRTUAL_NODES, NODE_EXECUTOR);
+    }
+
+    /**
+     * @param virtualNodes количество точек кольца на узел
+     * @param executor     пул для параллельных запросов к узлам
+     */
+    public PartitionedProductRepository(int virtualNodes, Executor executor) {
+        this.ring = new ConsistentHashRing(virtualNodes);
+        this.executor = executor;
+    }
+
+    @Override
+    public Optional<Product> findById(UUID uuid) {
+        lock.readLock().lock();
+        try {
+            return owner(uuid).findById(uuid);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Product> findAll() {
+        lock.readLock().lock();
+        try {
+            List<CompletableFuture<List<Product>>> parts = nodes.values().stream()
+                    .map(node -> CompletableFuture.supplyAsync(node::findAll, executor))
+                    .toList();
+            List<Product> products = new ArrayList<>();
+            parts.forEach(part -> products.addAll(join(part)));
+            return products;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Запрашивает у каждого узла limit первых продуктов и сливает их: каждый узел уже вернул
+     * свою часть в порядке {@link CreatedOrder}.
+     */
+    @Override
+    public List<Product> findCreatedSince(LocalDateTime since, int limit) {
+        return mergeCreated(node -> node.findCreatedSince(since, limit), limit);
+    }
+
+    @Override
+    public List<Product> findCreatedSince(LocalDateTime created, UUID uuid, int limit) {
+        return mergeCreated(node -> node.findCreatedSince(created, uuid, limit), limit);
+    }
+
+    private List<Product> mergeCreated(Function<ProductRepository, List<Product>> query, int limit) {
+        lock.readLock().lock();
+        try {
+            List<CompletableFuture<List<Product>>> parts = nodes.values().stream()
+                    .map(node -> CompletableFuture.supplyAsync(() -> query.apply(node), executor))
+                    .toList();
+            return parts.stream()
+                    .flatMap(part -> join(part).stream())
+                    .sorted(CreatedOrder.PRODUCTS)
+                    .limit(limit)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Product> findByPriceBetween(BigDecimal min, BigDecimal max) {
+        lock.readLock().lock();
+        try {
+            List<CompletableFuture<List<Product>>> parts = nodes.values().stream()
+                    .map(node -> CompletableFuture.supplyAsync(() -> node.findByPriceBetween(min, max), executor))
+                    .toList();
+            List<Product> products = new ArrayList<>();
+            parts.forEach(part -> products.addAll(join(part)));
+            return products;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Product save(Product product) {
+        assignUuid(product);
+        lock.readLock().lock();
+        try {
+            return owner(product.getUuid()).save(product);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        products.forEach(this::assignUuid);
+        lock.readLock().lock();
+        try {
+            Map<String, List<Product>> byNode = products.stream()
+                    .collect(Collectors.groupingBy(product -> ring.owner(product.getUuid())));
+            List<CompletableFuture<List<Product>>> parts = byNode.entrySet().stream()
+                    .map(part -> CompletableFuture.supplyAsync(() -> nodes.get(part.getKey()).saveAll(part.getValue()),
+                            executor))
+                    .toList();
+            parts.forEach(this::join);
+            return products;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(UUID uuid) {
+        lock.readLock().lock();
+        try {
+            owner(uuid).delete(uuid);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Добавляет узел и переносит на него продукты, которые теперь ему принадлежат.
+     *
+     * @return количество перенесённых продуктов
+     */
+    public int addNode(String name, ProductRepository node) {
+        lock.writeLock().lock();
+        try {
+            if (nodes.containsKey(name)) {
+                throw new IllegalArgumentException("node " + name + " already exists");
+            }
+            ring.add(name);
+            nodes.put(name, node);
+            int moved = 0;
+            for (Map.Entry<String, ProductRepository> source : nodes.entrySet()) {
+                if (!source.getKey().equals(name)) {
+                    moved += move(source.getValue(), source.getValue().findAll().stream()
+                            .filter(product -> ring.owner(product.getUuid()).equals(name))
+                            .toList());
+                }
+            }
+            return moved;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Удаляет узел, распределяя его продукты между оставшимися узлами.
+     *
+     * @return количество перенесённых продуктов
+     */
+    public int removeNode(String name) {
+        lock.writeLock().lock();
+        try {
+            ProductRepository node = nodes.get(name);
+            if (node == null) {
+                throw new IllegalArgumentException("node " + name + " does not exist");
+            }
+            List<Product> products = List.copyOf(node.findAll());
+            if (!products.isEmpty() && nodes.size() == 1) {
+                throw new IllegalStateException("cannot remove the last node holding products");
+            }
+            ring.remove(name);
+            nodes.remove(name);
+            return move(node, products);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Возвращает количество продуктов на каждом узле.
+     */
+    public Map<String, Integer> distribution() {
+        lock.readLock().lock();
+        try {
+            return nodes.entrySet().stream()
+                    .collect(Collectors.toMap(Map.Entry::getKey, node -> node.getValue().findAll().size()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int move(ProductRepository source, List<Product> products) {
+        products.stream()
+                .collect(Collectors.groupingBy(product -> ring.owner(product.getUuid())))
+                .forEach((target, part) -> nodes.get(target).saveAll(part));
+        products.forEach(product -> source.delete(product.getUuid())); //копия на новом узле уже сохранена
+        return products.size();
+    }
+
+    private ProductRepository owner(UUID uuid) {
+        return nodes.get(ring.owner(uuid));
+    }
+
+    private void assignUuid(Product product) {
+        if (product.getUuid() == null) {
+            product.setUuid(UUID.randomUUID());
+        }
+    }
+
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package ru.clevertec.product.repository.impl;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.io.ProductCodec;
+import ru.clevertec.product.repository.ProductRepository;
+import ru.clevertec.product.repository.replication.ReplicationProtocol;
+import ru.clevertec.product.repository.replication.ReplicationRecord;
+import ru.clevertec.product.repository.replication.ReplicationStats;
+import ru.clevertec.product.repository.replication.Snapshot;
+
+/**
+ * Репозиторий ведомого узла только для чтения. Фоновый поток получает журнал ведущего узла по TCP
+ * и применяет его к локальному репозиторию; после обрыва соединения переподключается и продолжает
+ * с первой неприменённой записи того же журнала. Если ведущий узел перезапущен с новым журналом
+ * или запись либо снимок не удалось применить, локальная копия заменяется полным снимком.
+ * Задержка репликации считается по часам обоих узлов и точна настолько, насколько они синхронизированы.
+ */
+public class ReplicaProductRepository implements ProductRepository, AutoCloseable {
+
+    private static final Duration DEFAULT_RECONNECT_DELAY = Duration.ofMillis(200);
+    private static final int CONNECT_TIMEOUT_MILLIS = 1000;
+
+    private final InetSocketAddress primary;
+    private final ProductRepository productRepository;
+    private final long reconnectDelayMillis;
+    private final Object progress = new Object();
+    private final AtomicLong reconnects = new AtomicLong();
+    private final AtomicLong snapshots = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final Thread follower;
+    private volatile long appliedOffset;
+    private volatile long primaryOffset;
+    private volatile long lagMillis;
+    private volatile Socket socket;
+    private volatile boolean closed;
+    private UUID logId = ReplicationProtocol.UNKNOWN_LOG;
+    private boolean resync;
+
+    public ReplicaProductRepository(InetSocketAddress primary) {
+        this(primary, new InMemoryProductRepository(), DEFAULT_RECONNECT_DELAY);
+    }
+
+    public ReplicaProductRepository(InetSocketAddress primary, ProductRepository productRepository,
+                                    Duration reconnectDelay) {
+        this.primary = primary;
+        this.productRepository = productRepository;
+        this.reconnectDelayMillis = reconnectDelay.toMillis();
+        this.follower = new Thread(this::follow, "replication-replica");
+        follower.setDaemon(true);
+        follower.start();
+    }
+
+    @Override
+    public Optional<Product> findById(UUID uuid) {
+        return productRepository.findById(uuid);
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return productRepository.findAll();
+    }
+
+    @Override
+    public void forEach(Consumer<? super Product> action) {
+        productRepository.forEach(action);
+    }
+
+    @Override
+    public List<Product> findCreatedSince(LocalDateTime since, int limit) {
+        return productRepository.findCreatedSince(since, limit);
+    }
+
+    @Override
+    public List<Product> findCreatedSince(LocalDateTime created, UUID uuid, int limit) {
+        return productRepository.findCreatedSince(created, uuid, limit);
+    }
+
+    @Override
+    public long version() {
+        return productRepository.version();
+    }
+
+    @Override
+    public List<Product> findByPriceBetween(BigDecimal min, BigDecimal max) {
+        return productRepository.findByPriceBetween(min, max);
+    }
+
+    @Override
+    public Product save(Product product) {
+        throw new UnsupportedOperationException("replica is read-only");
+    }
+
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        throw new UnsupportedOperationException("replica is read-only");
+    }
+
+    @Override
+    public void delete(UUID uuid) {
+        throw new UnsupportedOperationException("replica is read-only");
+    }
+
+    public ReplicationStats stats() {
+        return new ReplicationStats(appliedOffset, primaryOffset, lagMillis, reconnects.get(), snapshots.get(),
+                failures.get());
+    }
+
+    /**
+     * Ожидает применения записи журнала с указанным номером.
+     *
+     * @return true, если запись применена до истечения timeout
+     */
+    public boolean awaitOffset(long offset, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (progress) {
+            long remaining = timeout.toNanos();
+            while (appliedOffset < offset && remaining > 0) {
+                TimeUnit.NANOSECONDS.timedWait(progress, remaining);
+                remaining = deadline - System.nanoTime();
+            }
+            return appliedOffset >= offset;
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        follower.interrupt();
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException ignored) {
+                //поток репликации завершится сам
+            }
+        }
+        try {
+            follower.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void follow() {
+        while (!closed) {
+            try (Socket connection = new Socket()) {
+                socket = connection;
+                connection.connect(primary, CONNECT_TIMEOUT_MILLIS);
+                connection.setTcpNoDelay(true);
+                DataOutputStream out = new DataOutputStream(connection.getOutputStream());
+                ReplicationProtocol.writeHandshake(out, logId,
+                        resync ? ReplicationProtocol.SNAPSHOT_REQUEST : appliedOffset + 1);
+                out.flush();
+                DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream()));
+                while (!closed) {
+                    apply(in);
+                }
+            } catch (IOException e) {
+                //соединение оборвалось, продолжим с первой неприменённой записи
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+                resync = true; //часть изменений ведущего узла не применена
+            }
+            if (closed) {
+                return;
+            }
+            reconnects.incrementAndGet();
+            try {
+                Thread.sleep(reconnectDelayMillis);
+            } catch (InterruptedException interrupted) {
+                return;
+            }
+        }
+    }
+
+    private void apply(DataInputStream in) throws IOException {
+        byte frame = in.readByte();
+        switch (frame) {
+            case ReplicationProtocol.RECORD -> applyRecord(ReplicationProtocol.readRecord(in));
+            case ReplicationProtocol.HEARTBEAT ->
+                    primaryOffset = Math.max(primaryOffset, ReplicationProtocol.readHeartbeat(in));
+            case ReplicationProtocol.SNAPSHOT -> applySnapshot(ReplicationProtocol.readSnapshot(in));
+            case ReplicationProtocol.RESUME -> logId = ReplicationProtocol.readResume(in);
+            default -> throw new IOException("unknown replication frame " + frame);
+        }
+    }
+
+    private void applyRecord(ReplicationRecord record) {
+        if (record.isDelete()) {
+            productRepository.delete(record.uuid());
+        } else {
+            productRepository.save(ProductCodec.fromBytes(record.product()));
+        }
+        lagMillis = Math.max(0, System.currentTimeMillis() - record.timestamp());
+        primaryOffset = Math.max(primaryOffset, record.offset());
+        advance(record.offset());
+    }
+
+    /**
+     * Обновляет продукты из снимка и удаляет отсутствующие в нём, не опустошая репозиторий для читателей.
+     */
+    private void applySnapshot(Snapshot snapshot) {
+        List<Product> products = snapshot.products().stream()
+                .map(ProductCodec::fromBytes)
+                .toList();
+        productRepository.saveAll(products);
+        Set<UUID> retained = products.stream()
+                .map(Product::getUuid)
+                .collect(Collectors.toSet());
+        productRepository.deleteIf(product -> !retained.contains(product.getUuid()));
+        logId = snapshot.logId();
+        resync = false;
+        snapshots.incrementAndGet();
+        primaryOffset = snapshot.offset();
+        advance(snapshot.offset());
+    }
+
+    private void advance(long offset) {
+        synchronized (progress) {
+            appliedOffset = offset;
+            progress.notifyAll();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package ru.clevertec.product.repository.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.io.ProductCodec;
+import ru.clevertec.product.repository.ProductRepository;
+import ru.clevertec.product.repository.replication.ReplicationLog;
+import ru.clevertec.product.repository.replication.Snapshot;
+
+/**
+ * Репозиторий ведущего узла: каждое изменение применяется к обёрнутому репозиторию и записывается
+ * в журнал репликации в том же порядке. Продукт сериализуется в момент записи, поэтому последующие
+ * изменения того же объекта не меняют уже записанную историю.
+ */
+public class ReplicatedProductRepository implements ProductRepository {
+
+    private static final int DEFAULT_RETENTION = 100_000;
+
+    private final ProductRepository productRepository;
+    private final ReplicationLog replicationLog;
+
+    public ReplicatedProductRepository(ProductRepository productRepository) {
+        this(productRepository, new ReplicationLog(DEFAULT_RETENTION));
+    }
+
+    public ReplicatedProductRepository(ProductRepository productRepository, ReplicationLog replicationLog) {
+        this.productRepository = productRepository;
+        this.replicationLog = replicationLog;
+    }
+
+    @Override
+    public Optional<Product> findById(UUID uuid) {
+        return productRepository.findById(uuid);
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return productRepository.findAll();
+    }
+
+    @Override
+    public void forEach(Consumer<? super Product> action) {
+        productRepository.forEach(action);
+    }
+
+    @Override
+    public List<Product> findCreatedSince(LocalDateTime since, int limit) {
+        return productRepository.findCreatedSince(since, limit);
+    }
+
+    @Override
+    public List<Product> findCreatedSince(LocalDateTime created, UUID uuid, int limit) {
+        return productRepository.findCreatedSince(created, uuid, limit);
+    }
+
+    @Override
+    public long version() {
+        return productRepository.version();
+    }
+
+    @Override
+    public List<Product> findByPriceBetween(BigDecimal min, BigDecimal max) {
+        return productRepository.findByPriceBetween(min, max);
+    }
+
+    @Override
+    public synchronized Product save(Product product) {
+        Product saved = productRepository.save(product);
+        replicationLog.append(saved.getUuid(), ProductCodec.toBytes(saved));
+        return saved;
+    }
+
+    @Override
+    public synchronized List<Product> saveAll(List<Product> products) {
+        List<Product> saved = productRepository.saveAll(products);
+        saved.forEach(product -> replicationLog.append(product.getUuid(), ProductCodec.toBytes(product)));
+        return saved;
+    }
+
+    @Override
+    public synchronized void delete(UUID uuid) {
+        productRepository.delete(uuid);
+        replicationLog.append(uuid, null);
+    }
+
+    /**
+     * Снимает согласованную с журналом копию всех продуктов для ведомого узла, отставшего
+     * дальше хранимой части журнала.
+     */
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(replicationLog.id(), replicationLog.lastOffset(), productRepository.findAll().stream()
+                .map(ProductCodec::toBytes)
+                .toList());
+    }
+
+    public ReplicationLog replicationLog() {
+        return replicationLog;
+    }
+}
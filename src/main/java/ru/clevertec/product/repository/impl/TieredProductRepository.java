@@ -0,0 +1,438 @@
+package ru.clevertec.product.repository.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.exception.RepositoryException;
+import ru.clevertec.product.jfr.RepositoryOperationEvent;
+import ru.clevertec.product.repository.ProductRepository;
+import ru.clevertec.product.repository.tiered.Segment;
+import ru.clevertec.product.repository.tiered.SegmentEntry;
+import ru.clevertec.product.repository.tiered.TieredStats;
+import ru.clevertec.product.validator.ProductValidator;
+
+/**
+ * Двухуровневое хранилище. Недавно использованные продукты лежат в памяти (LRU заданного размера),
+ * вытесненные изменённые продукты копятся в отсортированной таблице и сбрасываются на диск
+ * неизменяемыми сегментами. Поиск проверяет фильтр Блума сегмента до чтения с диска,
+ * найденный на диске продукт поднимается в память. Фоновое слияние объединяет сегменты,
+ * когда их становится не меньше порога. Каталог используется как рабочая область
+ * и очищается при закрытии репозитория. Чтения закрепляют нужные им сегменты, а не держат блокировку,
+ * поэтому слияние и удаление файлов их не ждут.
+ */
+public class TieredProductRepository implements ProductRepository, AutoCloseable {
+
+    private static final String REPOSITORY = "tiered";
+    private static final int DEFAULT_FLUSH_SIZE = 10_000;
+    private static final int DEFAULT_COMPACTION_THRESHOLD = 4;
+    private static final Duration DEFAULT_COMPACTION_INTERVAL = Duration.ofSeconds(10);
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final String SEGMENT_FILE = "segment-%019d.dat";
+    private static final Duration MIN_COMPACTION_INTERVAL = Duration.ofMillis(1);
+
+    private final Path directory;
+    private final int flushSize;
+    private final int compactionThreshold;
+    private final ProductValidator productValidator = new ProductValidator();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<UUID, HotEntry> hot;
+    private final AtomicLong segmentSequence = new AtomicLong();
+    private final AtomicLong diskReads = new AtomicLong();
+    private final AtomicLong bloomSkips = new AtomicLong();
+    private final ScheduledExecutorService compactor;
+    private TreeMap<UUID, SegmentEntry> memtable = new TreeMap<>();
+    private List<Segment> segments = List.of();
+    private long modifications;
+
+    public TieredProductRepository(Path directory, int hotCapacity) {
+        this(directory, hotCapacity, DEFAULT_FLUSH_SIZE, DEFAULT_COMPACTION_THRESHOLD, DEFAULT_COMPACTION_INTERVAL);
+    }
+
+    public TieredProductRepository(Path directory, int hotCapacity, int flushSize, int compactionThreshold,
+                                   Duration compactionInterval) {
+        if (hotCapacity < 1 || flushSize < 1 || compactionThreshold < 2) {
+            throw new IllegalArgumentException("capacity and flush size must be positive, threshold at least 2");
+        }
+        if (compactionInterval.compareTo(MIN_COMPACTION_INTERVAL) < 0) {
+            throw new IllegalArgumentException("compaction interval must be at least " + MIN_COMPACTION_INTERVAL);
+        }
+        try {
+            this.directory = Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.flushSize = flushSize;
+        this.compactionThreshold = compactionThreshold;
+        this.hot = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, HotEntry> eldest) {
+                if (size() <= hotCapacity) {
+                    return false;
+                }
+                if (eldest.getValue().dirty()) {
+                    memtable.put(eldest.getKey(), new SegmentEntry(eldest.getKey(), eldest.getValue().product()));
+                }
+                return true;
+            }
+        };
+        this.compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tiered-repository-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = compactionInterval.toMillis();
+        compactor.scheduleWithFixedDelay(this::compactIfNeeded, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Optional<Product> findById(UUID uuid) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        Optional<Product> found = find(uuid);
+        event.complete(REPOSITORY, "findById", uuid, found.isPresent() ? 1 : 0);
+        return found;
+    }
+
+    @Override
+    public List<Product> findAll() {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        List<Product> products = new ArrayList<>();
+        forEach(products::add);
+        event.complete(REPOSITORY, "findAll", null, products.size());
+        return products;
+    }
+
+    /**
+     * Обходит продукты без общей таблицы слияния: сегменты и отсортированная таблица сливаются
+     * на лету по возрастанию uuid, затем обходятся продукты из памяти. В памяти копируются только
+     * таблица и LRU, их размер ограничен flushSize и hotCapacity. Действие вызывается без блокировок
+     * и может менять репозиторий; обход при этом видит состояние на момент своего начала.
+     */
+    @Override
+    public void forEach(Consumer<? super Product> action) {
+        List<Segment> snapshot;
+        List<SegmentEntry> pending;
+        Map<UUID, Product> recent = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            snapshot = pinSegments();
+            pending = new ArrayList<>(memtable.values());
+            hot.forEach((uuid, entry) -> recent.put(uuid, entry.product()));
+        } finally {
+            lock.unlock();
+        }
+        List<Segment.Reader> readers = new ArrayList<>();
+        try {
+            List<Iterator<SegmentEntry>> newestFirst = new ArrayList<>(snapshot.size() + 1);
+            newestFirst.add(pending.iterator());
+            for (Segment segment : snapshot) {
+                Segment.Reader reader = segment.reader();
+                readers.add(reader);
+                newestFirst.add(reader);
+            }
+            Segment.merging(newestFirst).forEachRemaining(entry -> {
+                if (!recent.containsKey(entry.uuid())) { //продукт из памяти новее записей на диске
+                    action.accept(entry.product());
+                }
+            });
+            recent.values().forEach(action);
+        } catch (IOException | UncheckedIOException e) {
+            throw new RepositoryException("cannot read segments", e);
+        } finally {
+            readers.forEach(this::closeQuietly);
+            snapshot.forEach(this::release);
+        }
+    }
+
+    @Override
+    public Product save(Product product) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        prepare(product);
+        lock.lock();
+        try {
+            hot.put(product.getUuid(), new HotEntry(product, true));
+            modifications++;
+            flushIfFull();
+        } finally {
+            lock.unlock();
+        }
+        event.complete(REPOSITORY, "save", product.getUuid(), 1);
+        return product;
+    }
+
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        products.forEach(this::prepare);
+        lock.lock();
+        try {
+            products.forEach(product -> hot.put(product.getUuid(), new HotEntry(product, true)));
+            modifications++;
+            flushIfFull();
+        } finally {
+            lock.unlock();
+        }
+        event.complete(REPOSITORY, "saveAll", null, products.size());
+        return products;
+    }
+
+    @Override
+    public void delete(UUID uuid) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        lock.lock();
+        try {
+            hot.remove(uuid);
+            if (memtable.containsKey(uuid) || segments.stream().anyMatch(segment -> segment.mightContain(uuid))) {
+                memtable.put(uuid, SegmentEntry.tombstone(uuid));
+            }
+            modifications++;
+            flushIfFull();
+        } finally {
+            lock.unlock();
+        }
+        event.complete(REPOSITORY, "delete", uuid, 0);
+    }
+
+    /**
+     * Сливает все текущие сегменты в один, удаляя перезаписанные версии и отметки удаления.
+     */
+    public synchronized void compact() {
+        List<Segment> merging;
+        lock.lock();
+        try {
+            merging = pinSegments();
+        } finally {
+            lock.unlock();
+        }
+        Segment merged;
+        try {
+            if (merging.size() < 2) {
+                return;
+            }
+            merged = Segment.merge(nextSegmentFile(), merging, FALSE_POSITIVE_RATE);
+        } catch (IOException | UncheckedIOException e) {
+            throw new RepositoryException("cannot compact segments", e);
+        } finally {
+            merging.forEach(this::release);
+        }
+        lock.lock();
+        try {
+            List<Segment> replaced = new ArrayList<>(segments.subList(0, segments.size() - merging.size()));
+            replaced.add(merged); //сброшенные во время слияния сегменты новее и остаются впереди
+            segments = List.copyOf(replaced);
+        } finally {
+            lock.unlock();
+        }
+        merging.forEach(this::release); //файлы удалятся, когда их отпустят начатые чтения
+    }
+
+    /**
+     * Сбрасывает накопленные вытесненные продукты в новый сегмент.
+     */
+    public void flush() {
+        lock.lock();
+        try {
+            if (!memtable.isEmpty()) {
+                writeMemtable();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public TieredStats stats() {
+        lock.lock();
+        try {
+            return new TieredStats(hot.size(), memtable.size(), segments.size(),
+                    segments.stream()
+                            .mapToLong(Segment::length)
+                            .sum(),
+                    segments.stream()
+                            .mapToLong(Segment::memoryInBytes)
+                            .sum(),
+                    diskReads.get(), bloomSkips.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        compactor.shutdownNow();
+        try {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Segment> closed;
+        lock.lock();
+        try {
+            closed = segments;
+            segments = List.of();
+            memtable.clear();
+            hot.clear();
+        } finally {
+            lock.unlock();
+        }
+        closed.forEach(this::release);
+    }
+
+    private Optional<Product> find(UUID uuid) {
+        List<Segment> snapshot;
+        long seen;
+        lock.lock();
+        try {
+            HotEntry entry = hot.get(uuid);
+            if (entry != null) {
+                return Optional.of(entry.product());
+            }
+            SegmentEntry pending = memtable.get(uuid);
+            if (pending != null) {
+                return promote(pending);
+            }
+            snapshot = pinSegments();
+            seen = modifications;
+        } finally {
+            lock.unlock();
+        }
+        SegmentEntry found;
+        try {
+            found = findOnDisk(snapshot, uuid);
+        } finally {
+            snapshot.forEach(this::release);
+        }
+        if (found == null || found.isTombstone()) {
+            return Optional.empty();
+        }
+        lock.lock();
+        try {
+            if (seen == modifications) { //иначе продукт мог измениться, пока читали диск
+                return promote(found);
+            }
+            return Optional.of(found.product());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Optional<Product> promote(SegmentEntry entry) {
+        if (entry.isTombstone()) {
+            return Optional.empty();
+        }
+        hot.put(entry.uuid(), new HotEntry(entry.product(), false));
+        flushIfFull();
+        return Optional.of(entry.product());
+    }
+
+    private SegmentEntry findOnDisk(List<Segment> snapshot, UUID uuid) {
+        for (Segment segment : snapshot) {
+            if (!segment.mightContain(uuid)) {
+                bloomSkips.incrementAndGet();
+                continue;
+            }
+            diskReads.incrementAndGet();
+            try {
+                SegmentEntry entry = segment.find(uuid);
+                if (entry != null) {
+                    return entry;
+                }
+            } catch (IOException e) {
+                throw new RepositoryException("cannot read segment " + segment.file(), e);
+            }
+        }
+        return null;
+    }
+
+    private void flushIfFull() {
+        if (memtable.size() >= flushSize) {
+            writeMemtable();
+        }
+    }
+
+    private void writeMemtable() {
+        try {
+            Segment segment = Segment.write(nextSegmentFile(), memtable.values().iterator(), memtable.size(),
+                    FALSE_POSITIVE_RATE);
+            List<Segment> updated = new ArrayList<>(segments.size() + 1);
+            updated.add(segment);
+            updated.addAll(segments);
+            segments = List.copyOf(updated);
+            memtable = new TreeMap<>();
+        } catch (IOException e) {
+            throw new RepositoryException("cannot flush segment", e);
+        }
+    }
+
+    private void compactIfNeeded() {
+        try {
+            if (stats().segments() >= compactionThreshold) {
+                compact();
+            }
+        } catch (RuntimeException ignored) {
+            //следующая попытка будет на очередном запуске
+        }
+    }
+
+    private Path nextSegmentFile() {
+        return directory.resolve(String.format(SEGMENT_FILE, segmentSequence.incrementAndGet()));
+    }
+
+    /**
+     * Закрепляет текущие сегменты, вызывается под lock; каждый нужно отпустить через {@link #release(Segment)}.
+     */
+    private List<Segment> pinSegments() {
+        segments.forEach(Segment::retain);
+        return segments;
+    }
+
+    private void release(Segment segment) {
+        try {
+            segment.release();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void closeQuietly(Segment.Reader reader) {
+        try {
+            reader.close();
+        } catch (IOException ignored) {
+            //файл только читался
+        }
+    }
+
+    private void prepare(Product product) {
+        if (product.getUuid() == null) {
+            product.setUuid(UUID.randomUUID());
+        }
+        if (product.getCreated() == null) {
+            product.setCreated(LocalDateTime.now());
+        }
+        productValidator.validate(product);
+    }
+
+    private record HotEntry(Product product, boolean dirty) {
+    }
+}
@@ -0,0 +1,350 @@
+package ru.clevertec.product.repository.impl;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.exception.RepositoryException;
+import ru.clevertec.product.repository.ProductRepository;
+import ru.clevertec.product.repository.writebehind.WriteBehindStats;
+import ru.clevertec.product.validator.ProductValidator;
+
+/**
+ * Репозиторий с отложенной записью. Сохранение и удаление проверяются сразу, попадают в ограниченный буфер
+ * и подтверждаются без обращения к обёрнутому репозиторию; повторные операции над тем же uuid
+ * заменяют друг друга. Фоновый поток записывает буфер пачками, когда набирается batchSize операций
+ * или самая старая из них ждёт дольше flushInterval. Поиск по uuid сначала смотрит в буфер, поэтому
+ * видит собственные записи; выборки по всем продуктам предварительно дожидаются записи буфера.
+ * Если обёрнутый репозиторий не принял пачку, её операции теряются и учитываются в статистике,
+ * а ближайший {@link #flush()} бросает исключение, даже если пачка записывалась без него.
+ * Выборки дожидаются записи буфера, но о потерянных операциях не сообщают.
+ */
+public class WriteBehindProductRepository implements ProductRepository, AutoCloseable {
+
+    private static final int DEFAULT_CAPACITY = 10_000;
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    private static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(10);
+
+    private final ProductRepository productRepository;
+    private final ProductValidator productValidator = new ProductValidator();
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Condition drained = lock.newCondition();
+    private final Map<UUID, Write> pending = new LinkedHashMap<>();
+    private final Map<UUID, Write> inFlight = new LinkedHashMap<>();
+    private final Thread flusher;
+    private long oldestPendingNanos;
+    private boolean flushRequested;
+    private boolean closed;
+    private long accepted;
+    private long coalesced;
+    private long batches;
+    private long written;
+    private long failed;
+    private long unreported;
+
+    public WriteBehindProductRepository(ProductRepository productRepository) {
+        this(productRepository, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    /**
+     * @param capacity      максимальное количество разных продуктов в буфере, при заполнении запись ждёт
+     * @param batchSize     количество операций, при котором пачка записывается не дожидаясь интервала
+     * @param flushInterval максимальное время ожидания операции в буфере
+     */
+    public WriteBehindProductRepository(ProductRepository productRepository, int capacity, int batchSize,
+                                        Duration flushInterval) {
+        if (capacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("capacity and batch size must be positive");
+        }
+        this.productRepository = productRepository;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.flusher = new Thread(this::flushLoop, "write-behind-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public Optional<Product> findById(UUID uuid) {
+        lock.lock();
+        try {
+            Write write = pending.get(uuid);
+            if (write == null) {
+                write = inFlight.get(uuid);
+            }
+            if (write != null) {
+                return Optional.ofNullable(write.product());
+            }
+        } finally {
+            lock.unlock();
+        }
+        return productRepository.findById(uuid); //операции, покинувшие буфер, уже записаны
+    }
+
+    @Override
+    public List<Product> findAll() {
+        drain();
+        return productRepository.findAll();
+    }
+
+    @Override
+    public List<Product> findCreatedSince(LocalDateTime since, int limit) {
+        drain();
+        return productRepository.findCreatedSince(since, limit);
+    }
+
+    @Override
+    public List<Product> findCreatedSince(LocalDateTime created, UUID uuid, int limit) {
+        drain();
+        return productRepository.findCreatedSince(created, uuid, limit);
+    }
+
+    @Override
+    public List<Product> findByPriceBetween(BigDecimal min, BigDecimal max) {
+        drain();
+        return productRepository.findByPriceBetween(min, max);
+    }
+
+    /**
+     * Версия считает принятые операции: буферизованная запись видна через {@link #findAll()} сразу.
+     */
+    @Override
+    public long version() {
+        lock.lock();
+        try {
+            return accepted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Product save(Product product) {
+        prepare(product);
+        enqueue(List.of(new Write(product.getUuid(), product)));
+        return product;
+    }
+
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        products.forEach(this::prepare);
+        enqueue(products.stream()
+                .map(product -> new Write(product.getUuid(), product))
+                .toList());
+        return products;
+    }
+
+    @Override
+    public void delete(UUID uuid) {
+        enqueue(List.of(new Write(uuid, null)));
+    }
+
+    /**
+     * Дожидается записи всех принятых на момент вызова операций.
+     *
+     * @throws RepositoryException если часть операций не удалось записать с предыдущего вызова flush(),
+     *                             в том числе в пачках, записанных по размеру или интервалу
+     */
+    public void flush() {
+        lock.lock();
+        try {
+            drain();
+            if (unreported > 0) {
+                long lost = unreported;
+                unreported = 0;
+                throw new RepositoryException(lost + " buffered writes failed");
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public WriteBehindStats stats() {
+        lock.lock();
+        try {
+            return new WriteBehindStats(pending.size() + inFlight.size(), accepted, coalesced, batches, written,
+                    failed);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Записывает оставшиеся операции и останавливает фоновый поток.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signal();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        lock.lock();
+        try {
+            while (!pending.isEmpty() || !inFlight.isEmpty()) {
+                if (closed && !flusher.isAlive()) {
+                    break;
+                }
+                flushRequested = true;
+                notEmpty.signal();
+                drained.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void enqueue(List<Write> writes) {
+        lock.lock();
+        try {
+            boolean wasEmpty = pending.isEmpty();
+            for (Write write : writes) {
+                while (pending.size() >= capacity && !pending.containsKey(write.uuid()) && !closed) {
+                    notEmpty.signal(); //полный буфер записывается, не дожидаясь batchSize и интервала
+                    notFull.awaitUninterruptibly();
+                }
+                if (closed) {
+                    throw new IllegalStateException("repository is closed");
+                }
+                if (pending.isEmpty()) {
+                    oldestPendingNanos = System.nanoTime();
+                }
+                if (pending.put(write.uuid(), write) != null) {
+                    coalesced++;
+                }
+                accepted++;
+            }
+            if (wasEmpty || pending.size() >= batchSize) {
+                notEmpty.signal(); //первой операции поток записи начинает отсчёт интервала
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            List<Write> batch = nextBatch();
+            if (batch == null) {
+                return;
+            }
+            boolean success = write(batch);
+            lock.lock();
+            try {
+                for (Write write : batch) {
+                    inFlight.remove(write.uuid(), write);
+                }
+                batches++;
+                if (success) {
+                    written += batch.size();
+                } else {
+                    failed += batch.size();
+                    unreported += batch.size();
+                }
+                if (pending.isEmpty() && inFlight.isEmpty()) {
+                    drained.signalAll();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private List<Write> nextBatch() {
+        lock.lock();
+        try {
+            while (true) {
+                if (pending.isEmpty()) {
+                    flushRequested = false;
+                    drained.signalAll();
+                    if (closed) {
+                        return null;
+                    }
+                    notEmpty.awaitUninterruptibly();
+                    continue;
+                }
+                long waited = System.nanoTime() - oldestPendingNanos;
+                if (closed || flushRequested || pending.size() >= Math.min(batchSize, capacity)
+                    || waited >= flushIntervalNanos) {
+                    break;
+                }
+                notEmpty.awaitNanos(flushIntervalNanos - waited);
+            }
+            List<Write> batch = new ArrayList<>(Math.min(pending.size(), batchSize));
+            Iterator<Write> iterator = pending.values().iterator();
+            while (iterator.hasNext() && batch.size() < batchSize) {
+                Write write = iterator.next();
+                iterator.remove();
+                inFlight.put(write.uuid(), write);
+                batch.add(write);
+            }
+            oldestPendingNanos = System.nanoTime(); //оставшиеся операции ждут не дольше следующего интервала
+            notFull.signalAll();
+            return batch;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean write(List<Write> batch) {
+        try {
+            List<Product> saves = new ArrayList<>(batch.size());
+            for (Write write : batch) {
+                if (write.product() == null) {
+                    productRepository.delete(write.uuid());
+                } else {
+                    saves.add(write.product());
+                }
+            }
+            if (!saves.isEmpty()) {
+                productRepository.saveAll(saves);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void prepare(Product product) {
+        if (product.getUuid() == null) {
+            product.setUuid(UUID.randomUUID());
+        }
+        if (product.getCreated() == null) {
+            product.setCreated(LocalDateTime.now());
+        }
+        productValidator.validate(product);
+    }
+
+    private record Write(UUID uuid, Product product) {
+    }
+}
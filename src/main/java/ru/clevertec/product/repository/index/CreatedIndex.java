@@ -0,0 +1,139 @@
+package ru.clevertec.product.repository.index;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.query.Criterion;
+import ru.clevertec.product.query.ProductIndex;
+
+/**
+ * Индекс продуктов по времени создания. Продукты упорядочены по паре (created, uuid) в порядке
+ * {@link CreatedOrder}, поэтому выборка диапазона стоит O(log n + размер результата). Для оценки
+ * селективности ведутся счётчики продуктов по часовым корзинам. Изменять индекс должен один поток
+ * за раз, читать можно конкурентно.
+ */
+public class CreatedIndex implements ProductIndex {
+
+    private static final long BUCKET_SECONDS = 3600;
+
+    private final ConcurrentSkipListMap<Key, Product> entries = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Long, Integer> buckets = new ConcurrentSkipListMap<>();
+    private final Map<UUID, Key> keys = new ConcurrentHashMap<>();
+
+    /**
+     * Добавляет продукт или переносит его на новое время создания.
+     */
+    public void put(Product product) {
+        Key current = keys.get(product.getUuid());
+        if (current != null && current.created().equals(product.getCreated())) {
+            entries.put(current, product);
+            return;
+        }
+        remove(product.getUuid());
+        if (product.getCreated() != null) {
+            Key key = new Key(product.getCreated(), product.getUuid());
+            entries.put(key, product);
+            keys.put(product.getUuid(), key);
+            buckets.merge(bucket(key.created()), 1, Integer::sum);
+        }
+    }
+
+    public void remove(UUID uuid) {
+        Key key = keys.remove(uuid);
+        if (key != null) {
+            entries.remove(key);
+            buckets.computeIfPresent(bucket(key.created()), (bucket, count) -> count == 1 ? null : count - 1);
+        }
+    }
+
+    /**
+     * Возвращает продукты, созданные не раньше since, по возрастанию времени создания.
+     */
+    public List<Product> since(LocalDateTime since, int limit) {
+        return first(entries.tailMap(lower(since), true), limit);
+    }
+
+    /**
+     * Возвращает продукты, лежащие строго после курсора (created, uuid).
+     */
+    public List<Product> after(LocalDateTime created, UUID uuid, int limit) {
+        return first(entries.tailMap(new Key(created, uuid), false), limit);
+    }
+
+    private static List<Product> first(NavigableMap<Key, Product> range, int limit) {
+        List<Product> products = new ArrayList<>(Math.min(limit, 1024));
+        for (Product product : range.values()) {
+            if (products.size() == limit) {
+                break;
+            }
+            products.add(product);
+        }
+        return products;
+    }
+
+    /**
+     * Возвращает представление продуктов, созданных в полуинтервале [from, to), null означает отсутствие границы.
+     */
+    public Collection<Product> between(LocalDateTime from, LocalDateTime to) {
+        NavigableMap<Key, Product> range = entries;
+        if (from != null) {
+            range = range.tailMap(lower(from), true);
+        }
+        if (to != null) {
+            range = range.headMap(lower(to), false);
+        }
+        return range.values();
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    @Override
+    public long estimate(Criterion criterion) {
+        if (!(criterion instanceof Criterion.CreatedBetween range)) {
+            return -1;
+        }
+        NavigableMap<Long, Integer> overlapping = buckets;
+        if (range.from() != null) {
+            overlapping = overlapping.tailMap(bucket(range.from()), true);
+        }
+        if (range.to() != null) {
+            overlapping = overlapping.headMap(bucket(range.to()), true);
+        }
+        return overlapping.values().stream()
+                .mapToLong(Integer::longValue)
+                .sum();
+    }
+
+    @Override
+    public void forEachCandidate(Criterion criterion, Consumer<? super Product> action) {
+        Criterion.CreatedBetween range = (Criterion.CreatedBetween) criterion;
+        between(range.from(), range.to()).forEach(action);
+    }
+
+    private static Key lower(LocalDateTime created) {
+        return new Key(created, CreatedOrder.MIN_UUID);
+    }
+
+    private static long bucket(LocalDateTime created) {
+        return Math.floorDiv(created.toEpochSecond(ZoneOffset.UTC), BUCKET_SECONDS);
+    }
+
+    private record Key(LocalDateTime created, UUID uuid) implements Comparable<Key> {
+
+        @Override
+        public int compareTo(Key other) {
+            return CreatedOrder.compare(created, uuid, other.created, other.uuid);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ru.clevertec.product.repository.index;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.UUID;
+import ru.clevertec.product.entity.Product;
+
+/**
+ * Общий порядок выдачи продуктов по времени создания: по created, при равном времени - по uuid
+ * как по беззнаковому 128-битному числу. Так упорядочивает UUID H2 и так же сравниваются их
+ * строковые записи; {@link UUID#compareTo(UUID)} сравнивает половины со знаком и даёт другой порядок.
+ * Все реализации и слияние ответов узлов обязаны пользоваться этим порядком, иначе курсор
+ * (created, uuid) пропускает или повторяет продукты с одинаковым временем создания.
+ */
+public final class CreatedOrder {
+
+    /**
+     * Наименьший идентификатор в этом порядке.
+     */
+    public static final UUID MIN_UUID = new UUID(0, 0);
+
+    public static final Comparator<Product> PRODUCTS = (left, right) ->
+            compare(left.getCreated(), left.getUuid(), right.getCreated(), right.getUuid());
+
+    private CreatedOrder() {
+    }
+
+    public static int compare(LocalDateTime leftCreated, UUID leftUuid, LocalDateTime rightCreated, UUID rightUuid) {
+        int byCreated = leftCreated.compareTo(rightCreated);
+        return byCreated != 0
+                ? byCreated
+                : compare(leftUuid, rightUuid);
+    }
+
+    public static int compare(UUID left, UUID right) {
+        int byHigh = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return byHigh != 0
+                ? byHigh
+                : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    }
+
+    /**
+     * Проверяет, что продукт лежит строго после курсора (created, uuid).
+     */
+    public static boolean isAfter(Product product, LocalDateTime created, UUID uuid) {
+        return product.getCreated() != null && compare(product.getCreated(), product.getUuid(), created, uuid) > 0;
+    }
+}
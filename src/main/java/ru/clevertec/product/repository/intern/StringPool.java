@@ -0,0 +1,66 @@
+package ru.clevertec.product.repository.intern;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import ru.clevertec.product.repository.bounded.ProductSizeEstimator;
+
+/**
+ * Ограниченный пул канонических строк без блокировок. Строка попадает в ячейку по хешу,
+ * при коллизии ячейка перезаписывается новой строкой, поэтому пул держит не больше capacity строк
+ * и никогда не растёт, а редкие строки вытесняются частыми. Потеря ячейки означает только
+ * недополученную экономию памяти: результат {@link #intern(String)} всегда равен аргументу.
+ * Экономия считается так же, как объём строк в {@link ProductSizeEstimator}.
+ */
+public class StringPool {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final AtomicReferenceArray<String> slots;
+    private final int mask;
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder deduplicated = new LongAdder();
+    private final LongAdder savedBytes = new LongAdder();
+
+    public StringPool(int capacity) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity must be between 1 and " + MAX_CAPACITY);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Возвращает каноническую строку, равную переданной, или саму переданную строку,
+     * если равной в пуле нет.
+     *
+     * @param value строка или null
+     * @return строка, равная value
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        lookups.increment();
+        int hash = value.hashCode();
+        int index = (hash ^ hash >>> 16) & mask;
+        String pooled = slots.get(index);
+        if (pooled == value) {
+            return pooled;
+        }
+        if (pooled != null && pooled.equals(value)) {
+            deduplicated.increment();
+            savedBytes.add(ProductSizeEstimator.estimate(value));
+            return pooled;
+        }
+        slots.set(index, value);
+        return value;
+    }
+
+    public StringPoolStats stats() {
+        return new StringPoolStats(slots.length(), lookups.sum(), deduplicated.sum(), savedBytes.sum());
+    }
+}
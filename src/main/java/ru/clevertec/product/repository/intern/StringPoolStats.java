@@ -0,0 +1,33 @@
+package ru.clevertec.product.repository.intern;
+
+public record StringPoolStats(
+
+        /**
+         * Количество ячеек пула
+         */
+        int capacity,
+
+        /**
+         * Количество обращений к пулу
+         */
+        long lookups,
+
+        /**
+         * Количество строк, заменённых канонической копией
+         */
+        long deduplicated,
+
+        /**
+         * Оценка освобождённой памяти в байтах: заголовки и символы заменённых строк
+         */
+        long savedBytes) {
+
+    /**
+     * Доля обращений, для которых нашлась каноническая копия.
+     */
+    public double dedupRatio() {
+        return lookups == 0
+                ? 0
+                : (double) deduplicated / lookups;
+    }
+}
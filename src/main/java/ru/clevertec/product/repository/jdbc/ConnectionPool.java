@@ -0,0 +1,117 @@
+package ru.clevertec.product.repository.jdbc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import ru.clevertec.product.exception.RepositoryException;
+
+/**
+ * Пул соединений фиксированного размера. Соединения создаются по требованию
+ * и вместе с кэшем подготовленных запросов переиспользуются между вызовами.
+ * Размер ограничивает семафор выданных соединений: разрешение возвращается при возврате
+ * соединения, в том числе закрытого как неисправное, поэтому ожидающий поток сразу
+ * получает свободное или новое соединение.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final Duration timeout;
+    private final BlockingQueue<PooledConnection> idle = new LinkedBlockingQueue<>();
+    private final Semaphore leases;
+    private final AtomicInteger opened = new AtomicInteger();
+    private volatile boolean closed;
+
+    public ConnectionPool(String url, String user, String password, int size) {
+        this(url, user, password, size, DEFAULT_TIMEOUT);
+    }
+
+    public ConnectionPool(String url, String user, String password, int size, Duration timeout) {
+        if (size < 1) {
+            throw new IllegalArgumentException("pool size must be positive");
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.timeout = timeout;
+        this.leases = new Semaphore(size, true);
+    }
+
+    /**
+     * Выдаёт свободное соединение, при необходимости открывая новое или ожидая возврата.
+     *
+     * @return соединение, которое возвращается в пул методом {@link PooledConnection#close()}
+     * @throws RepositoryException если пул закрыт, соединение не открылось или время ожидания истекло
+     */
+    public PooledConnection acquire() {
+        if (closed) {
+            throw new RepositoryException("connection pool is closed");
+        }
+        try {
+            if (!leases.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new RepositoryException(String.format("no free connection within %s", timeout));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RepositoryException("interrupted while waiting for connection", e);
+        }
+        PooledConnection connection = idle.poll();
+        if (connection != null) {
+            return connection;
+        }
+        try {
+            return open();
+        } catch (RuntimeException e) {
+            leases.release();
+            throw e;
+        }
+    }
+
+    /**
+     * @return количество открытых соединений
+     */
+    public int opened() {
+        return opened.get();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        PooledConnection connection;
+        while ((connection = idle.poll()) != null) {
+            connection.discard();
+        }
+    }
+
+    void release(PooledConnection connection) {
+        if (closed || connection.isBroken()) {
+            connection.discard();
+        } else {
+            idle.offer(connection);
+        }
+        leases.release();
+    }
+
+    void discarded() {
+        opened.decrementAndGet();
+    }
+
+    private PooledConnection open() {
+        try {
+            Connection connection = DriverManager.getConnection(url, user, password);
+            opened.incrementAndGet();
+            return new PooledConnection(this, connection);
+        } catch (SQLException e) {
+            throw new RepositoryException("cannot open connection", e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package ru.clevertec.product.repository.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Соединение из {@link ConnectionPool} с кэшем подготовленных запросов.
+ * Используется одним потоком между {@link ConnectionPool#acquire()} и {@link #close()}.
+ */
+public class PooledConnection implements AutoCloseable {
+
+    private final ConnectionPool pool;
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+    private boolean broken;
+
+    PooledConnection(ConnectionPool pool, Connection connection) {
+        this.pool = pool;
+        this.connection = connection;
+    }
+
+    /**
+     * Возвращает подготовленный запрос, создавая его только при первом обращении.
+     *
+     * @param sql текст запроса
+     * @return подготовленный запрос без параметров
+     * @throws SQLException если запрос не удалось подготовить
+     */
+    public PreparedStatement statement(String sql) throws SQLException {
+        PreparedStatement statement = statements.get(sql);
+        if (statement == null) {
+            statement = connection.prepareStatement(sql);
+            statements.put(sql, statement);
+        } else {
+            statement.clearParameters();
+        }
+        return statement;
+    }
+
+    public Connection connection() {
+        return connection;
+    }
+
+    /**
+     * Помечает соединение неисправным, при возврате оно будет закрыто, а не отдано в пул.
+     */
+    public void invalidate() {
+        broken = true;
+    }
+
+    @Override
+    public void close() {
+        pool.release(this);
+    }
+
+    boolean isBroken() {
+        try {
+            return broken || connection.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    void discard() {
+        try {
+            connection.close(); //закрывает и все подготовленные запросы
+        } catch (SQLException ignored) {
+            //соединение всё равно больше не используется
+        } finally {
+            statements.clear();
+            pool.discarded();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package ru.clevertec.product.repository.merkle;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Сторона синхронизации. Методы соответствуют сообщениям обмена, поэтому реализация может
+ * находиться на другом узле; продукты передаются в виде {@link ru.clevertec.product.io.ProductCodec}.
+ */
+public interface MerklePeer {
+
+    int depth();
+
+    /**
+     * @return хеши узлов дерева в порядке номеров
+     */
+    long[] hashes(int[] nodes);
+
+    /**
+     * @return хеши продуктов листа по их uuid
+     */
+    Map<UUID, Long> entries(int leaf);
+
+    /**
+     * @return сериализованные продукты, отсутствующие uuid пропускаются
+     */
+    List<byte[]> products(Collection<UUID> uuids);
+
+    /**
+     * Сохраняет присланные продукты и удаляет перечисленные.
+     */
+    void apply(List<byte[]> products, Collection<UUID> deleted);
+}
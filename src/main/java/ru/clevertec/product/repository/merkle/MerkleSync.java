@@ -0,0 +1,82 @@
+package ru.clevertec.product.repository.merkle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Односторонняя синхронизация: приводит приёмник к содержимому источника. Деревья сравниваются
+ * по уровням, в глубину идут только различающиеся узлы; для различающихся листьев сравниваются
+ * хеши отдельных продуктов, и передаются только отличающиеся продукты. Объём обмена растёт
+ * с числом различий, а не с размером каталога. Изменения, сделанные во время синхронизации,
+ * могут остаться неперенесёнными до следующего запуска.
+ */
+public final class MerkleSync {
+
+    private static final int HASH_BYTES = Long.BYTES;
+    private static final int UUID_BYTES = 2 * Long.BYTES;
+
+    private MerkleSync() {
+    }
+
+    public static SyncReport sync(MerklePeer source, MerklePeer target) {
+        if (source.depth() != target.depth()) {
+            throw new IllegalArgumentException("trees must have equal depth");
+        }
+        int leaves = 1 << source.depth();
+        long hashesCompared = 0;
+        long bytes = 0;
+        List<Integer> differingLeaves = new ArrayList<>();
+        int[] level = {1};
+        while (level.length > 0) {
+            long[] sourceHashes = source.hashes(level);
+            long[] targetHashes = target.hashes(level);
+            hashesCompared += level.length;
+            bytes += 2L * level.length * HASH_BYTES;
+            List<Integer> next = new ArrayList<>();
+            for (int i = 0; i < level.length; i++) {
+                if (sourceHashes[i] == targetHashes[i]) {
+                    continue;
+                }
+                if (level[i] >= leaves) {
+                    differingLeaves.add(level[i]);
+                } else {
+                    next.add(2 * level[i]);
+                    next.add(2 * level[i] + 1);
+                }
+            }
+            level = next.stream().mapToInt(Integer::intValue).toArray();
+        }
+        long entriesCompared = 0;
+        long transferred = 0;
+        long deleted = 0;
+        for (int leaf : differingLeaves) {
+            Map<UUID, Long> sourceEntries = source.entries(leaf);
+            Map<UUID, Long> targetEntries = target.entries(leaf);
+            entriesCompared += sourceEntries.size() + targetEntries.size();
+            bytes += (long) (sourceEntries.size() + targetEntries.size()) * (UUID_BYTES + HASH_BYTES);
+            List<UUID> changed = new ArrayList<>();
+            sourceEntries.forEach((uuid, hash) -> {
+                if (!hash.equals(targetEntries.get(uuid))) {
+                    changed.add(uuid);
+                }
+            });
+            List<UUID> removed = new ArrayList<>();
+            targetEntries.keySet().forEach(uuid -> {
+                if (!sourceEntries.containsKey(uuid)) {
+                    removed.add(uuid);
+                }
+            });
+            List<byte[]> products = source.products(changed);
+            for (byte[] product : products) {
+                bytes += product.length;
+            }
+            bytes += (long) (changed.size() + removed.size()) * UUID_BYTES;
+            target.apply(products, removed);
+            transferred += products.size();
+            deleted += removed.size();
+        }
+        return new SyncReport(hashesCompared, differingLeaves.size(), entriesCompared, transferred, deleted, bytes);
+    }
+}
@@ -0,0 +1,95 @@
+package ru.clevertec.product.repository.merkle;
+
+import java.util.UUID;
+
+/**
+ * Дерево хешей над диапазонами uuid. Пространство uuid делится на 2^depth равных диапазонов
+ * по старшим битам, хеш листа - XOR хешей продуктов диапазона, поэтому он не зависит от порядка
+ * и обновляется за O(1) при изменении одного продукта. Узлы хранятся в массиве: корень 1,
+ * дети узла n - 2n и 2n + 1, листья занимают номера [leaves(), 2 * leaves()).
+ */
+public class MerkleTree {
+
+    private static final int MAX_DEPTH = 20;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int depth;
+    private final long[] nodes;
+
+    public MerkleTree(int depth) {
+        if (depth < 0 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("depth must be between 0 and " + MAX_DEPTH);
+        }
+        this.depth = depth;
+        this.nodes = new long[2 << depth];
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    public int leaves() {
+        return 1 << depth;
+    }
+
+    /**
+     * @return номер листа, в диапазон которого попадает uuid
+     */
+    public int leafOf(UUID uuid) {
+        int index = depth == 0 ? 0 : (int) (uuid.getMostSignificantBits() >>> (Long.SIZE - depth));
+        return leaves() + index;
+    }
+
+    public boolean isLeaf(int node) {
+        return node >= leaves();
+    }
+
+    public synchronized long hash(int node) {
+        return nodes[node];
+    }
+
+    public long root() {
+        return hash(1);
+    }
+
+    /**
+     * Меняет хеш листа на change: добавление и удаление продукта выполняются одним XOR его хеша,
+     * замена - XOR старого и нового хешей. Пересчитывает хеши узлов на пути к корню.
+     */
+    public synchronized void toggle(int leaf, long change) {
+        nodes[leaf] ^= change;
+        for (int node = leaf >>> 1; node > 0; node >>>= 1) {
+            nodes[node] = combine(nodes[2 * node], nodes[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Хеш сериализованного продукта, FNV-1a с финальным перемешиванием.
+     */
+    public static long hash(byte[] bytes) {
+        long hash = FNV_OFFSET;
+        for (byte b : bytes) {
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Пустые поддеревья дают 0, поэтому узлы без продуктов у двух деревьев совпадают.
+     */
+    private static long combine(long left, long right) {
+        if (left == 0 && right == 0) {
+            return 0;
+        }
+        return mix(left ^ mix(right + FNV_PRIME));
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        return value ^ value >>> 33;
+    }
+}
@@ -0,0 +1,38 @@
+package ru.clevertec.product.repository.merkle;
+
+public record SyncReport(
+
+        /**
+         * Количество сравненных пар хешей узлов дерева
+         */
+        long hashesCompared,
+
+        /**
+         * Количество листьев, хеши которых различались
+         */
+        long differingLeaves,
+
+        /**
+         * Количество сравненных хешей продуктов в различающихся листьях
+         */
+        long entriesCompared,
+
+        /**
+         * Количество переданных продуктов
+         */
+        long productsTransferred,
+
+        /**
+         * Количество удалённых на приёмнике продуктов
+         */
+        long productsDeleted,
+
+        /**
+         * Объём переданных хешей, uuid и продуктов в байтах
+         */
+        long bytesTransferred) {
+
+    public boolean isInSync() {
+        return differingLeaves == 0;
+    }
+}
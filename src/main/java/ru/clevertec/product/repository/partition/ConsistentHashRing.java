@@ -0,0 +1,109 @@
+package ru.clevertec.product.repository.partition;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.ToLongFunction;
+
+/**
+ * Кольцо согласованного хеширования. Каждый узел занимает virtualNodes точек кольца, ключ принадлежит
+ * узлу первой точки по часовой стрелке. Добавление или удаление узла переносит только ключи,
+ * попавшие на его точки, в среднем 1/N от всех ключей. При совпадении точек разных узлов точка
+ * хранит всех владельцев и принадлежит наименьшему по имени, поэтому кольцо зависит только от набора
+ * узлов, а не от порядка их добавления и удаления. Класс не потокобезопасен.
+ */
+public class ConsistentHashRing {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int virtualNodes;
+    private final ToLongFunction<String> pointHash;
+    private final NavigableMap<Long, NavigableSet<String>> ring = new TreeMap<>();
+    private final Set<String> nodes = new TreeSet<>();
+
+    public ConsistentHashRing(int virtualNodes) {
+        this(virtualNodes, ConsistentHashRing::hash);
+    }
+
+    ConsistentHashRing(int virtualNodes, ToLongFunction<String> pointHash) {
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtual nodes must be positive");
+        }
+        this.virtualNodes = virtualNodes;
+        this.pointHash = pointHash;
+    }
+
+    public boolean add(String node) {
+        if (!nodes.add(node)) {
+            return false;
+        }
+        for (int i = 0; i < virtualNodes; i++) {
+            ring.computeIfAbsent(point(node, i), point -> new TreeSet<>()).add(node);
+        }
+        return true;
+    }
+
+    public boolean remove(String node) {
+        if (!nodes.remove(node)) {
+            return false;
+        }
+        for (int i = 0; i < virtualNodes; i++) {
+            ring.computeIfPresent(point(node, i), (point, owners) -> {
+                owners.remove(node);
+                return owners.isEmpty()
+                        ? null
+                        : owners;
+            });
+        }
+        return true;
+    }
+
+    /**
+     * Возвращает узел, которому принадлежит ключ.
+     *
+     * @throws IllegalStateException если в кольце нет узлов
+     */
+    public String owner(UUID key) {
+        if (ring.isEmpty()) {
+            throw new IllegalStateException("ring has no nodes");
+        }
+        Map.Entry<Long, NavigableSet<String>> entry = ring.ceilingEntry(hash(key));
+        return entry == null
+                ? ring.firstEntry().getValue().first()
+                : entry.getValue().first();
+    }
+
+    public Set<String> nodes() {
+        return Set.copyOf(nodes);
+    }
+
+    private long point(String node, int index) {
+        return pointHash.applyAsLong(node + '#' + index);
+    }
+
+    static long hash(UUID key) {
+        return mix(key.getMostSignificantBits() ^ mix(key.getLeastSignificantBits()));
+    }
+
+    static long hash(String value) {
+        long hash = FNV_OFFSET;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        return value ^ value >>> 33;
+    }
+}
@@ -0,0 +1,24 @@
+package ru.clevertec.product.repository.replication;
+
+import java.util.UUID;
+
+public record Handshake(
+
+        /**
+         * Идентификатор журнала, который читал ведомый узел, или {@link ReplicationProtocol#UNKNOWN_LOG}
+         */
+        UUID logId,
+
+        /**
+         * Номер первой нужной записи или {@link ReplicationProtocol#SNAPSHOT_REQUEST}
+         */
+        long next) {
+
+    /**
+     * Проверяет, можно ли продолжить журнал с номера next: ведомый узел читал этот же журнал
+     * или ещё ничего не применил.
+     */
+    public boolean canResume(UUID currentLogId) {
+        return logId.equals(currentLogId) || logId.equals(ReplicationProtocol.UNKNOWN_LOG) && next == 1;
+    }
+}
@@ -0,0 +1,88 @@
+package ru.clevertec.product.repository.replication;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Упорядоченный журнал изменений ведущего узла. Хранит последние retention записей в кольцевом буфере,
+ * ведомый узел, отставший сильнее, получает полный снимок вместо журнала. Номера записей имеют смысл
+ * только вместе с идентификатором журнала: перезапущенный ведущий узел начинает новый журнал
+ * с новым идентификатором и снова нумерует записи с 1.
+ */
+public class ReplicationLog {
+
+    private final UUID id = UUID.randomUUID();
+    private final ReplicationRecord[] records;
+    private long lastOffset;
+
+    public ReplicationLog(int retention) {
+        if (retention < 1) {
+            throw new IllegalArgumentException("retention must be positive");
+        }
+        this.records = new ReplicationRecord[retention];
+    }
+
+    /**
+     * Добавляет запись в журнал и будит ожидающих читателей.
+     *
+     * @param uuid    идентификатор продукта
+     * @param product продукт в формате ProductCodec или null для удаления
+     * @return номер записи
+     */
+    public synchronized long append(UUID uuid, byte[] product) {
+        long offset = ++lastOffset;
+        records[slot(offset)] = new ReplicationRecord(offset, System.currentTimeMillis(), uuid, product);
+        notifyAll();
+        return offset;
+    }
+
+    public UUID id() {
+        return id;
+    }
+
+    public synchronized long lastOffset() {
+        return lastOffset;
+    }
+
+    /**
+     * Проверяет, можно ли продолжить чтение журнала с указанной записи: она ещё не вытеснена
+     * и не дальше следующей записи.
+     */
+    public synchronized boolean isRetained(long offset) {
+        return offset > lastOffset - records.length && offset > 0 && offset <= lastOffset + 1;
+    }
+
+    /**
+     * Возвращает записи начиная с from, ожидая появления первой из них не дольше timeout.
+     *
+     * @return до max записей подряд или пустой список, если новых записей не появилось
+     * @throws IllegalStateException если запись from вытеснена из журнала или не могла в нём появиться
+     */
+    public synchronized List<ReplicationRecord> read(long from, int max, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        if (!isRetained(from)) {
+            throw new IllegalStateException("offset " + from + " is not retained");
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        long remaining = unit.toNanos(timeout);
+        while (lastOffset < from && remaining > 0) {
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            remaining = deadline - System.nanoTime();
+        }
+        if (!isRetained(from)) {
+            throw new IllegalStateException("offset " + from + " is not retained");
+        }
+        long to = Math.min(lastOffset, from + max - 1);
+        List<ReplicationRecord> batch = new ArrayList<>((int) Math.max(0, to - from + 1));
+        for (long offset = from; offset <= to; offset++) {
+            batch.add(records[slot(offset)]);
+        }
+        return batch;
+    }
+
+    private int slot(long offset) {
+        return (int) (offset % records.length);
+    }
+}
@@ -0,0 +1,116 @@
+package ru.clevertec.product.repository.replication;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Кадры потока репликации. Ведомый узел после подключения отправляет идентификатор журнала, который он
+ * читал, и номер первой нужной ему записи или {@link #SNAPSHOT_REQUEST}. Ведущий узел продолжает журнал
+ * кадром {@link #RESUME}, только если журнал тот же или ведомый узел ещё ничего не читал, иначе начинает
+ * со снимка. Дальше идут записи журнала, снимки и, при отсутствии изменений, пульс с номером
+ * последней записи.
+ */
+public final class ReplicationProtocol {
+
+    public static final byte RECORD = 1;
+    public static final byte HEARTBEAT = 2;
+    public static final byte SNAPSHOT = 3;
+    public static final byte RESUME = 4;
+    public static final long SNAPSHOT_REQUEST = 0;
+    public static final UUID UNKNOWN_LOG = new UUID(0, 0);
+
+    private ReplicationProtocol() {
+    }
+
+    public static void writeHandshake(DataOutput out, UUID logId, long next) throws IOException {
+        writeUuid(out, logId);
+        out.writeLong(next);
+    }
+
+    public static Handshake readHandshake(DataInput in) throws IOException {
+        return new Handshake(readUuid(in), in.readLong());
+    }
+
+    public static void writeResume(DataOutput out, UUID logId) throws IOException {
+        out.writeByte(RESUME);
+        writeUuid(out, logId);
+    }
+
+    public static UUID readResume(DataInput in) throws IOException {
+        return readUuid(in);
+    }
+
+    public static void writeRecord(DataOutput out, ReplicationRecord record) throws IOException {
+        out.writeByte(RECORD);
+        out.writeLong(record.offset());
+        out.writeLong(record.timestamp());
+        writeUuid(out, record.uuid());
+        writeBytes(out, record.product());
+    }
+
+    public static ReplicationRecord readRecord(DataInput in) throws IOException {
+        return new ReplicationRecord(in.readLong(), in.readLong(), readUuid(in), readBytes(in));
+    }
+
+    public static void writeHeartbeat(DataOutput out, long lastOffset) throws IOException {
+        out.writeByte(HEARTBEAT);
+        out.writeLong(lastOffset);
+    }
+
+    public static long readHeartbeat(DataInput in) throws IOException {
+        return in.readLong();
+    }
+
+    public static void writeSnapshot(DataOutput out, Snapshot snapshot) throws IOException {
+        out.writeByte(SNAPSHOT);
+        writeUuid(out, snapshot.logId());
+        out.writeLong(snapshot.offset());
+        out.writeInt(snapshot.products().size());
+        for (byte[] product : snapshot.products()) {
+            writeBytes(out, product);
+        }
+    }
+
+    public static Snapshot readSnapshot(DataInput in) throws IOException {
+        UUID logId = readUuid(in);
+        long offset = in.readLong();
+        int size = in.readInt();
+        List<byte[]> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            products.add(readBytes(in));
+        }
+        return new Snapshot(logId, offset, products);
+    }
+
+    private static void writeUuid(DataOutput out, UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInput in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static void writeBytes(DataOutput out, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static byte[] readBytes(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,30 @@
+package ru.clevertec.product.repository.replication;
+
+import java.util.UUID;
+
+public record ReplicationRecord(
+
+        /**
+         * Порядковый номер записи в журнале, начиная с 1
+         */
+        long offset,
+
+        /**
+         * Время записи на ведущем узле в миллисекундах от начала эпохи
+         */
+        long timestamp,
+
+        /**
+         * Идентификатор изменённого продукта
+         */
+        UUID uuid,
+
+        /**
+         * Продукт в формате ProductCodec или null, если продукт удалён
+         */
+        byte[] product) {
+
+    public boolean isDelete() {
+        return product == null;
+    }
+}
@@ -0,0 +1,135 @@
+package ru.clevertec.product.repository.replication;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import ru.clevertec.product.repository.impl.ReplicatedProductRepository;
+
+/**
+ * TCP-сервер ведущего узла. Каждому подключённому ведомому узлу журнал отправляется в отдельном потоке
+ * начиная с запрошенной записи; если она уже вытеснена из журнала или ведомый узел читал другой журнал,
+ * например до перезапуска ведущего узла, сначала отправляется полный снимок.
+ */
+public class ReplicationServer implements AutoCloseable {
+
+    private static final Duration DEFAULT_HEARTBEAT_INTERVAL = Duration.ofMillis(100);
+    private static final int BATCH_SIZE = 512;
+
+    private final ReplicatedProductRepository primary;
+    private final long heartbeatMillis;
+    private final ServerSocket serverSocket;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger senders = new AtomicInteger();
+    private volatile boolean closed;
+
+    public ReplicationServer(ReplicatedProductRepository primary, int port) {
+        this(primary, new InetSocketAddress(port), DEFAULT_HEARTBEAT_INTERVAL);
+    }
+
+    public ReplicationServer(ReplicatedProductRepository primary, InetSocketAddress address,
+                             Duration heartbeatInterval) {
+        this.primary = primary;
+        this.heartbeatMillis = heartbeatInterval.toMillis();
+        try {
+            this.serverSocket = new ServerSocket();
+            serverSocket.setReuseAddress(true);
+            serverSocket.bind(address);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Thread acceptor = new Thread(this::accept, "replication-server");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            serverSocket.close();
+        } catch (IOException ignored) {
+            //сокет уже закрыт
+        }
+        connections.forEach(this::closeQuietly);
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.add(socket);
+                Thread sender = new Thread(() -> serve(socket), "replication-sender-" + senders.incrementAndGet());
+                sender.setDaemon(true);
+                sender.start();
+            } catch (IOException ignored) {
+                //ошибка одного подключения не останавливает сервер
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        ReplicationLog replicationLog = primary.replicationLog();
+        try (socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            Handshake handshake = ReplicationProtocol.readHandshake(in);
+            long next = ReplicationProtocol.SNAPSHOT_REQUEST;
+            if (handshake.canResume(replicationLog.id())) {
+                ReplicationProtocol.writeResume(out, replicationLog.id());
+                next = handshake.next();
+            }
+            while (!closed) {
+                List<ReplicationRecord> batch;
+                try {
+                    batch = replicationLog.read(next, BATCH_SIZE, heartbeatMillis, TimeUnit.MILLISECONDS);
+                } catch (IllegalStateException e) {
+                    Snapshot snapshot = primary.snapshot();
+                    ReplicationProtocol.writeSnapshot(out, snapshot);
+                    out.flush();
+                    next = snapshot.offset() + 1;
+                    continue;
+                }
+                if (batch.isEmpty()) {
+                    ReplicationProtocol.writeHeartbeat(out, replicationLog.lastOffset());
+                } else {
+                    for (ReplicationRecord record : batch) {
+                        ReplicationProtocol.writeRecord(out, record);
+                    }
+                    next = batch.get(batch.size() - 1).offset() + 1;
+                }
+                out.flush();
+            }
+        } catch (IOException e) {
+            //ведомый узел отключился и переподключится сам
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            connections.remove(socket);
+        }
+    }
+
+    private void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            //соединение уже закрыто
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package ru.clevertec.product.repository.replication;
+
+public record ReplicationStats(
+
+        /**
+         * Номер последней применённой записи журнала
+         */
+        long appliedOffset,
+
+        /**
+         * Номер последней известной записи журнала ведущего узла
+         */
+        long primaryOffset,
+
+        /**
+         * Задержка применения последней записи относительно её появления на ведущем узле, мс
+         */
+        long lagMillis,
+
+        /**
+         * Количество переподключений к ведущему узлу
+         */
+        long reconnects,
+
+        /**
+         * Количество полученных полных снимков
+         */
+        long snapshots,
+
+        /**
+         * Количество записей и снимков, которые не удалось применить к локальному репозиторию
+         */
+        long failures) {
+
+    /**
+     * Количество записей, которые ведомый узел ещё не применил.
+     */
+    public long offsetLag() {
+        return Math.max(0, primaryOffset - appliedOffset);
+    }
+}
@@ -0,0 +1,22 @@
+package ru.clevertec.product.repository.replication;
+
+import java.util.List;
+import java.util.UUID;
+
+public record Snapshot(
+
+        /**
+         * Идентификатор журнала, с которым согласован снимок
+         */
+        UUID logId,
+
+        /**
+         * Номер последней записи журнала, отражённой в снимке
+         */
+        long offset,
+
+        /**
+         * Продукты в формате ProductCodec
+         */
+        List<byte[]> products) {
+}
@@ -0,0 +1,65 @@
+package ru.clevertec.product.repository.tiered;
+
+import java.util.UUID;
+
+/**
+ * Фильтр Блума по идентификаторам продуктов: {@link #mightContain(UUID)} не даёт ложных отрицаний,
+ * доля ложных срабатываний задаётся при создании.
+ */
+public class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final long[] words;
+    private final int bits;
+    private final int hashes;
+
+    public BloomFilter(int expectedEntries, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("false positive rate must be between 0 and 1");
+        }
+        int entries = Math.max(expectedEntries, 1);
+        long size = (long) Math.ceil(-entries * Math.log(falsePositiveRate) / (LN2 * LN2));
+        this.bits = (int) Math.min(Math.max(size, Long.SIZE), Integer.MAX_VALUE - Long.SIZE);
+        this.words = new long[(bits + Long.SIZE - 1) / Long.SIZE];
+        this.hashes = Math.max(1, (int) Math.round((double) bits / entries * LN2));
+    }
+
+    public void put(UUID uuid) {
+        long first = mix(uuid.getMostSignificantBits() ^ Long.rotateLeft(uuid.getLeastSignificantBits(), 32));
+        long second = mix(first ^ uuid.getLeastSignificantBits()) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = index(first + i * second);
+            words[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    public boolean mightContain(UUID uuid) {
+        long first = mix(uuid.getMostSignificantBits() ^ Long.rotateLeft(uuid.getLeastSignificantBits(), 32));
+        long second = mix(first ^ uuid.getLeastSignificantBits()) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = index(first + i * second);
+            if ((words[bit >>> 6] & 1L << bit) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return занимаемая битовым массивом память в байтах
+     */
+    public long sizeInBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+
+    private int index(long hash) {
+        return (int) Long.remainderUnsigned(hash, bits);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ value >>> 33) * 0xff51afd7ed558ccdL;
+        value = (value ^ value >>> 33) * 0xc4ceb9fe1a85ec53L;
+        return value ^ value >>> 33;
+    }
+}
@@ -0,0 +1,341 @@
+package ru.clevertec.product.repository.tiered;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import ru.clevertec.product.io.ProductCodec;
+
+/**
+ * Неизменяемый файл с записями, отсортированными по uuid.
+ * В памяти хранятся только фильтр Блума и разреженный индекс каждой {@value #INDEX_INTERVAL}-й записи,
+ * поиск читает с диска один блок между соседними точками индекса.
+ * Запись: uuid (16 байт), длина продукта (-1 для удалённого) и продукт в формате {@link ProductCodec}.
+ * Сегмент создаётся с одной ссылкой владельца; читатели закрепляют его через {@link #retain()},
+ * и файл удаляется последним {@link #release()}, поэтому удаление не ждёт чтений и не мешает им.
+ */
+public class Segment implements Closeable {
+
+    private static final int INDEX_INTERVAL = 16;
+    private static final int HEADER_SIZE = 2 * Long.BYTES + Integer.BYTES;
+    private static final int TOMBSTONE = -1;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final BloomFilter bloomFilter;
+    private final UUID[] indexKeys;
+    private final long[] indexOffsets;
+    private final long length;
+    private final int entries;
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    private Segment(Path file, BloomFilter bloomFilter, UUID[] indexKeys, long[] indexOffsets, long length,
+                    int entries) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.bloomFilter = bloomFilter;
+        this.indexKeys = indexKeys;
+        this.indexOffsets = indexOffsets;
+        this.length = length;
+        this.entries = entries;
+    }
+
+    /**
+     * Записывает сегмент из записей, уже отсортированных по возрастанию uuid без повторов.
+     *
+     * @param file              новый файл сегмента
+     * @param sorted            записи сегмента
+     * @param expectedEntries   ожидаемое количество записей для размера фильтра Блума
+     * @param falsePositiveRate доля ложных срабатываний фильтра Блума
+     * @return открытый для чтения сегмент
+     */
+    public static Segment write(Path file, Iterator<SegmentEntry> sorted, int expectedEntries,
+                                double falsePositiveRate) throws IOException {
+        BloomFilter bloomFilter = new BloomFilter(expectedEntries, falsePositiveRate);
+        List<UUID> indexKeys = new ArrayList<>();
+        List<Long> indexOffsets = new ArrayList<>();
+        long offset = 0;
+        int count = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE), 64 * 1024))) {
+            while (sorted.hasNext()) {
+                SegmentEntry entry = sorted.next();
+                if (count % INDEX_INTERVAL == 0) {
+                    indexKeys.add(entry.uuid());
+                    indexOffsets.add(offset);
+                }
+                bloomFilter.put(entry.uuid());
+                out.writeLong(entry.uuid().getMostSignificantBits());
+                out.writeLong(entry.uuid().getLeastSignificantBits());
+                if (entry.isTombstone()) {
+                    out.writeInt(TOMBSTONE);
+                    offset += HEADER_SIZE;
+                } else {
+                    byte[] product = ProductCodec.toBytes(entry.product());
+                    out.writeInt(product.length);
+                    out.write(product);
+                    offset += HEADER_SIZE + product.length;
+                }
+                count++;
+            }
+        }
+        return new Segment(file, bloomFilter, indexKeys.toArray(UUID[]::new),
+                indexOffsets.stream().mapToLong(Long::longValue).toArray(), offset, count);
+    }
+
+    /**
+     * Сливает сегменты в один: для каждого uuid остаётся запись самого нового сегмента,
+     * отметки удаления отбрасываются, поэтому сливать нужно все более старые сегменты вместе.
+     *
+     * @param file              новый файл сегмента
+     * @param newestFirst       сливаемые сегменты от нового к старому
+     * @param falsePositiveRate доля ложных срабатываний фильтра Блума
+     * @return открытый для чтения сегмент
+     */
+    public static Segment merge(Path file, List<Segment> newestFirst, double falsePositiveRate) throws IOException {
+        List<Reader> readers = new ArrayList<>(newestFirst.size());
+        try {
+            for (Segment segment : newestFirst) {
+                readers.add(segment.reader());
+            }
+            int expected = newestFirst.stream()
+                    .mapToInt(Segment::entries)
+                    .sum();
+            return write(file, new MergingIterator(readers), expected, falsePositiveRate);
+        } finally {
+            for (Reader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    /**
+     * Сливает отсортированные по uuid источники записей на лету: для каждого uuid остаётся запись
+     * самого нового источника, отметки удаления и перекрытые ими записи пропускаются.
+     *
+     * @param newestFirst источники от нового к старому
+     * @return живые записи по возрастанию uuid
+     */
+    public static Iterator<SegmentEntry> merging(List<? extends Iterator<SegmentEntry>> newestFirst) {
+        return new MergingIterator(newestFirst);
+    }
+
+    /**
+     * @param uuid идентификатор продукта
+     * @return false, если продукта точно нет в сегменте
+     */
+    public boolean mightContain(UUID uuid) {
+        return bloomFilter.mightContain(uuid);
+    }
+
+    /**
+     * Ищет запись на диске, не проверяя фильтр Блума.
+     *
+     * @param uuid идентификатор продукта
+     * @return запись с продуктом или отметкой удаления, null если записи нет
+     */
+    public SegmentEntry find(UUID uuid) throws IOException {
+        int block = Arrays.binarySearch(indexKeys, uuid);
+        if (block < 0) {
+            block = -block - 2;
+            if (block < 0) {
+                return null;
+            }
+        }
+        long start = indexOffsets[block];
+        long end = block + 1 < indexOffsets.length ? indexOffsets[block + 1] : length;
+        ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position()) < 0) {
+                throw new EOFException(file.toString());
+            }
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            UUID current = new UUID(buffer.getLong(), buffer.getLong());
+            int size = buffer.getInt();
+            int comparison = current.compareTo(uuid);
+            if (comparison > 0) {
+                return null;
+            }
+            if (comparison == 0) {
+                if (size == TOMBSTONE) {
+                    return SegmentEntry.tombstone(uuid);
+                }
+                byte[] product = new byte[size];
+                buffer.get(product);
+                return new SegmentEntry(uuid, ProductCodec.fromBytes(product));
+            }
+            if (size != TOMBSTONE) {
+                buffer.position(buffer.position() + size);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Последовательно читает все записи сегмента по возрастанию uuid.
+     *
+     * @return итератор, который нужно закрыть после использования
+     */
+    public Reader reader() throws IOException {
+        return new Reader(new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024)));
+    }
+
+    public int entries() {
+        return entries;
+    }
+
+    public long length() {
+        return length;
+    }
+
+    /**
+     * @return память, занимаемая фильтром Блума и разреженным индексом
+     */
+    public long memoryInBytes() {
+        return bloomFilter.sizeInBytes() + (long) indexKeys.length * (32 + Long.BYTES);
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * Закрепляет сегмент: файл не будет удалён до парного вызова {@link #release()}.
+     *
+     * @throws IllegalStateException если сегмент уже удалён
+     */
+    public void retain() {
+        if (references.getAndUpdate(count -> count == 0 ? 0 : count + 1) == 0) {
+            throw new IllegalStateException("segment " + file + " is already deleted");
+        }
+    }
+
+    /**
+     * Снимает ссылку; последняя снятая ссылка закрывает и удаляет файл.
+     */
+    public void release() throws IOException {
+        if (references.decrementAndGet() == 0) {
+            close();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private record Head(SegmentEntry entry, int age, Iterator<SegmentEntry> source) {
+    }
+
+    private static class MergingIterator implements Iterator<SegmentEntry> {
+
+        private final PriorityQueue<Head> heads = new PriorityQueue<>(Comparator
+                .comparing((Head head) -> head.entry().uuid())
+                .thenComparingInt(Head::age));
+        private SegmentEntry next;
+
+        private MergingIterator(List<? extends Iterator<SegmentEntry>> sources) {
+            for (int age = 0; age < sources.size(); age++) {
+                advance(sources.get(age), age);
+            }
+            next = poll();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public SegmentEntry next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            SegmentEntry current = next;
+            next = poll();
+            return current;
+        }
+
+        private SegmentEntry poll() {
+            while (!heads.isEmpty()) {
+                Head newest = heads.poll();
+                advance(newest.source(), newest.age());
+                while (!heads.isEmpty() && heads.peek().entry().uuid().equals(newest.entry().uuid())) {
+                    Head shadowed = heads.poll();
+                    advance(shadowed.source(), shadowed.age());
+                }
+                if (!newest.entry().isTombstone()) {
+                    return newest.entry();
+                }
+            }
+            return null;
+        }
+
+        private void advance(Iterator<SegmentEntry> source, int age) {
+            if (source.hasNext()) {
+                heads.add(new Head(source.next(), age, source));
+            }
+        }
+    }
+
+    public class Reader implements Iterator<SegmentEntry>, Closeable {
+
+        private final DataInputStream in;
+        private int read;
+
+        private Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return read < entries;
+        }
+
+        @Override
+        public SegmentEntry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                UUID uuid = new UUID(in.readLong(), in.readLong());
+                int size = in.readInt();
+                read++;
+                if (size == TOMBSTONE) {
+                    return SegmentEntry.tombstone(uuid);
+                }
+                byte[] product = new byte[size];
+                in.readFully(product);
+                return new SegmentEntry(uuid, ProductCodec.fromBytes(product));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
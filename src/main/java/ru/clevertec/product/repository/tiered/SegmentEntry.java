@@ -0,0 +1,25 @@
+package ru.clevertec.product.repository.tiered;
+
+import java.util.UUID;
+import ru.clevertec.product.entity.Product;
+
+public record SegmentEntry(
+
+        /**
+         * Идентификатор продукта, ключ сортировки сегмента
+         */
+        UUID uuid,
+
+        /**
+         * Сохранённый продукт или null, если продукт удалён
+         */
+        Product product) {
+
+    public static SegmentEntry tombstone(UUID uuid) {
+        return new SegmentEntry(uuid, null);
+    }
+
+    public boolean isTombstone() {
+        return product == null;
+    }
+}
@@ -0,0 +1,39 @@
+package ru.clevertec.product.repository.tiered;
+
+public record TieredStats(
+
+        /**
+         * Количество продуктов в памяти
+         */
+        int hotSize,
+
+        /**
+         * Количество записей, ожидающих сброса на диск
+         */
+        int pendingEntries,
+
+        /**
+         * Количество сегментов на диске
+         */
+        int segments,
+
+        /**
+         * Суммарный размер файлов сегментов
+         */
+        long segmentBytes,
+
+        /**
+         * Память, занятая фильтрами Блума и индексами сегментов
+         */
+        long segmentIndexBytes,
+
+        /**
+         * Количество чтений блоков с диска
+         */
+        long diskReads,
+
+        /**
+         * Количество сегментов, пропущенных благодаря фильтру Блума
+         */
+        long bloomSkips) {
+}
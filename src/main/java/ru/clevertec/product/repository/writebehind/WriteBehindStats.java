@@ -0,0 +1,34 @@
+package ru.clevertec.product.repository.writebehind;
+
+public record WriteBehindStats(
+
+        /**
+         * Количество продуктов, ожидающих записи, включая записываемые сейчас
+         */
+        int pending,
+
+        /**
+         * Количество принятых операций сохранения и удаления
+         */
+        long accepted,
+
+        /**
+         * Количество операций, поглощённых более поздней операцией над тем же продуктом
+         */
+        long coalesced,
+
+        /**
+         * Количество записанных пачек
+         */
+        long batches,
+
+        /**
+         * Количество операций, переданных обёрнутому репозиторию
+         */
+        long written,
+
+        /**
+         * Количество операций, которые не удалось записать
+         */
+        long failed) {
+}
@@ -1,5 +1,6 @@
 package ru.clevertec.product.service;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
 import ru.clevertec.product.data.InfoProductDto;
@@ -24,6 +25,15 @@ public interface ProductService {
      */
     List<InfoProductDto> getAll();
 
+    /**
+     * Возвращает продукты с ценой в заданном диапазоне.
+     *
+     * @param min нижняя граница цены включительно
+     * @param max верхняя граница цены включительно
+     * @return лист с информацией о продуктах
+     */
+    List<InfoProductDto> getByPriceBetween(BigDecimal min, BigDecimal max);
+
     /**
      * Создаёт новый продукт из DTO.
      *
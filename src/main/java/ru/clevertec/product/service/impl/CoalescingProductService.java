@@ -0,0 +1,91 @@
+package ru.clevertec.product.service.impl;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.RequiredArgsConstructor;
+import ru.clevertec.product.data.InfoProductDto;
+import ru.clevertec.product.data.ProductDto;
+import ru.clevertec.product.service.ProductService;
+
+/**
+ * Декоратор, объединяющий одновременные запросы {@link #get(UUID)} одного продукта:
+ * первый поток выполняет поиск, остальные дожидаются и получают его результат или исключение.
+ * После изменения или удаления продукта следующие запросы не присоединяются к начатому ранее поиску.
+ */
+@RequiredArgsConstructor
+public class CoalescingProductService implements ProductService {
+
+    private final ProductService productService;
+    private final ConcurrentMap<UUID, CompletableFuture<InfoProductDto>> inFlight = new ConcurrentHashMap<>();
+
+    @Override
+    public InfoProductDto get(UUID uuid) {
+        CompletableFuture<InfoProductDto> call = new CompletableFuture<>();
+        CompletableFuture<InfoProductDto> leader = inFlight.putIfAbsent(uuid, call);
+        if (leader != null) {
+            return await(leader);
+        }
+        try {
+            InfoProductDto result = productService.get(uuid);
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(uuid, call);
+        }
+    }
+
+    @Override
+    public List<InfoProductDto> getAll() {
+        return productService.getAll();
+    }
+
+    @Override
+    public List<InfoProductDto> getByPriceBetween(BigDecimal min, BigDecimal max) {
+        return productService.getByPriceBetween(min, max);
+    }
+
+    @Override
+    public UUID create(ProductDto productDto) {
+        return productService.create(productDto);
+    }
+
+    @Override
+    public void update(UUID uuid, ProductDto productDto) {
+        try {
+            productService.update(uuid, productDto);
+        } finally {
+            inFlight.remove(uuid);
+        }
+    }
+
+    @Override
+    public void delete(UUID uuid) {
+        try {
+            productService.delete(uuid);
+        } finally {
+            inFlight.remove(uuid);
+        }
+    }
+
+    private InfoProductDto await(CompletableFuture<InfoProductDto> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package ru.clevertec.product.service.impl;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import ru.clevertec.product.data.InfoProductDto;
+import ru.clevertec.product.data.ProductDto;
+import ru.clevertec.product.service.ProductService;
+import ru.clevertec.product.service.limit.AdaptiveConcurrencyLimiter;
+
+/**
+ * Декоратор, пропускающий изменяющие операции через {@link AdaptiveConcurrencyLimiter}:
+ * при перегрузке лишние create/update/delete быстро отклоняются
+ * {@link ru.clevertec.product.exception.ServiceOverloadedException}, а не копятся на блокировке записи.
+ * Чтение выполняется без ограничений.
+ */
+@RequiredArgsConstructor
+public class ConcurrencyLimitedProductService implements ProductService {
+
+    private final ProductService productService;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    @Override
+    public InfoProductDto get(UUID uuid) {
+        return productService.get(uuid);
+    }
+
+    @Override
+    public List<InfoProductDto> getAll() {
+        return productService.getAll();
+    }
+
+    @Override
+    public List<InfoProductDto> getByPriceBetween(BigDecimal min, BigDecimal max) {
+        return productService.getByPriceBetween(min, max);
+    }
+
+    @Override
+    public UUID create(ProductDto productDto) {
+        return limiter.execute(() -> productService.create(productDto));
+    }
+
+    @Override
+    public void update(UUID uuid, ProductDto productDto) {
+        limiter.execute(() -> productService.update(uuid, productDto));
+    }
+
+    @Override
+    public void delete(UUID uuid) {
+        limiter.execute(() -> productService.delete(uuid));
+    }
+}
@@ -1,6 +1,12 @@
 package ru.clevertec.product.service.impl;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
@@ -8,6 +14,7 @@ import ru.clevertec.product.data.InfoProductDto;
 import ru.clevertec.product.data.ProductDto;
 import ru.clevertec.product.entity.Product;
 import ru.clevertec.product.exception.ProductNotFoundException;
+import ru.clevertec.product.jfr.ServiceOperationEvent;
 import ru.clevertec.product.mapper.ProductMapper;
 import ru.clevertec.product.repository.ProductRepository;
 import ru.clevertec.product.service.ProductService;
@@ -17,41 +24,143 @@ public class ProductServiceImpl implements ProductService {
 
     private final ProductMapper mapper;
     private final ProductRepository productRepository;
+    private volatile Materialized materialized = Materialized.EMPTY;
 
     @Override
     public InfoProductDto get(UUID uuid) {
-        Optional<Product> productOptional = productRepository.findById(uuid);
-        Product product = productOptional.orElseThrow(() -> new ProductNotFoundException(uuid));
-        return mapper.toInfoProductDto(product);
+        ServiceOperationEvent event = new ServiceOperationEvent();
+        event.begin();
+        try {
+            Optional<Product> productOptional = productRepository.findById(uuid);
+            Product product = productOptional.orElseThrow(() -> new ProductNotFoundException(uuid));
+            InfoProductDto infoProductDto = mapper.toInfoProductDto(product);
+            event.complete("get", uuid, 1, null);
+            return infoProductDto;
+        } catch (RuntimeException e) {
+            event.complete("get", uuid, 0, e);
+            throw e;
+        }
     }
 
     @Override
     public List<InfoProductDto> getAll() {
-        List<Product> products = productRepository.findAll();
-        return products.stream()
-                .map(mapper::toInfoProductDto)
-                .toList();
+        ServiceOperationEvent event = new ServiceOperationEvent();
+        event.begin();
+        try {
+            List<InfoProductDto> infoProductDtos = materialize();
+            event.complete("getAll", null, infoProductDtos.size(), null);
+            return infoProductDtos;
+        } catch (RuntimeException e) {
+            event.complete("getAll", null, 0, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<InfoProductDto> getByPriceBetween(BigDecimal min, BigDecimal max) {
+        ServiceOperationEvent event = new ServiceOperationEvent();
+        event.begin();
+        try {
+            List<InfoProductDto> infoProductDtos = productRepository.findByPriceBetween(min, max).stream()
+                    .map(mapper::toInfoProductDto)
+                    .toList();
+            event.complete("getByPriceBetween", null, infoProductDtos.size(), null);
+            return infoProductDtos;
+        } catch (RuntimeException e) {
+            event.complete("getByPriceBetween", null, 0, e);
+            throw e;
+        }
     }
 
     @Override
     public UUID create(ProductDto productDto) {
-        Product product = mapper.toProduct(productDto);
-        Product saved = productRepository.save(product);
-        return saved.getUuid();
+        ServiceOperationEvent event = new ServiceOperationEvent();
+        event.begin();
+        try {
+            Product product = mapper.toProduct(productDto);
+            Product saved = productRepository.save(product);
+            event.complete("create", saved.getUuid(), 1, null);
+            return saved.getUuid();
+        } catch (RuntimeException e) {
+            event.complete("create", null, 0, e);
+            throw e;
+        }
     }
 
     @Override
     public void update(UUID uuid, ProductDto productDto) {
-        Optional<Product> productOptional = productRepository.findById(uuid);
-        productOptional.map(product -> {
-            Product updatedProduct = mapper.merge(product, productDto);
-            productRepository.save(updatedProduct);
-            return product;
-        }).orElseThrow(() -> new ProductNotFoundException(uuid));
+        ServiceOperationEvent event = new ServiceOperationEvent();
+        event.begin();
+        try {
+            Optional<Product> productOptional = productRepository.findById(uuid);
+            productOptional.map(product -> {
+                Product updatedProduct = mapper.merge(product, productDto);
+                productRepository.save(updatedProduct);
+                return product;
+            }).orElseThrow(() -> new ProductNotFoundException(uuid));
+            event.complete("update", uuid, 1, null);
+        } catch (RuntimeException e) {
+            event.complete("update", uuid, 0, e);
+            throw e;
+        }
     }
 
     @Override
     public void delete(UUID uuid) {
-        productRepository.delete(uuid);
+        ServiceOperationEvent event = new ServiceOperationEvent();
+        event.begin();
+        try {
+            productRepository.delete(uuid);
+            event.complete("delete", uuid, 0, null);
+        } catch (RuntimeException e) {
+            event.complete("delete", uuid, 0, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Возвращает общий неизменяемый список, пока версия репозитория не изменилась. После изменения
+     * список строится заново, DTO неизменённых продуктов берутся из предыдущего списка.
+     * Если репозиторий не отслеживает версии, список строится при каждом вызове.
+     */
+    private List<InfoProductDto> materialize() {
+        long version = productRepository.version();
+        Materialized current = materialized;
+        if (version >= 0 && version == current.version()) {
+            return current.infoProductDtos();
+        }
+        List<Product> products = productRepository.findAll();
+        if (version < 0) {
+            return products.stream()
+                    .map(mapper::toInfoProductDto)
+                    .toList();
+        }
+        Map<UUID, InfoProductDto> byUuid = new HashMap<>((int) (products.size() / 0.75f) + 1);
+        List<InfoProductDto> infoProductDtos = new ArrayList<>(products.size());
+        for (Product product : products) {
+            InfoProductDto infoProductDto = current.byUuid().get(product.getUuid());
+            if (infoProductDto == null || !isCurrent(infoProductDto, product)) {
+                infoProductDto = mapper.toInfoProductDto(product);
+            }
+            infoProductDtos.add(infoProductDto);
+            byUuid.put(product.getUuid(), infoProductDto);
+        }
+        List<InfoProductDto> shared = Collections.unmodifiableList(infoProductDtos);
+        if (version > materialized.version()) { //параллельная пересборка могла сохранить более новую версию
+            materialized = new Materialized(version, shared, byUuid);
+        }
+        return shared;
+    }
+
+    private static boolean isCurrent(InfoProductDto infoProductDto, Product product) {
+        return Objects.equals(infoProductDto.name(), product.getName())
+               && Objects.equals(infoProductDto.description(), product.getDescription())
+               && Objects.equals(infoProductDto.price(), product.getPrice());
+    }
+
+    private record Materialized(long version, List<InfoProductDto> infoProductDtos,
+                                Map<UUID, InfoProductDto> byUuid) {
+
+        private static final Materialized EMPTY = new Materialized(-1, List.of(), Map.of());
     }
 }
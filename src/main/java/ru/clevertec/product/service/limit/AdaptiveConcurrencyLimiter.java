@@ -0,0 +1,181 @@
+package ru.clevertec.product.service.limit;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import ru.clevertec.product.exception.ServiceOverloadedException;
+
+/**
+ * Ограничивает число одновременно выполняемых операций пределом, который подстраивается по AIMD.
+ * Задержки собираются окнами по limit операций: если самая долгая операция окна превысила целевую
+ * задержку, предел умножается на {@value #BACKOFF_RATIO}, иначе, если предел был выбран полностью,
+ * растёт на единицу. Сверх предела операции ждут в очереди ограниченной длины не дольше заданного
+ * времени, остальные сразу отклоняются {@link ServiceOverloadedException}.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final long maxWaitNanos;
+    private final int maxQueue;
+    private final LongSupplier clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final AtomicLong rejected = new AtomicLong();
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private int windowSamples;
+    private long windowMaxLatency;
+    private boolean windowSaturated;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, Duration targetLatency,
+                                      Duration maxWait, int maxQueue) {
+        this(initialLimit, minLimit, maxLimit, targetLatency, maxWait, maxQueue, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, Duration targetLatency,
+                               Duration maxWait, int maxQueue, LongSupplier clock) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit || maxQueue < 0) {
+            throw new IllegalArgumentException("limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatency.toNanos();
+        this.maxWaitNanos = maxWait.toNanos();
+        this.maxQueue = maxQueue;
+        this.clock = clock;
+    }
+
+    /**
+     * Выполняет операцию в пределах текущего лимита.
+     *
+     * @param operation операция
+     * @return результат операции
+     * @throws ServiceOverloadedException если место не освободилось за допустимое время или очередь заполнена
+     */
+    public <T> T execute(Supplier<T> operation) {
+        acquire();
+        long start = clock.getAsLong();
+        try {
+            return operation.get();
+        } finally {
+            release(start, clock.getAsLong());
+        }
+    }
+
+    public void execute(Runnable operation) {
+        execute(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    public int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long rejected() {
+        return rejected.get();
+    }
+
+    int waiting() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acquire() {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return;
+            }
+            if (waiting >= maxQueue) {
+                throw reject();
+            }
+            waiting++;
+            try {
+                long remaining = maxWaitNanos;
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        throw reject();
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                inFlight++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw reject();
+            } finally {
+                waiting--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long start, long end) {
+        lock.lock();
+        try {
+            int before = (int) limit;
+            windowSaturated |= inFlight >= before;
+            windowMaxLatency = Math.max(windowMaxLatency, end - start);
+            inFlight--;
+            if (++windowSamples >= (int) limit) {
+                if (windowMaxLatency > targetLatencyNanos) {
+                    limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                } else if (windowSaturated) {
+                    limit = Math.min(maxLimit, limit + 1);
+                }
+                windowSamples = 0;
+                windowMaxLatency = 0;
+                windowSaturated = false;
+            }
+            if ((int) limit > before) {
+                released.signalAll(); //освободилось больше одного места
+            } else {
+                released.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ServiceOverloadedException reject() {
+        rejected.incrementAndGet();
+        return new ServiceOverloadedException((int) limit);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AdaptiveConcurrencyLimiter[limit=%d, inFlight=%d, rejected=%d, target=%dms]",
+                limit(), inFlight(), rejected(), TimeUnit.NANOSECONDS.toMillis(targetLatencyNanos));
+    }
+}
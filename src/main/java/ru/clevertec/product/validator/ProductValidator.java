@@ -3,39 +3,63 @@ package ru.clevertec.product.validator;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Pattern;
 import ru.clevertec.product.entity.Product;
 import ru.clevertec.product.exception.ValidationException;
+import ru.clevertec.product.jfr.ValidationFailureEvent;
 
 public class ProductValidator {
 
+    private static final Pattern NAME_PATTERN = Pattern.compile("^[а-яА-Я\\s]{5,10}$");
+    private static final Pattern DESCRIPTION_PATTERN = Pattern.compile("^[а-яА-Я\\s]{10,30}$");
+
     public void validate(Product product) {
-        List<String> validateErrors = new ArrayList<>();
+        List<String> validateErrors = null; //список создаётся только для невалидного продукта
         if (product.getName() == null) {
-            validateErrors.add("null product name");
+            validateErrors = addError(validateErrors, "null product name");
         }
         if (product.getName() != null) {
-            if (product.getName().trim().isEmpty()) {
-                validateErrors.add("empty product name");
+            if (isEmptyAfterTrim(product.getName())) {
+                validateErrors = addError(validateErrors, "empty product name");
             }
-            if (!product.getName().matches("^[а-яА-Я\\s]{5,10}$")) {
-                validateErrors.add("incorrect product name");
+            if (!NAME_PATTERN.matcher(product.getName()).matches()) {
+                validateErrors = addError(validateErrors, "incorrect product name");
             }
         }
-        if (product.getDescription() != null && !product.getDescription().matches("^[а-яА-Я\\s]{10,30}$")) {
-            validateErrors.add("incorrect product description");
+        if (product.getDescription() != null && !DESCRIPTION_PATTERN.matcher(product.getDescription()).matches()) {
+            validateErrors = addError(validateErrors, "incorrect product description");
         }
         if (product.getPrice() == null) {
-            validateErrors.add("null product price");
+            validateErrors = addError(validateErrors, "null product price");
         } else {
             if (product.getPrice().compareTo(BigDecimal.ZERO) <= 0) {
-                validateErrors.add("product price less or equal than 0");
+                validateErrors = addError(validateErrors, "product price less or equal than 0");
             }
         }
         if (product.getCreated() == null) {
-            validateErrors.add("null product created time");
+            validateErrors = addError(validateErrors, "null product created time");
         }
-        if (!validateErrors.isEmpty()) {
+        if (validateErrors != null) {
+            ValidationFailureEvent.emit(product.getUuid(), validateErrors);
             throw new ValidationException(validateErrors);
         }
     }
+
+    /**
+     * То же, что {@code value.trim().isEmpty()}, без создания обрезанной строки.
+     */
+    private static boolean isEmptyAfterTrim(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<String> addError(List<String> validateErrors, String error) {
+        List<String> errors = validateErrors == null ? new ArrayList<>() : validateErrors;
+        errors.add(error);
+        return errors;
+    }
 }
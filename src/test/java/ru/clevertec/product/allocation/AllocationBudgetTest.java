@@ -0,0 +1,163 @@
+package ru.clevertec.product.allocation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import ru.clevertec.product.data.ProductDto;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.mapper.ProductMapper;
+import ru.clevertec.product.mapper.ProductMapperImpl;
+import ru.clevertec.product.repository.impl.InMemoryProductRepository;
+import ru.clevertec.product.service.ProductService;
+import ru.clevertec.product.service.impl.ProductServiceImpl;
+import ru.clevertec.product.util.AllocationMeter;
+import ru.clevertec.product.util.ProductTestBuilder;
+import ru.clevertec.product.validator.ProductValidator;
+
+/**
+ * Бюджеты памяти, выделяемой за одну операцию на горячих путях. Бюджет задан с запасом в два-три раза
+ * от замеренного значения, превышение означает новую аллокацию на пути, а не шум измерения.
+ * Операции над хранилищем выполняются при PRODUCTS продуктах в нём.
+ */
+class AllocationBudgetTest {
+
+    private static final int PRODUCTS = 1000;
+
+    private final ProductMapper mapper = new ProductMapperImpl();
+    private final ProductValidator productValidator = new ProductValidator();
+    private final ProductDto productDto = ProductTestBuilder.builder().build()
+            .buildProductDto();
+    private InMemoryProductRepository productRepository;
+    private ProductService productService;
+    private Product stored;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = new InMemoryProductRepository();
+        productService = new ProductServiceImpl(mapper, productRepository);
+        for (int i = 0; i < PRODUCTS; i++) {
+            stored = productRepository.save(product());
+        }
+    }
+
+    @Nested
+    class RepositoryTest {
+
+        @Test
+        void findByIdShouldStayWithinBudget_whenProductExists() {
+            UUID uuid = stored.getUuid();
+
+            long actual = AllocationMeter.bytesPerOperation(() -> productRepository.findById(uuid));
+
+            assertThat(actual).isLessThanOrEqualTo(64);
+        }
+
+        @Test
+        void findAllShouldStayWithinBudget_whenCalled() {
+            long actual = AllocationMeter.bytesPerOperation(productRepository::findAll);
+
+            assertThat(actual).isLessThanOrEqualTo(64);
+        }
+
+        @Test
+        void saveShouldStayWithinBudget_whenProductAlreadyStored() {
+            long actual = AllocationMeter.bytesPerOperation(() -> productRepository.save(stored));
+
+            assertThat(actual).isLessThanOrEqualTo(1024);
+        }
+
+        @Test
+        void saveAndDeleteShouldNotDependOnCatalogueSize_whenProductIsNew() {
+            Product product = product();
+
+            long actual = AllocationMeter.bytesPerOperation(() -> {
+                productRepository.save(product);
+                productRepository.delete(product.getUuid());
+            });
+
+            assertThat(actual).isLessThanOrEqualTo(2048);
+        }
+    }
+
+    @Nested
+    class ServiceTest {
+
+        @Test
+        void getShouldStayWithinBudget_whenProductExists() {
+            UUID uuid = stored.getUuid();
+
+            long actual = AllocationMeter.bytesPerOperation(() -> productService.get(uuid));
+
+            assertThat(actual).isLessThanOrEqualTo(256);
+        }
+
+        @Test
+        void getAllShouldNotDependOnCatalogueSize_whenNothingChanged() {
+            long actual = AllocationMeter.bytesPerOperation(productService::getAll);
+
+            assertThat(actual).isLessThanOrEqualTo(256);
+        }
+
+        @Test
+        void updateShouldStayWithinBudget_whenProductExists() {
+            UUID uuid = stored.getUuid();
+
+            long actual = AllocationMeter.bytesPerOperation(() -> productService.update(uuid, productDto));
+
+            assertThat(actual).isLessThanOrEqualTo(1024);
+        }
+
+        @Test
+        void createAndDeleteShouldNotDependOnCatalogueSize_whenCalled() {
+            long actual = AllocationMeter.bytesPerOperation(() ->
+                    productService.delete(productService.create(productDto)));
+
+            assertThat(actual).isLessThanOrEqualTo(2048);
+        }
+    }
+
+    @Nested
+    class MapperTest {
+
+        @Test
+        void toProductShouldStayWithinBudget_whenCalled() {
+            long actual = AllocationMeter.bytesPerOperation(() -> mapper.toProduct(productDto));
+
+            assertThat(actual).isLessThanOrEqualTo(128);
+        }
+
+        @Test
+        void toInfoProductDtoShouldStayWithinBudget_whenCalled() {
+            long actual = AllocationMeter.bytesPerOperation(() -> mapper.toInfoProductDto(stored));
+
+            assertThat(actual).isLessThanOrEqualTo(128);
+        }
+
+        @Test
+        void mergeShouldStayWithinBudget_whenCalled() {
+            long actual = AllocationMeter.bytesPerOperation(() -> mapper.merge(stored, productDto));
+
+            assertThat(actual).isLessThanOrEqualTo(64);
+        }
+    }
+
+    @Nested
+    class ValidatorTest {
+
+        @Test
+        void validateShouldStayWithinBudget_whenProductIsValid() {
+            long actual = AllocationMeter.bytesPerOperation(() -> productValidator.validate(stored));
+
+            assertThat(actual).isLessThanOrEqualTo(1024);
+        }
+    }
+
+    private Product product() {
+        return ProductTestBuilder.builder()
+                .withUuid(UUID.randomUUID()).build()
+                .buildProduct();
+    }
+}
@@ -0,0 +1,40 @@
+package ru.clevertec.product.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.util.ProductTestBuilder;
+
+class ProductCodecTest {
+
+    @ParameterizedTest
+    @MethodSource("products")
+    void fromBytesShouldReturnEqualProduct_whenBytesWrittenByToBytes(Product expected) {
+        byte[] bytes = ProductCodec.toBytes(expected);
+
+        Product actual = ProductCodec.fromBytes(bytes);
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    static Stream<Arguments> products() {
+        return Stream.of(
+                Arguments.of(ProductTestBuilder.builder().build()
+                        .buildProduct()),
+                Arguments.of(ProductTestBuilder.builder()
+                        .withPrice(new BigDecimal("-12345678901234567890.000001")).build()
+                        .buildProduct()),
+                Arguments.of(ProductTestBuilder.builder()
+                        .withUuid(null)
+                        .withName(null)
+                        .withDescription(null)
+                        .withPrice(null)
+                        .withCreated(null).build()
+                        .buildProduct()));
+    }
+}
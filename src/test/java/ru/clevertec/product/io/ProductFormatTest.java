@@ -0,0 +1,94 @@
+package ru.clevertec.product.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.clevertec.product.util.TestConstant.PRODUCT_DESCRIPTION;
+import static ru.clevertec.product.util.TestConstant.PRODUCT_NAME;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ru.clevertec.product.data.ProductDto;
+
+class ProductFormatTest {
+
+    @Nested
+    class CsvTest {
+
+        @ParameterizedTest
+        @ValueSource(strings = {
+                "Плюмбус,это универсальное устройство,10.50",
+                "\"Плюмбус\",\"это универсальное устройство\",10.50",
+                "76dbb74c-2f08-4bc0-8029-aed02147e737,Плюмбус,это универсальное устройство, 10.50"
+        })
+        void parseShouldReturnProductDto_whenCorrectLine(String line) {
+            ProductDto actual = ProductFormat.CSV.parse(line);
+
+            assertThat(actual)
+                    .isEqualTo(new ProductDto(PRODUCT_NAME, PRODUCT_DESCRIPTION, new BigDecimal("10.50")));
+        }
+
+        @Test
+        void parseShouldReturnNullDescription_whenDescriptionIsEmpty() {
+            ProductDto actual = ProductFormat.CSV.parse("Плюмбус,,10");
+
+            assertThat(actual.description()).isNull();
+        }
+
+        @Test
+        void parseShouldUnescapeQuotes_whenQuotedValueContainsQuote() {
+            ProductDto actual = ProductFormat.CSV.parse("\"Плю\"\"мбус\",\"a,b\",10");
+
+            assertThat(actual)
+                    .isEqualTo(new ProductDto("Плю\"мбус", "a,b", BigDecimal.TEN));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"Плюмбус,10", "Плюмбус,описание,abc", "\"Плюмбус,описание,10"})
+        void parseShouldThrowIllegalArgumentException_whenIncorrectLine(String line) {
+            assertThrows(IllegalArgumentException.class, () -> ProductFormat.CSV.parse(line));
+        }
+
+        @Test
+        void isHeaderShouldReturnTrue_whenFirstColumnIsFieldName() {
+            assertTrue(ProductFormat.CSV.isHeader("name,description,price"));
+            assertTrue(ProductFormat.CSV.isHeader("uuid,name,description,price"));
+            assertFalse(ProductFormat.CSV.isHeader("Плюмбус,,10"));
+        }
+    }
+
+    @Nested
+    class JsonLinesTest {
+
+        @ParameterizedTest
+        @ValueSource(strings = {
+                "{\"name\":\"Плюмбус\",\"description\":\"это универсальное устройство\",\"price\":10.50}",
+                " { \"price\" : \"10.50\" , \"name\" : \"Плюмбус\", \"description\": \"это универсальное устройство\" } ",
+                "{\"uuid\":\"76dbb74c\",\"name\":\"\\u041fлюмбус\",\"description\":\"это универсальное устройство\",\"price\":10.50}"
+        })
+        void parseShouldReturnProductDto_whenCorrectLine(String line) {
+            ProductDto actual = ProductFormat.JSON_LINES.parse(line);
+
+            assertThat(actual)
+                    .isEqualTo(new ProductDto(PRODUCT_NAME, PRODUCT_DESCRIPTION, new BigDecimal("10.50")));
+        }
+
+        @Test
+        void parseShouldReturnNullDescription_whenDescriptionIsNull() {
+            ProductDto actual = ProductFormat.JSON_LINES.parse("{\"name\":\"Плюмбус\",\"description\":null,\"price\":1}");
+
+            assertThat(actual.description()).isNull();
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"{\"name\":\"Плюмбус\"}", "{\"name\":\"Плюмбус\",\"price\":1", "{name:1}",
+                "{\"price\":1} tail"})
+        void parseShouldThrowIllegalArgumentException_whenIncorrectLine(String line) {
+            assertThrows(IllegalArgumentException.class, () -> ProductFormat.JSON_LINES.parse(line));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package ru.clevertec.product.io.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static ru.clevertec.product.util.TestConstant.PRODUCT_UUID;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.io.ImportReport;
+import ru.clevertec.product.io.ProductFormat;
+import ru.clevertec.product.mapper.ProductMapperImpl;
+import ru.clevertec.product.repository.impl.InMemoryProductRepository;
+import ru.clevertec.product.util.ProductTestBuilder;
+
+class ChannelProductExporterTest {
+
+    private static final int SMALL_BUFFER = 16;
+
+    @TempDir
+    Path directory;
+
+    private final InMemoryProductRepository productRepository = new InMemoryProductRepository();
+    private final ChannelProductExporter exporter = new ChannelProductExporter(new ProductMapperImpl(),
+            productRepository, SMALL_BUFFER);
+
+    @Test
+    void exportShouldWriteCsvLines_whenBufferIsSmallerThanLine() {
+        productRepository.save(ProductTestBuilder.builder().build()
+                .buildProduct());
+        productRepository.save(ProductTestBuilder.builder()
+                .withUuid(null)
+                .withDescription(null)
+                .withPrice(new BigDecimal("1.50")).build()
+                .buildProduct());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long actual = exporter.export(Channels.newChannel(out), ProductFormat.CSV);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines()
+                .toList();
+        assertEquals(2, actual);
+        assertThat(lines)
+                .hasSize(3)
+                .startsWith("uuid,name,description,price",
+                        PRODUCT_UUID + ",Плюмбус,это универсальное устройство,10");
+        assertThat(lines.get(2))
+                .endsWith(",Плюмбус,,1.50");
+    }
+
+    @Test
+    void exportShouldWriteJsonLines_whenJsonLinesFormat() {
+        productRepository.save(ProductTestBuilder.builder()
+                .withDescription(null).build()
+                .buildProduct());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exporter.export(Channels.newChannel(out), ProductFormat.JSON_LINES);
+
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .isEqualTo("{\"uuid\":\"" + PRODUCT_UUID
+                           + "\",\"name\":\"Плюмбус\",\"description\":null,\"price\":10}\n");
+    }
+
+    @ParameterizedTest
+    @EnumSource(ProductFormat.class)
+    void exportShouldBeReadableByImporter_whenExportedToFile(ProductFormat format) {
+        IntStream.rangeClosed(1, 1_000)
+                .mapToObj(i -> ProductTestBuilder.builder()
+                        .withUuid(null)
+                        .withPrice(BigDecimal.valueOf(i)).build()
+                        .buildProduct())
+                .forEach(productRepository::save);
+        Path file = directory.resolve("export." + format.name().toLowerCase());
+        InMemoryProductRepository target = new InMemoryProductRepository();
+
+        long exported = new ChannelProductExporter(new ProductMapperImpl(), productRepository)
+                .export(file, format);
+        ImportReport actual = new PipelineProductImporter(new ProductMapperImpl(), target)
+                .importFile(file, format);
+
+        assertEquals(1_000, exported);
+        assertEquals(1_000, actual.imported());
+        assertThat(target.findAll())
+                .extracting(Product::getPrice)
+                .containsExactlyInAnyOrderElementsOf(productRepository.findAll().stream()
+                        .map(Product::getPrice)
+                        .toList());
+    }
+
+    @Test
+    void exportShouldThrowUncheckedIOException_whenChannelFails() throws IOException {
+        productRepository.save(ProductTestBuilder.builder().build()
+                .buildProduct());
+        WritableByteChannel channel = mock(WritableByteChannel.class);
+        when(channel.write(any()))
+                .thenThrow(new IOException("disk full"));
+
+        assertThrows(UncheckedIOException.class, () -> exporter.export(channel, ProductFormat.CSV));
+    }
+
+    @Test
+    void exportShouldWriteOnlyHeader_whenRepositoryIsEmpty() throws IOException {
+        Path file = directory.resolve("empty.csv");
+
+        long actual = exporter.export(file, ProductFormat.CSV);
+
+        assertEquals(0, actual);
+        assertThat(Files.readAllLines(file))
+                .containsExactly("uuid,name,description,price");
+    }
+}
@@ -0,0 +1,190 @@
+package ru.clevertec.product.io.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.clevertec.product.data.ProductDto;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.io.ImportReport;
+import ru.clevertec.product.io.LineError;
+import ru.clevertec.product.io.ProductFormat;
+import ru.clevertec.product.mapper.ProductMapperImpl;
+import ru.clevertec.product.repository.ProductRepository;
+import ru.clevertec.product.repository.impl.InMemoryProductRepository;
+import ru.clevertec.product.validator.ProductValidator;
+
+class PipelineProductImporterTest {
+
+    private static final int ROWS = 5_000;
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @TempDir
+    Path directory;
+
+    private final InMemoryProductRepository productRepository = new InMemoryProductRepository();
+    private final PipelineProductImporter importer = new PipelineProductImporter(new ProductMapperImpl(),
+            new ProductValidator(), productRepository, 4, 16, 100, 10);
+
+    @Test
+    void importFileShouldSaveAllRows_whenCsvIsCorrect() throws IOException {
+        Path file = Files.write(directory.resolve("products.csv"), csvRows());
+
+        ImportReport actual = importer.importFile(file, ProductFormat.CSV);
+
+        assertEquals(ROWS, actual.lines());
+        assertEquals(ROWS, actual.imported());
+        assertEquals(0, actual.failed());
+        assertThat(productRepository.findAll())
+                .hasSize(ROWS)
+                .allSatisfy(product -> assertThat(product)
+                        .hasNoNullFieldsOrProperties());
+    }
+
+    @Test
+    void importFileShouldReportLineErrors_whenRowsAreIncorrect() throws IOException {
+        Path file = Files.write(directory.resolve("products.csv"), List.of(
+                "Плюмбус,,10",
+                "Invalid,,10",
+                "",
+                "Плюмбус,,abc",
+                "Плюмбус,,-1"));
+
+        ImportReport actual = importer.importFile(file, ProductFormat.CSV);
+
+        assertEquals(4, actual.lines());
+        assertEquals(1, actual.imported());
+        assertEquals(3, actual.failed());
+        assertThat(actual.errors())
+                .extracting(LineError::line)
+                .containsExactly(2L, 4L, 5L);
+        assertThat(productRepository.findAll())
+                .extracting(Product::getName)
+                .containsExactly("Плюмбус");
+    }
+
+    @Test
+    void importFileShouldReportLineError_whenFirstLineIsMalformed() throws IOException {
+        Path file = Files.write(directory.resolve("products.csv"), List.of(
+                "\"Плюмбус,это универсальное устройство,10",
+                "Плюмбус,это универсальное устройство,11"));
+
+        ImportReport actual = importer.importFile(file, ProductFormat.CSV);
+
+        assertEquals(2, actual.lines());
+        assertEquals(1, actual.imported());
+        assertThat(actual.errors())
+                .extracting(LineError::line)
+                .containsExactly(1L);
+    }
+
+    @Test
+    void importFileShouldLimitStoredErrors_whenErrorsExceedLimit() throws IOException {
+        List<String> lines = IntStream.range(0, 50)
+                .mapToObj(i -> "Invalid,,10")
+                .toList();
+        Path file = Files.write(directory.resolve("products.csv"), lines);
+
+        ImportReport actual = importer.importFile(file, ProductFormat.CSV);
+
+        assertEquals(50, actual.failed());
+        assertThat(actual.errors()).hasSize(10);
+    }
+
+    @Test
+    void importFileShouldSaveRows_whenJsonLines() throws IOException {
+        Path file = Files.write(directory.resolve("products.jsonl"), List.of(
+                "{\"name\":\"Плюмбус\",\"description\":\"это универсальное устройство\",\"price\":10}",
+                "{\"name\":\"Плюмбус\",\"price\":11.5}"));
+
+        ImportReport actual = importer.importFile(file, ProductFormat.JSON_LINES);
+
+        assertEquals(2, actual.imported());
+        assertThat(productRepository.findAll()).hasSize(2);
+    }
+
+    @Test
+    void importFileShouldReportEveryRowOfBatch_whenRepositoryFails() throws IOException {
+        ProductRepository failingRepository = mock(ProductRepository.class);
+        doThrow(new IllegalStateException("storage unavailable"))
+                .when(failingRepository).saveAll(anyList());
+        PipelineProductImporter failingImporter = new PipelineProductImporter(new ProductMapperImpl(),
+                new ProductValidator(), failingRepository, 2, 4, 2, 10);
+        Path file = Files.write(directory.resolve("products.csv"), List.of(
+                "Плюмбус,,10",
+                "Плюмбус,,11",
+                "Плюмбус,,12"));
+
+        ImportReport actual = failingImporter.importFile(file, ProductFormat.CSV);
+
+        assertEquals(0, actual.imported());
+        assertEquals(3, actual.failed());
+        assertThat(actual.errors())
+                .extracting(LineError::message)
+                .containsOnly("storage unavailable");
+    }
+
+    @Test
+    void importFileShouldThrowIllegalStateException_whenTransformerDiesWithError() throws IOException {
+        ProductMapperImpl dyingMapper = new ProductMapperImpl() {
+
+            @Override
+            public Product toProduct(ProductDto productDto) {
+                throw new StackOverflowError();
+            }
+        };
+        PipelineProductImporter dyingImporter = new PipelineProductImporter(dyingMapper, new ProductValidator(),
+                productRepository, 2, 4, 2, 10);
+        Path file = Files.write(directory.resolve("products.csv"), csvRows());
+
+        IllegalStateException actual = assertTimeoutPreemptively(TIMEOUT, () -> assertThrows(
+                IllegalStateException.class, () -> dyingImporter.importFile(file, ProductFormat.CSV)));
+
+        assertThat(actual).hasCauseInstanceOf(StackOverflowError.class);
+    }
+
+    @Test
+    void importFileShouldThrowIllegalStateException_whenWriterDiesWithError() throws IOException {
+        ProductRepository dyingRepository = mock(ProductRepository.class);
+        doThrow(new OutOfMemoryError())
+                .when(dyingRepository).saveAll(anyList());
+        PipelineProductImporter dyingImporter = new PipelineProductImporter(new ProductMapperImpl(),
+                new ProductValidator(), dyingRepository, 2, 4, 2, 10);
+        Path file = Files.write(directory.resolve("products.csv"), csvRows());
+
+        IllegalStateException actual = assertTimeoutPreemptively(TIMEOUT, () -> assertThrows(
+                IllegalStateException.class, () -> dyingImporter.importFile(file, ProductFormat.CSV)));
+
+        assertThat(actual).hasCauseInstanceOf(OutOfMemoryError.class);
+    }
+
+    @Test
+    void importFileShouldThrowUncheckedIOException_whenFileIsMissing() {
+        Path file = directory.resolve("missing.csv");
+
+        assertThrows(UncheckedIOException.class, () -> importer.importFile(file, ProductFormat.CSV));
+    }
+
+    private List<String> csvRows() {
+        List<String> lines = new ArrayList<>();
+        lines.add("name,description,price");
+        IntStream.rangeClosed(1, ROWS)
+                .mapToObj(i -> "Плюмбус,это универсальное устройство," + i)
+                .forEach(lines::add);
+        return lines;
+    }
+}
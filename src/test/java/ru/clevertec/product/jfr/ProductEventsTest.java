@@ -0,0 +1,109 @@
+package ru.clevertec.product.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.clevertec.product.util.TestConstant.INVALID_TEXT_VALUE;
+import static ru.clevertec.product.util.TestConstant.PRODUCT_INCORRECT_UUID;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.clevertec.product.data.ProductDto;
+import ru.clevertec.product.exception.ProductNotFoundException;
+import ru.clevertec.product.exception.ValidationException;
+import ru.clevertec.product.mapper.ProductMapperImpl;
+import ru.clevertec.product.repository.impl.InMemoryProductRepository;
+import ru.clevertec.product.service.ProductService;
+import ru.clevertec.product.service.impl.ProductServiceImpl;
+import ru.clevertec.product.util.ProductTestBuilder;
+
+class ProductEventsTest {
+
+    private static final String SERVICE_OPERATION = "ru.clevertec.product.ServiceOperation";
+    private static final String REPOSITORY_OPERATION = "ru.clevertec.product.RepositoryOperation";
+    private static final String VALIDATION_FAILURE = "ru.clevertec.product.ValidationFailure";
+
+    @TempDir
+    Path directory;
+
+    private final ProductService productService = new ProductServiceImpl(new ProductMapperImpl(),
+            new InMemoryProductRepository());
+    private final ProductDto productDto = ProductTestBuilder.builder().build()
+            .buildProductDto();
+
+    @Test
+    void serviceShouldEmitOperationEvents_whenEventsEnabled() throws IOException {
+        UUID uuid;
+        try (Recording recording = new Recording()) {
+            recording.enable(SERVICE_OPERATION).withoutThreshold();
+            recording.enable(REPOSITORY_OPERATION).withoutThreshold();
+            recording.start();
+            uuid = productService.create(productDto);
+            productService.get(uuid);
+            assertThrows(ProductNotFoundException.class, () -> productService.get(PRODUCT_INCORRECT_UUID));
+            recording.stop();
+
+            List<RecordedEvent> events = read(recording);
+
+            assertThat(events)
+                    .filteredOn(event -> event.getEventType().getName().equals(SERVICE_OPERATION))
+                    .extracting(event -> event.getString("operation"), event -> event.getString("uuid"),
+                            event -> event.getString("failure"))
+                    .containsExactly(
+                            tuple("create", uuid.toString(), null),
+                            tuple("get", uuid.toString(), null),
+                            tuple("get", PRODUCT_INCORRECT_UUID.toString(),
+                                    ProductNotFoundException.class.getName()));
+            assertThat(events)
+                    .filteredOn(event -> event.getEventType().getName().equals(REPOSITORY_OPERATION))
+                    .extracting(event -> event.getString("operation"))
+                    .containsExactly("save", "findById", "findById");
+        }
+    }
+
+    @Test
+    void validatorShouldEmitFailureReasons_whenEventEnabled() throws IOException {
+        ProductDto invalid = ProductTestBuilder.builder()
+                .withName(INVALID_TEXT_VALUE).build()
+                .buildProductDto();
+        try (Recording recording = new Recording()) {
+            recording.enable(VALIDATION_FAILURE);
+            recording.start();
+            assertThrows(ValidationException.class, () -> productService.create(invalid));
+            recording.stop();
+
+            List<RecordedEvent> events = read(recording);
+
+            assertThat(events)
+                    .singleElement()
+                    .satisfies(event -> assertThat(event.getString("errors")).contains("incorrect product name"));
+        }
+    }
+
+    @Test
+    void eventsShouldNotBeRecorded_whenNotEnabled() throws IOException {
+        try (Recording recording = new Recording()) {
+            recording.start();
+            productService.get(productService.create(productDto));
+            recording.stop();
+
+            List<RecordedEvent> events = read(recording);
+
+            assertThat(events)
+                    .noneMatch(event -> event.getEventType().getName().startsWith("ru.clevertec.product."));
+        }
+    }
+
+    private List<RecordedEvent> read(Recording recording) throws IOException {
+        Path file = directory.resolve(UUID.randomUUID() + ".jfr");
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file);
+    }
+}
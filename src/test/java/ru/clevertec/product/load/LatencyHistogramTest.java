@@ -0,0 +1,99 @@
+package ru.clevertec.product.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class LatencyHistogramTest {
+
+    private static final int VALUES = 100_000;
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    @Nested
+    class PercentileTest {
+
+        @ParameterizedTest
+        @ValueSource(doubles = {1, 50, 90, 99, 99.9, 100})
+        void percentileShouldBeWithinOneSixteenth_whenValuesAreUniform(double percentile) {
+            LongStream.rangeClosed(1, VALUES)
+                    .forEach(histogram::record);
+            long exact = (long) Math.ceil(VALUES * percentile / 100);
+
+            long actual = histogram.percentile(percentile);
+
+            assertThat(actual).isBetween(exact, exact + exact / 16);
+        }
+
+        @Test
+        void percentileShouldBeWithinOneSixteenth_whenValuesSpanManyMagnitudes() {
+            long[] values = LongStream.range(0, 32)
+                    .map(shift -> (1L << shift) + shift)
+                    .toArray();
+            LongStream.of(values)
+                    .forEach(histogram::record);
+
+            for (int i = 0; i < values.length; i++) {
+                double percentile = (i + 1) * 100.0 / values.length;
+                assertThat(histogram.percentile(percentile)).isBetween(values[i], values[i] + values[i] / 16);
+            }
+        }
+
+        @Test
+        void percentileShouldReturnExactValue_whenValueBelowSixteen() {
+            histogram.record(7);
+
+            assertEquals(7, histogram.percentile(50));
+        }
+
+        @Test
+        void percentileShouldReturnZero_whenHistogramIsEmpty() {
+            assertEquals(0, histogram.percentile(99));
+        }
+
+        @Test
+        void percentileShouldCountAllValues_whenDrainedFromOtherHistogram() {
+            LatencyHistogram other = new LatencyHistogram();
+            other.record(1_000);
+            histogram.record(10);
+
+            histogram.drainFrom(other);
+
+            assertEquals(2, histogram.count());
+            assertEquals(0, other.count());
+            assertThat(histogram.percentile(100)).isBetween(1_000L, 1_000L + 1_000 / 16);
+        }
+    }
+
+    @Nested
+    class BucketTest {
+
+        @Test
+        void indexShouldRoundTripUpperBound_whenAtBucketEdges() {
+            int last = LatencyHistogram.index(Long.MAX_VALUE);
+
+            for (int index = 0; index < last; index++) {
+                long upper = LatencyHistogram.upperBound(index);
+                assertEquals(index, LatencyHistogram.index(upper), "upper bound of bucket " + index);
+                assertEquals(index + 1, LatencyHistogram.index(upper + 1), "lower bound of bucket " + (index + 1));
+            }
+            assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBound(last));
+        }
+
+        @Test
+        void upperBoundShouldExceedLowerBoundByAtMostOneSixteenth_whenAboveSixteen() {
+            int last = LatencyHistogram.index(Long.MAX_VALUE);
+
+            for (int index = 16; index <= last; index++) {
+                long lower = LatencyHistogram.upperBound(index - 1) + 1;
+                long upper = LatencyHistogram.upperBound(index);
+                assertThat(upper - lower).isLessThan(lower / 16);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package ru.clevertec.product.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ZipfianGeneratorTest {
+
+    private static final int ITEMS = 1_000;
+    private static final int SAMPLES = 200_000;
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.5, 0.8, 0.99})
+    void nextShouldReturnRankZeroWithProbabilityOfInverseZeta_whenSampledManyTimes(double theta) {
+        ZipfianGenerator generator = new ZipfianGenerator(ITEMS, theta);
+
+        long zeros = IntStream.range(0, SAMPLES)
+                .filter(i -> generator.next() == 0)
+                .count();
+
+        assertThat((double) zeros / SAMPLES).isCloseTo(1 / zeta(ITEMS, theta), within(0.01));
+    }
+
+    @Test
+    void nextShouldStayWithinItems_whenSampledManyTimes() {
+        ZipfianGenerator generator = new ZipfianGenerator(ITEMS, 0.99);
+
+        assertThat(IntStream.range(0, SAMPLES)
+                .map(i -> generator.next()))
+                .allMatch(key -> key >= 0 && key < ITEMS);
+    }
+
+    @Test
+    void nextShouldPreferLowerRanks_whenThetaIsHigh() {
+        ZipfianGenerator generator = new ZipfianGenerator(ITEMS, 0.99);
+        int[] counts = new int[ITEMS];
+
+        IntStream.range(0, SAMPLES)
+                .forEach(i -> counts[generator.next()]++);
+
+        assertThat(counts[0]).isGreaterThan(counts[1]);
+        assertThat(counts[1]).isGreaterThan(counts[ITEMS / 2]);
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0, 1, -0.5})
+    void constructorShouldThrowIllegalArgumentException_whenThetaOutOfRange(double theta) {
+        assertThrows(IllegalArgumentException.class, () -> new ZipfianGenerator(ITEMS, theta));
+    }
+
+    @Test
+    void constructorShouldThrowIllegalArgumentException_whenItemsNotPositive() {
+        assertThrows(IllegalArgumentException.class, () -> new ZipfianGenerator(0, 0.99));
+    }
+
+    private static double zeta(int n, double theta) {
+        double sum = 0;
+        for (int i = 1; i <= n; i++) {
+            sum += 1 / Math.pow(i, theta);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,52 @@
+package ru.clevertec.product.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.clevertec.product.util.TestConstant.PRODUCT_CREATED_DATE;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.util.ProductTestBuilder;
+
+class CriterionTest {
+
+    private final Product product = ProductTestBuilder.builder().build()
+            .buildProduct();
+
+    @Test
+    void testShouldMatchProduct_whenAllFieldConditionsHold() {
+        Criterion criterion = Criterion.nameStartsWith("Плюм")
+                .and(Criterion.descriptionContains("универсальное"))
+                .and(Criterion.priceBetween(BigDecimal.ONE, BigDecimal.TEN))
+                .and(Criterion.createdBetween(PRODUCT_CREATED_DATE, PRODUCT_CREATED_DATE.plusDays(1)));
+
+        assertTrue(criterion.test(product));
+    }
+
+    @Test
+    void testShouldNotMatchProduct_whenCreatedAtExclusiveUpperBound() {
+        Criterion criterion = Criterion.createdBetween(null, PRODUCT_CREATED_DATE);
+
+        assertFalse(criterion.test(product));
+    }
+
+    @Test
+    void testShouldCombineAlternatives_whenOrAndNegateUsed() {
+        Criterion criterion = Criterion.nameStartsWith("Портал")
+                .or(Criterion.priceBetween(null, BigDecimal.ONE).negate());
+
+        assertTrue(criterion.test(product));
+    }
+
+    @Test
+    void andShouldFlattenConjuncts_whenChained() {
+        Criterion criterion = Criterion.nameStartsWith("Плюм")
+                .and(Criterion.priceBetween(BigDecimal.ONE, null))
+                .and(Criterion.descriptionContains("это"));
+
+        assertThat(criterion)
+                .isInstanceOfSatisfying(Criterion.And.class, and -> assertThat(and.criteria()).hasSize(3));
+    }
+}
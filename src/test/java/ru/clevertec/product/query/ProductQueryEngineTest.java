@@ -0,0 +1,172 @@
+package ru.clevertec.product.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static ru.clevertec.product.util.TestConstant.PRODUCT_CREATED_DATE;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.repository.impl.InMemoryProductRepository;
+import ru.clevertec.product.util.ProductTestBuilder;
+
+@ExtendWith(MockitoExtension.class)
+class ProductQueryEngineTest {
+
+    private static final int PRODUCTS = 1000;
+    private static final String[] NAMES = {"Плюмбус", "Плюмбусик", "Портал", "Шлепа"};
+
+    private final InMemoryProductRepository productRepository = new InMemoryProductRepository();
+    private final Criterion cheapPlumbusThisWeek = Criterion.nameStartsWith("Плюм")
+            .and(Criterion.createdBetween(PRODUCT_CREATED_DATE.minusWeeks(1), PRODUCT_CREATED_DATE));
+    private final ProductQuery cheapest = ProductQuery.where(cheapPlumbusThisWeek)
+            .orderBy(ProductSort.asc(ProductSort.Field.PRICE))
+            .limit(20);
+
+    @Mock
+    private ProductIndex createdIndex;
+
+    @Mock
+    private ProductIndex nameIndex;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        IntStream.range(0, PRODUCTS)
+                .mapToObj(i -> ProductTestBuilder.builder()
+                        .withUuid(UUID.randomUUID())
+                        .withName(NAMES[random.nextInt(NAMES.length)])
+                        .withPrice(BigDecimal.valueOf(1 + random.nextInt(100)))
+                        .withCreated(PRODUCT_CREATED_DATE.minusDays(random.nextInt(30))).build()
+                        .buildProduct())
+                .forEach(productRepository::save);
+    }
+
+    @Nested
+    class ExecuteTest {
+
+        @Test
+        void executeShouldReturnSameResultAsFullSort_whenTopKQueried() {
+            ProductQueryEngine engine = new ProductQueryEngine(productRepository);
+            List<Product> expected = productRepository.findAll().stream()
+                    .filter(cheapPlumbusThisWeek::test)
+                    .sorted(ProductSort.asc(ProductSort.Field.PRICE).comparator())
+                    .limit(20)
+                    .toList();
+
+            List<Product> actual = engine.execute(cheapest);
+
+            assertThat(actual).containsExactlyElementsOf(expected);
+        }
+
+        @Test
+        void executeShouldSortDescending_whenDescendingSortRequested() {
+            ProductQueryEngine engine = new ProductQueryEngine(productRepository);
+
+            List<Product> actual = engine.execute(ProductQuery.all()
+                    .orderBy(ProductSort.desc(ProductSort.Field.CREATED))
+                    .limit(5));
+
+            assertThat(actual)
+                    .hasSize(5)
+                    .isSortedAccordingTo(Comparator.comparing(Product::getCreated).reversed());
+        }
+
+        @Test
+        void executeShouldReturnAllMatches_whenNotLimited() {
+            ProductQueryEngine engine = new ProductQueryEngine(productRepository);
+            long expected = productRepository.findAll().stream()
+                    .filter(cheapPlumbusThisWeek::test)
+                    .count();
+
+            List<Product> actual = engine.execute(ProductQuery.where(cheapPlumbusThisWeek));
+
+            assertThat(actual)
+                    .hasSize((int) expected)
+                    .allMatch(cheapPlumbusThisWeek::test);
+        }
+
+        @Test
+        void executeShouldFilterIndexCandidates_whenIndexReturnsSuperset() {
+            when(createdIndex.estimate(any()))
+                    .thenReturn(-1L);
+            when(createdIndex.estimate(any(Criterion.CreatedBetween.class)))
+                    .thenReturn(10L);
+            doAnswer(invocation -> {
+                Consumer<Product> action = invocation.getArgument(1);
+                productRepository.findAll().forEach(action);
+                return null;
+            }).when(createdIndex).forEachCandidate(any(), any());
+            ProductQueryEngine engine = new ProductQueryEngine(productRepository, List.of(createdIndex));
+            List<Product> expected = new ProductQueryEngine(productRepository).execute(cheapest);
+
+            List<Product> actual = engine.execute(cheapest);
+
+            assertThat(actual).containsExactlyElementsOf(expected);
+        }
+
+        @Test
+        void executeShouldReturnEmptyList_whenLimitIsZero() {
+            ProductQueryEngine engine = new ProductQueryEngine(productRepository);
+
+            List<Product> actual = engine.execute(cheapest.limit(0));
+
+            assertThat(actual).isEmpty();
+        }
+    }
+
+    @Nested
+    class PlanTest {
+
+        @Test
+        void planShouldChooseFullScan_whenNoIndexSupportsCriterion() {
+            ProductQueryEngine engine = new ProductQueryEngine(productRepository);
+
+            QueryPlan actual = engine.plan(cheapest);
+
+            assertThat(actual.isFullScan()).isTrue();
+            assertThat(actual.topK()).isTrue();
+        }
+
+        @Test
+        void planShouldChooseMostSelectiveIndex_whenSeveralIndexesApply() {
+            when(createdIndex.estimate(any()))
+                    .thenReturn(-1L);
+            when(createdIndex.estimate(any(Criterion.CreatedBetween.class)))
+                    .thenReturn(50L);
+            when(nameIndex.estimate(any()))
+                    .thenReturn(-1L);
+            when(nameIndex.estimate(any(Criterion.NameStartsWith.class)))
+                    .thenReturn(500L);
+            ProductQueryEngine engine = new ProductQueryEngine(productRepository, List.of(nameIndex, createdIndex));
+
+            QueryPlan actual = engine.plan(cheapest);
+
+            assertThat(actual.index()).isSameAs(createdIndex);
+            assertThat(actual.indexCriterion()).isInstanceOf(Criterion.CreatedBetween.class);
+            assertThat(actual.estimate()).isEqualTo(50);
+        }
+
+        @Test
+        void planShouldNotUseTopK_whenQueryIsUnsorted() {
+            ProductQueryEngine engine = new ProductQueryEngine(productRepository);
+
+            QueryPlan actual = engine.plan(ProductQuery.where(cheapPlumbusThisWeek).limit(10));
+
+            assertThat(actual.topK()).isFalse();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package ru.clevertec.product.repository.bounded;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.clevertec.product.util.TestConstant.PRODUCT_CREATED_DATE;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.util.ProductTestBuilder;
+
+class EvictionPolicyTest {
+
+    private final Product first = product(PRODUCT_CREATED_DATE.plusHours(2));
+    private final Product second = product(PRODUCT_CREATED_DATE);
+    private final Product third = product(PRODUCT_CREATED_DATE.plusHours(1));
+
+    @Test
+    void victimShouldReturnNull_whenNothingTracked() {
+        assertThat(EvictionPolicy.lru().victim()).isNull();
+        assertThat(EvictionPolicy.lfu().victim()).isNull();
+        assertThat(EvictionPolicy.oldestCreated().victim()).isNull();
+    }
+
+    @Nested
+    class LruTest {
+
+        private final EvictionPolicy policy = EvictionPolicy.lru();
+
+        @Test
+        void victimShouldReturnLeastRecentlyAccessed_whenAccessed() {
+            addAll(policy);
+
+            policy.accessed(first);
+
+            assertThat(policy.victim()).isEqualTo(second.getUuid());
+        }
+
+        @Test
+        void victimShouldSkipRemoved_whenOldestRemoved() {
+            addAll(policy);
+
+            policy.removed(first);
+
+            assertThat(policy.victim()).isEqualTo(second.getUuid());
+        }
+    }
+
+    @Nested
+    class LfuTest {
+
+        private final EvictionPolicy policy = EvictionPolicy.lfu();
+
+        @Test
+        void victimShouldReturnLeastFrequentlyAccessed_whenAccessed() {
+            addAll(policy);
+
+            policy.accessed(first);
+            policy.accessed(first);
+            policy.accessed(second);
+
+            assertThat(policy.victim()).isEqualTo(third.getUuid());
+        }
+
+        @Test
+        void victimShouldPreferEarliest_whenFrequenciesEqual() {
+            addAll(policy);
+
+            policy.accessed(first);
+            policy.accessed(second);
+            policy.accessed(third);
+
+            assertThat(policy.victim()).isEqualTo(first.getUuid());
+        }
+
+        @Test
+        void victimShouldFindNextFrequency_whenLeastFrequentRemoved() {
+            addAll(policy);
+            policy.accessed(first);
+            policy.accessed(first);
+            policy.accessed(second);
+            policy.accessed(second);
+            policy.accessed(second);
+
+            policy.removed(third);
+
+            assertThat(policy.victim()).isEqualTo(first.getUuid());
+        }
+
+        @Test
+        void victimShouldKeepFrequency_whenReplaced() {
+            addAll(policy);
+            policy.accessed(first);
+            policy.accessed(third);
+
+            policy.replaced(second, second);
+
+            assertThat(policy.victim()).isEqualTo(first.getUuid());
+        }
+    }
+
+    @Nested
+    class OldestCreatedTest {
+
+        private final EvictionPolicy policy = EvictionPolicy.oldestCreated();
+
+        @Test
+        void victimShouldReturnEarliestCreated_whenAccessed() {
+            addAll(policy);
+
+            policy.accessed(second);
+
+            assertThat(policy.victim()).isEqualTo(second.getUuid());
+        }
+
+        @Test
+        void victimShouldFollowNewCreated_whenReplaced() {
+            addAll(policy);
+            Product updated = product(PRODUCT_CREATED_DATE.plusDays(1));
+            updated.setUuid(second.getUuid());
+
+            policy.replaced(second, updated);
+
+            assertThat(policy.victim()).isEqualTo(third.getUuid());
+        }
+    }
+
+    private void addAll(EvictionPolicy policy) {
+        policy.added(first);
+        policy.added(second);
+        policy.added(third);
+    }
+
+    private static Product product(LocalDateTime created) {
+        return ProductTestBuilder.builder()
+                .withUuid(UUID.randomUUID())
+                .withCreated(created).build()
+                .buildProduct();
+    }
+}
@@ -0,0 +1,68 @@
+package ru.clevertec.product.repository.bounded;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import org.junit.jupiter.api.Test;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.util.ProductTestBuilder;
+
+class ProductSizeEstimatorTest {
+
+    private final ProductSizeEstimator estimator = new ProductSizeEstimator();
+
+    @Test
+    void estimateShouldCountTwoBytesPerChar_whenNameIsCyrillic() {
+        Product cyrillic = ProductTestBuilder.builder()
+                .withName("Плюмбусы").build()
+                .buildProduct();
+        Product latin = ProductTestBuilder.builder()
+                .withName("Plumbuss").build()
+                .buildProduct();
+
+        long actual = estimator.estimate(cyrillic) - estimator.estimate(latin);
+
+        assertThat(actual).isEqualTo(8);
+    }
+
+    @Test
+    void estimateShouldGrowWithName_whenNameLonger() {
+        Product shorter = ProductTestBuilder.builder()
+                .withName("Шлепа").build()
+                .buildProduct();
+        Product longer = ProductTestBuilder.builder()
+                .withName("Шлепашлепа").build()
+                .buildProduct();
+
+        assertThat(estimator.estimate(longer)).isGreaterThan(estimator.estimate(shorter));
+    }
+
+    @Test
+    void estimateShouldCountBigInteger_whenPriceDoesNotFitLong() {
+        Product compact = ProductTestBuilder.builder().build()
+                .buildProduct();
+        Product inflated = ProductTestBuilder.builder()
+                .withPrice(new BigDecimal(BigInteger.TWO.pow(100), 2)).build()
+                .buildProduct();
+
+        assertThat(estimator.estimate(inflated)).isGreaterThan(estimator.estimate(compact));
+    }
+
+    @Test
+    void estimateShouldSkipMissingFields_whenFieldsAreNull() {
+        Product full = ProductTestBuilder.builder().build()
+                .buildProduct();
+        Product empty = ProductTestBuilder.builder()
+                .withUuid(null)
+                .withName(null)
+                .withDescription(null)
+                .withPrice(null)
+                .withCreated(null).build()
+                .buildProduct();
+
+        assertThat(estimator.estimate(empty))
+                .isPositive()
+                .isLessThan(estimator.estimate(full));
+    }
+}
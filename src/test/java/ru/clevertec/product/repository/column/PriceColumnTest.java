@@ -0,0 +1,135 @@
+package ru.clevertec.product.repository.column;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.util.ProductTestBuilder;
+
+class PriceColumnTest {
+
+    private final PriceColumn priceColumn = new PriceColumn();
+
+    @Test
+    void betweenShouldRoundBoundsInward_whenBoundsHaveFractionsOfKopeck() {
+        Product cheap = put("10.00");
+        Product expensive = put("10.01");
+
+        assertThat(priceColumn.between(new BigDecimal("10.001"), new BigDecimal("10.019")))
+                .containsExactly(expensive);
+        assertThat(priceColumn.between(new BigDecimal("9.999"), new BigDecimal("10.009")))
+                .containsExactly(cheap);
+    }
+
+    @Test
+    void betweenShouldCompareAsBigDecimal_whenPriceNotRepresentableInKopecks() {
+        Product irregular = put("10.005");
+        put("10.01");
+
+        assertThat(priceColumn.between(new BigDecimal("10.001"), new BigDecimal("10.009")))
+                .containsExactly(irregular);
+    }
+
+    @Test
+    void betweenShouldReturnEmptyList_whenMinGreaterThanMax() {
+        put("10.00");
+
+        assertThat(priceColumn.between(BigDecimal.TEN, BigDecimal.ONE)).isEmpty();
+    }
+
+    @Test
+    void putShouldReuseRow_whenProductRemoved() {
+        Product removed = put("1.00");
+        priceColumn.remove(removed.getUuid());
+
+        Product added = put("1.00");
+
+        assertThat(priceColumn.between(BigDecimal.ONE, BigDecimal.ONE)).containsExactly(added);
+        assertThat(priceColumn.size()).isEqualTo(1);
+    }
+
+    @Test
+    void putShouldMoveProductToColumn_whenIrregularPriceBecomesRegular() {
+        Product product = put("1.005");
+        product.setPrice(BigDecimal.ONE);
+
+        priceColumn.put(product);
+
+        assertThat(priceColumn.between(BigDecimal.ZERO, BigDecimal.TEN)).containsExactly(product);
+        assertThat(priceColumn.size()).isEqualTo(1);
+    }
+
+    @Nested
+    class ScannerTest {
+
+        @Test
+        void vectorScanShouldMatchScalarScan_whenVectorApiAvailable() {
+            assumeTrue(PriceScanner.isVectorAvailable());
+            Random random = new Random(42);
+            long[] prices = random.longs(1003, 0, 1000).toArray();
+            int[] scalarRows = new int[prices.length];
+            int[] vectorRows = new int[prices.length];
+
+            int scalarCount = PriceScanner.scalar().scan(prices, prices.length, 100, 400, scalarRows);
+            int vectorCount = PriceScanner.vector().scan(prices, prices.length, 100, 400, vectorRows);
+
+            assertThat(vectorCount).isEqualTo(scalarCount);
+            assertThat(Arrays.copyOf(vectorRows, vectorCount)).containsExactly(Arrays.copyOf(scalarRows, scalarCount));
+        }
+
+        @Test
+        void adaptiveScanShouldUseSelectiveScanner_whenRangeIsNarrow() {
+            PriceScanner selective = mock(PriceScanner.class);
+            PriceScanner dense = mock(PriceScanner.class);
+            long[] prices = new Random(42).longs(10_000, 0, 10_000).toArray();
+
+            new AdaptivePriceScanner(selective, dense).scan(prices, prices.length, 0, 10, new int[prices.length]);
+
+            verify(selective).scan(any(), anyInt(), anyLong(), anyLong(), any());
+            verify(dense, never()).scan(any(), anyInt(), anyLong(), anyLong(), any());
+        }
+
+        @Test
+        void adaptiveScanShouldUseDenseScanner_whenRangeIsWide() {
+            PriceScanner selective = mock(PriceScanner.class);
+            PriceScanner dense = mock(PriceScanner.class);
+            long[] prices = new Random(42).longs(10_000, 0, 10_000).toArray();
+
+            new AdaptivePriceScanner(selective, dense).scan(prices, prices.length, 0, 5_000, new int[prices.length]);
+
+            verify(dense).scan(any(), anyInt(), anyLong(), anyLong(), any());
+            verify(selective, never()).scan(any(), anyInt(), anyLong(), anyLong(), any());
+        }
+
+        @Test
+        void scalarScanShouldReturnAscendingRows_whenRangeMatches() {
+            long[] prices = {5, 1, 3, 9, 3};
+            int[] rows = new int[prices.length];
+
+            int count = PriceScanner.scalar().scan(prices, prices.length, 3, 5, rows);
+
+            assertThat(Arrays.copyOf(rows, count)).containsExactly(0, 2, 4);
+        }
+    }
+
+    private Product put(String price) {
+        Product product = ProductTestBuilder.builder()
+                .withUuid(UUID.randomUUID())
+                .withPrice(new BigDecimal(price)).build()
+                .buildProduct();
+        priceColumn.put(product);
+        return product;
+    }
+}
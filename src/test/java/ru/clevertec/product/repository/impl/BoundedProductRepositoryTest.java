@@ -0,0 +1,170 @@
+package ru.clevertec.product.repository.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.clevertec.product.util.TestConstant.INVALID_TEXT_VALUE;
+import static ru.clevertec.product.util.TestConstant.NEW_PRODUCT_PRICE;
+import static ru.clevertec.product.util.TestConstant.PRODUCT_CREATED_DATE;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.exception.ValidationException;
+import ru.clevertec.product.repository.bounded.BoundedStats;
+import ru.clevertec.product.repository.bounded.EvictionPolicy;
+import ru.clevertec.product.repository.bounded.ProductSizeEstimator;
+import ru.clevertec.product.util.ProductTestBuilder;
+
+class BoundedProductRepositoryTest {
+
+    private static final ProductSizeEstimator ESTIMATOR = new ProductSizeEstimator();
+    private static final long PRODUCT_BYTES = ESTIMATOR.estimate(ProductTestBuilder.builder().build()
+            .buildProduct());
+    private static final long BUDGET = 3 * PRODUCT_BYTES;
+
+    private final List<Product> evicted = new ArrayList<>();
+
+    @Nested
+    class EvictionTest {
+
+        @Test
+        void saveShouldEvictLeastRecentlyUsed_whenLruBudgetExceeded() {
+            BoundedProductRepository repository = repository(EvictionPolicy.lru());
+            Product first = repository.save(product(PRODUCT_CREATED_DATE));
+            Product second = repository.save(product(PRODUCT_CREATED_DATE));
+            repository.save(product(PRODUCT_CREATED_DATE));
+            repository.findById(first.getUuid());
+
+            repository.save(product(PRODUCT_CREATED_DATE));
+
+            assertThat(evicted).containsExactly(second);
+            assertThat(repository.findById(second.getUuid())).isEmpty();
+            assertThat(repository.findById(first.getUuid())).contains(first);
+        }
+
+        @Test
+        void saveShouldEvictLeastFrequentlyUsed_whenLfuBudgetExceeded() {
+            BoundedProductRepository repository = repository(EvictionPolicy.lfu());
+            Product first = repository.save(product(PRODUCT_CREATED_DATE));
+            Product second = repository.save(product(PRODUCT_CREATED_DATE));
+            Product third = repository.save(product(PRODUCT_CREATED_DATE));
+            repository.findById(first.getUuid());
+            repository.findById(first.getUuid());
+            repository.findById(second.getUuid());
+
+            repository.save(product(PRODUCT_CREATED_DATE));
+
+            assertThat(evicted).containsExactly(third);
+        }
+
+        @Test
+        void saveShouldEvictOldestCreated_whenOldestCreatedBudgetExceeded() {
+            BoundedProductRepository repository = repository(EvictionPolicy.oldestCreated());
+            repository.save(product(PRODUCT_CREATED_DATE.plusHours(2)));
+            Product oldest = repository.save(product(PRODUCT_CREATED_DATE));
+            repository.save(product(PRODUCT_CREATED_DATE.plusHours(1)));
+
+            repository.save(product(PRODUCT_CREATED_DATE.plusHours(3)));
+
+            assertThat(evicted).containsExactly(oldest);
+        }
+
+        @Test
+        void saveAllShouldKeepUsedBytesWithinBudget_whenBatchExceedsBudget() {
+            BoundedProductRepository repository = repository(EvictionPolicy.lru());
+            List<Product> batch = List.of(product(PRODUCT_CREATED_DATE), product(PRODUCT_CREATED_DATE),
+                    product(PRODUCT_CREATED_DATE), product(PRODUCT_CREATED_DATE), product(PRODUCT_CREATED_DATE));
+
+            repository.saveAll(batch);
+
+            BoundedStats stats = repository.stats();
+            assertThat(evicted).containsExactly(batch.get(0), batch.get(1));
+            assertThat(stats.size()).isEqualTo(3);
+            assertThat(stats.usedBytes()).isEqualTo(BUDGET);
+            assertThat(stats.evictions()).isEqualTo(2);
+            assertThat(stats.evictedBytes()).isEqualTo(2 * PRODUCT_BYTES);
+        }
+
+        @Test
+        void saveShouldNotStoreProduct_whenProductExceedsBudget() {
+            BoundedProductRepository repository = new BoundedProductRepository(PRODUCT_BYTES - 1,
+                    EvictionPolicy.lru(), ESTIMATOR, (product, bytes) -> evicted.add(product));
+            Product product = product(PRODUCT_CREATED_DATE);
+
+            repository.save(product);
+
+            assertThat(evicted).containsExactly(product);
+            assertThat(repository.findAll()).isEmpty();
+            assertThat(repository.stats().usedBytes()).isZero();
+        }
+    }
+
+    @Nested
+    class AccountingTest {
+
+        @Test
+        void saveShouldNotCountTwice_whenSameUuidSaved() {
+            BoundedProductRepository repository = repository(EvictionPolicy.lru());
+            Product product = repository.save(product(PRODUCT_CREATED_DATE));
+            Product updated = ProductTestBuilder.builder()
+                    .withUuid(product.getUuid())
+                    .withPrice(NEW_PRODUCT_PRICE).build()
+                    .buildProduct();
+
+            repository.save(updated);
+
+            assertThat(repository.findAll()).containsExactly(updated);
+            assertThat(repository.stats().usedBytes()).isEqualTo(PRODUCT_BYTES);
+        }
+
+        @Test
+        void deleteShouldReleaseBytes_whenProductStored() {
+            BoundedProductRepository repository = repository(EvictionPolicy.lru());
+            Product product = repository.save(product(PRODUCT_CREATED_DATE));
+
+            repository.delete(product.getUuid());
+
+            assertThat(repository.stats().usedBytes()).isZero();
+            assertThat(evicted).isEmpty();
+        }
+
+        @Test
+        void statsShouldCountHitsAndMisses_whenFindByIdCalled() {
+            BoundedProductRepository repository = repository(EvictionPolicy.lru());
+            Product product = repository.save(product(PRODUCT_CREATED_DATE));
+
+            repository.findById(product.getUuid());
+            repository.findById(UUID.randomUUID());
+
+            BoundedStats stats = repository.stats();
+            assertThat(stats.hits()).isEqualTo(1);
+            assertThat(stats.misses()).isEqualTo(1);
+            assertThat(stats.hitRatio()).isEqualTo(0.5);
+        }
+    }
+
+    @Test
+    void saveShouldThrowValidationException_whenInvalidProductName() {
+        BoundedProductRepository repository = repository(EvictionPolicy.lru());
+        Product product = ProductTestBuilder.builder()
+                .withName(INVALID_TEXT_VALUE).build()
+                .buildProduct();
+
+        assertThrows(ValidationException.class, () -> repository.save(product));
+    }
+
+    private BoundedProductRepository repository(EvictionPolicy policy) {
+        return new BoundedProductRepository(BUDGET, policy, ESTIMATOR, (product, bytes) -> evicted.add(product));
+    }
+
+    private static Product product(LocalDateTime created) {
+        return ProductTestBuilder.builder()
+                .withUuid(UUID.randomUUID())
+                .withCreated(created).build()
+                .buildProduct();
+    }
+}
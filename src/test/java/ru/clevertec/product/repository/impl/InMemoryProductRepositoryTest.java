@@ -7,16 +7,26 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static ru.clevertec.product.util.TestConstant.INVALID_TEXT_VALUE;
+import static ru.clevertec.product.util.TestConstant.NEW_PRODUCT_PRICE;
+import static ru.clevertec.product.util.TestConstant.PRODUCT_CREATED_DATE;
+import static ru.clevertec.product.util.TestConstant.PRODUCT_DESCRIPTION;
 import static ru.clevertec.product.util.TestConstant.PRODUCT_INCORRECT_UUID;
+import static ru.clevertec.product.util.TestConstant.PRODUCT_NAME;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import ru.clevertec.product.entity.Product;
 import ru.clevertec.product.exception.ValidationException;
+import ru.clevertec.product.repository.index.CreatedOrder;
+import ru.clevertec.product.repository.intern.StringPool;
 import ru.clevertec.product.util.ProductTestBuilder;
 
 class InMemoryProductRepositoryTest {
@@ -43,6 +53,21 @@ class InMemoryProductRepositoryTest {
     @Nested
     class SaveTest{
 
+        @Test
+        void saveShouldReplaceStoredProduct_whenUuidAlreadyStored() {
+            Product product = ProductTestBuilder.builder().build()
+                    .buildProduct();
+            inMemoryProductRepository.save(product);
+            Product updated = ProductTestBuilder.builder()
+                    .withPrice(NEW_PRODUCT_PRICE).build()
+                    .buildProduct();
+
+            inMemoryProductRepository.save(updated);
+
+            assertThat(inMemoryProductRepository.findAll())
+                    .containsExactly(updated);
+        }
+
         @Test
         void saveShouldReturnProductWithUuidAndCreated_whenCalled() {
             Product expected = ProductTestBuilder.builder()
@@ -142,6 +167,316 @@ class InMemoryProductRepositoryTest {
         }
     }
 
+    @Test
+    void saveShouldShareEqualStrings_whenProductsHaveEqualNamesAndDescriptions() {
+        Product first = ProductTestBuilder.builder()
+                .withUuid(null)
+                .withName(new String(PRODUCT_NAME))
+                .withDescription(new String(PRODUCT_DESCRIPTION)).build()
+                .buildProduct();
+        Product second = ProductTestBuilder.builder()
+                .withUuid(null)
+                .withName(new String(PRODUCT_NAME))
+                .withDescription(new String(PRODUCT_DESCRIPTION)).build()
+                .buildProduct();
+
+        inMemoryProductRepository.save(first);
+        inMemoryProductRepository.save(second);
+
+        assertThat(second.getName()).isSameAs(first.getName());
+        assertThat(second.getDescription()).isSameAs(first.getDescription());
+        assertThat(inMemoryProductRepository.stringPoolStats().deduplicated()).isEqualTo(2);
+    }
+
+    @Test
+    void saveShouldNotInternStrings_whenProductInvalid() {
+        Product product = ProductTestBuilder.builder()
+                .withPrice(BigDecimal.ZERO).build()
+                .buildProduct();
+
+        assertThrows(ValidationException.class, () -> inMemoryProductRepository.save(product));
+        assertThat(inMemoryProductRepository.stringPoolStats().lookups()).isZero();
+    }
+
+    @Nested
+    class FindCreatedSinceTest {
+
+        @Test
+        void findCreatedSinceShouldReturnProductsInCreationOrder_whenLimited() {
+            for (int hour = 5; hour > 0; hour--) {
+                inMemoryProductRepository.save(productCreatedAt(PRODUCT_CREATED_DATE.plusHours(hour)));
+            }
+
+            List<Product> actual = inMemoryProductRepository.findCreatedSince(PRODUCT_CREATED_DATE.plusHours(2), 2);
+
+            assertThat(actual)
+                    .extracting(Product::getCreated)
+                    .containsExactly(PRODUCT_CREATED_DATE.plusHours(2), PRODUCT_CREATED_DATE.plusHours(3));
+        }
+
+        @Test
+        void findCreatedSinceShouldFollowUpdatedCreated_whenProductResaved() {
+            Product product = inMemoryProductRepository.save(productCreatedAt(PRODUCT_CREATED_DATE));
+            product.setCreated(PRODUCT_CREATED_DATE.plusDays(1));
+
+            inMemoryProductRepository.save(product);
+
+            assertThat(inMemoryProductRepository.findCreatedSince(PRODUCT_CREATED_DATE, 10))
+                    .containsExactly(product);
+        }
+
+        @Test
+        void findCreatedSinceShouldSkipDeletedProducts_whenProductDeleted() {
+            Product product = inMemoryProductRepository.save(productCreatedAt(PRODUCT_CREATED_DATE));
+
+            inMemoryProductRepository.delete(product.getUuid());
+
+            assertThat(inMemoryProductRepository.findCreatedSince(PRODUCT_CREATED_DATE, 10)).isEmpty();
+        }
+
+        @Test
+        void findCreatedSinceShouldMatchDefaultImplementation_whenSavedInBatch() {
+            List<Product> batch = IntStream.range(0, 50)
+                    .mapToObj(i -> productCreatedAt(PRODUCT_CREATED_DATE.plusMinutes(i % 7)))
+                    .toList();
+            inMemoryProductRepository.saveAll(batch);
+            List<Product> expected = batch.stream()
+                    .filter(product -> !product.getCreated().isBefore(PRODUCT_CREATED_DATE.plusMinutes(3)))
+                    .sorted(CreatedOrder.PRODUCTS)
+                    .limit(20)
+                    .toList();
+
+            List<Product> actual = inMemoryProductRepository.findCreatedSince(PRODUCT_CREATED_DATE.plusMinutes(3), 20);
+
+            assertThat(actual).containsExactlyElementsOf(expected);
+        }
+
+        @Test
+        void findCreatedSinceShouldPageThroughEqualCreated_whenCursorIsLastProduct() {
+            List<UUID> uuids = List.of(new UUID(-1, 1), new UUID(1, 1), new UUID(Long.MIN_VALUE, 5),
+                    new UUID(0, -1), new UUID(0, 1));
+            uuids.forEach(uuid -> inMemoryProductRepository.save(ProductTestBuilder.builder()
+                    .withUuid(uuid)
+                    .withCreated(PRODUCT_CREATED_DATE).build()
+                    .buildProduct()));
+            List<Product> actual = new ArrayList<>(inMemoryProductRepository.findCreatedSince(PRODUCT_CREATED_DATE, 2));
+
+            while (actual.size() < uuids.size()) {
+                Product last = actual.get(actual.size() - 1);
+                List<Product> page = inMemoryProductRepository.findCreatedSince(last.getCreated(), last.getUuid(), 2);
+                assertThat(page).isNotEmpty();
+                actual.addAll(page);
+            }
+
+            assertThat(actual)
+                    .extracting(Product::getUuid)
+                    .containsExactly(new UUID(0, 1), new UUID(0, -1), new UUID(1, 1), new UUID(Long.MIN_VALUE, 5),
+                            new UUID(-1, 1));
+        }
+
+        private Product productCreatedAt(LocalDateTime created) {
+            return ProductTestBuilder.builder()
+                    .withUuid(UUID.randomUUID())
+                    .withCreated(created).build()
+                    .buildProduct();
+        }
+    }
+
+    @Nested
+    class FindByPriceBetweenTest {
+
+        @Test
+        void findByPriceBetweenShouldReturnProductsWithinInclusiveBounds_whenCalled() {
+            List<Product> saved = IntStream.rangeClosed(1, 5)
+                    .mapToObj(i -> productPriced(BigDecimal.valueOf(i)))
+                    .map(inMemoryProductRepository::save)
+                    .toList();
+
+            List<Product> actual = inMemoryProductRepository.findByPriceBetween(BigDecimal.TWO, BigDecimal.valueOf(4));
+
+            assertThat(actual).containsExactlyInAnyOrder(saved.get(1), saved.get(2), saved.get(3));
+        }
+
+        @Test
+        void findByPriceBetweenShouldFollowUpdatedPrice_whenProductResaved() {
+            Product product = inMemoryProductRepository.save(productPriced(BigDecimal.ONE));
+            product.setPrice(NEW_PRODUCT_PRICE);
+
+            inMemoryProductRepository.save(product);
+
+            assertThat(inMemoryProductRepository.findByPriceBetween(BigDecimal.ONE, BigDecimal.ONE)).isEmpty();
+            assertThat(inMemoryProductRepository.findByPriceBetween(NEW_PRODUCT_PRICE, NEW_PRODUCT_PRICE))
+                    .containsExactly(product);
+        }
+
+        @Test
+        void findByPriceBetweenShouldSkipDeletedProducts_whenProductDeleted() {
+            Product product = inMemoryProductRepository.save(productPriced(BigDecimal.ONE));
+
+            inMemoryProductRepository.delete(product.getUuid());
+
+            assertThat(inMemoryProductRepository.findByPriceBetween(BigDecimal.ZERO, BigDecimal.TEN)).isEmpty();
+        }
+
+        private Product productPriced(BigDecimal price) {
+            return ProductTestBuilder.builder()
+                    .withUuid(UUID.randomUUID())
+                    .withPrice(price).build()
+                    .buildProduct();
+        }
+    }
+
+    @Nested
+    class DeleteTest {
+
+        private static final int PRODUCTS = 200;
+        private static final long TIMEOUT_NANOS = 5_000_000_000L;
+
+        @Test
+        void deleteShouldLeaveTombstoneSkippedByReaders_whenProductDeleted() {
+            List<Product> products = saveProducts(PRODUCTS);
+            Product deleted = products.get(PRODUCTS / 2);
+
+            inMemoryProductRepository.delete(deleted.getUuid());
+
+            assertThat(inMemoryProductRepository.findById(deleted.getUuid())).isEmpty();
+            assertThat(inMemoryProductRepository.findAll())
+                    .hasSize(PRODUCTS - 1)
+                    .doesNotContain(deleted);
+            assertThat(inMemoryProductRepository.fragmentation()).isEqualTo(1.0 / PRODUCTS);
+        }
+
+        @Test
+        void compactShouldReclaimTombstonesAndKeepOrder_whenCalled() {
+            List<Product> products = saveProducts(PRODUCTS);
+            IntStream.range(0, PRODUCTS)
+                    .filter(i -> i % 3 == 0)
+                    .forEach(i -> inMemoryProductRepository.delete(products.get(i).getUuid()));
+            List<Product> expected = inMemoryProductRepository.findAll();
+            long version = inMemoryProductRepository.version();
+
+            inMemoryProductRepository.compact();
+
+            assertThat(inMemoryProductRepository.fragmentation()).isZero();
+            assertThat(inMemoryProductRepository.version()).isEqualTo(version);
+            assertThat(inMemoryProductRepository.findAll()).containsExactlyElementsOf(expected);
+        }
+
+        @Test
+        void saveShouldReplaceInPlace_whenProductResavedAfterCompaction() {
+            List<Product> products = saveProducts(PRODUCTS);
+            inMemoryProductRepository.delete(products.get(0).getUuid());
+            inMemoryProductRepository.compact();
+            Product updated = products.get(1);
+            updated.setPrice(NEW_PRODUCT_PRICE);
+
+            inMemoryProductRepository.save(updated);
+
+            assertThat(inMemoryProductRepository.findAll())
+                    .hasSize(PRODUCTS - 1)
+                    .first()
+                    .isSameAs(updated);
+        }
+
+        @Test
+        void deleteShouldCompactInBackground_whenThresholdCrossed() {
+            InMemoryProductRepository repository = new InMemoryProductRepository(new StringPool(16), 0.5);
+            List<Product> products = repository.saveAll(newProducts(PRODUCTS));
+
+            products.subList(0, PRODUCTS / 2).forEach(product -> repository.delete(product.getUuid()));
+
+            assertThat(await(() -> repository.compactions() > 0)).isTrue();
+            assertThat(repository.fragmentation()).isZero();
+            assertThat(repository.findAll()).containsExactlyElementsOf(products.subList(PRODUCTS / 2, PRODUCTS));
+        }
+
+        @Test
+        void deleteShouldNotCompact_whenBelowThreshold() {
+            List<Product> products = saveProducts(PRODUCTS);
+
+            products.subList(0, PRODUCTS / 10).forEach(product -> inMemoryProductRepository.delete(product.getUuid()));
+
+            assertThat(inMemoryProductRepository.compactions()).isZero();
+            assertThat(inMemoryProductRepository.fragmentation()).isEqualTo(0.1);
+        }
+
+        @Test
+        void deleteIfShouldRemoveMatchingProductsWithSingleVersionChange_whenCalled() {
+            saveProducts(PRODUCTS);
+            inMemoryProductRepository.save(ProductTestBuilder.builder()
+                    .withUuid(UUID.randomUUID())
+                    .withPrice(NEW_PRODUCT_PRICE).build()
+                    .buildProduct());
+            long version = inMemoryProductRepository.version();
+
+            int actual = inMemoryProductRepository.deleteIf(product -> product.getPrice().compareTo(NEW_PRODUCT_PRICE) < 0);
+
+            assertThat(actual).isEqualTo(PRODUCTS);
+            assertThat(inMemoryProductRepository.version()).isEqualTo(version + 1);
+            assertThat(inMemoryProductRepository.findAll())
+                    .extracting(Product::getPrice)
+                    .containsExactly(NEW_PRODUCT_PRICE);
+            assertThat(inMemoryProductRepository.findByPriceBetween(BigDecimal.ZERO, BigDecimal.TEN)).isEmpty();
+        }
+
+        @Test
+        void deleteIfShouldReturnZeroAndKeepVersion_whenNothingMatches() {
+            saveProducts(PRODUCTS);
+            long version = inMemoryProductRepository.version();
+
+            int actual = inMemoryProductRepository.deleteIf(product -> false);
+
+            assertThat(actual).isZero();
+            assertThat(inMemoryProductRepository.version()).isEqualTo(version);
+        }
+
+        private List<Product> saveProducts(int count) {
+            return inMemoryProductRepository.saveAll(newProducts(count));
+        }
+
+        private List<Product> newProducts(int count) {
+            return IntStream.range(0, count)
+                    .mapToObj(i -> ProductTestBuilder.builder()
+                            .withUuid(UUID.randomUUID()).build()
+                            .buildProduct())
+                    .toList();
+        }
+
+        private boolean await(BooleanSupplier condition) {
+            long deadline = System.nanoTime() + TIMEOUT_NANOS;
+            while (!condition.getAsBoolean()) {
+                if (System.nanoTime() > deadline) {
+                    return false;
+                }
+                Thread.onSpinWait();
+            }
+            return true;
+        }
+    }
+
+    @Test
+    void versionShouldGrow_whenProductSavedOrDeleted() {
+        long initial = inMemoryProductRepository.version();
+        Product product = inMemoryProductRepository.save(ProductTestBuilder.builder()
+                .withUuid(null).build()
+                .buildProduct());
+        long afterSave = inMemoryProductRepository.version();
+
+        inMemoryProductRepository.delete(product.getUuid());
+
+        assertThat(afterSave).isGreaterThan(initial);
+        assertThat(inMemoryProductRepository.version()).isGreaterThan(afterSave);
+    }
+
+    @Test
+    void versionShouldNotChange_whenDeletingAbsentProduct() {
+        long expected = inMemoryProductRepository.version();
+
+        inMemoryProductRepository.delete(PRODUCT_INCORRECT_UUID);
+
+        assertThat(inMemoryProductRepository.version()).isEqualTo(expected);
+    }
+
     @Test
     void deleteShouldNotReturnError_whenCalled() {
         UUID uuid = ProductTestBuilder.builder().build()
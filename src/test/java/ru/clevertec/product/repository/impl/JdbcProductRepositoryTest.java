@@ -0,0 +1,293 @@
+package ru.clevertec.product.repository.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.clevertec.product.util.TestConstant.INVALID_TEXT_VALUE;
+import static ru.clevertec.product.util.TestConstant.NEW_PRODUCT_PRICE;
+import static ru.clevertec.product.util.TestConstant.PRODUCT_CREATED_DATE;
+import static ru.clevertec.product.util.TestConstant.PRODUCT_INCORRECT_UUID;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.exception.ValidationException;
+import ru.clevertec.product.repository.index.CreatedOrder;
+import ru.clevertec.product.repository.jdbc.ConnectionPool;
+import ru.clevertec.product.util.ProductTestBuilder;
+
+class JdbcProductRepositoryTest {
+
+    private static final int PAGE_SIZE = 3;
+    /**
+     * H2 сравнивает UUID как беззнаковые числа, что совпадает с порядком строкового представления.
+     */
+    private static final Comparator<UUID> DATABASE_ORDER = Comparator.comparing(UUID::toString);
+
+    private ConnectionPool connectionPool;
+    private JdbcProductRepository jdbcProductRepository;
+
+    @BeforeEach
+    void setUp() {
+        connectionPool = new ConnectionPool("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "sa", "", 2);
+        jdbcProductRepository = new JdbcProductRepository(connectionPool, PAGE_SIZE, 2);
+        jdbcProductRepository.createSchema();
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionPool.close();
+    }
+
+    @Test
+    void findByIdShouldReturnEmptyOptional_whenIncorrectUuid() {
+        Optional<Product> actual = jdbcProductRepository.findById(PRODUCT_INCORRECT_UUID);
+
+        assertFalse(actual.isPresent());
+    }
+
+    @Test
+    void findByIdShouldReturnSavedProduct_whenCorrectUuid() {
+        Product expected = ProductTestBuilder.builder().build()
+                .buildProduct();
+        jdbcProductRepository.save(expected);
+
+        Optional<Product> actual = jdbcProductRepository.findById(expected.getUuid());
+
+        assertTrue(actual.isPresent());
+        assertThat(actual.get())
+                .hasFieldOrPropertyWithValue(Product.Fields.uuid, expected.getUuid())
+                .hasFieldOrPropertyWithValue(Product.Fields.name, expected.getName())
+                .hasFieldOrPropertyWithValue(Product.Fields.description, expected.getDescription())
+                .hasFieldOrPropertyWithValue(Product.Fields.created, expected.getCreated());
+        assertEquals(0, expected.getPrice().compareTo(actual.get().getPrice()));
+    }
+
+    @Test
+    void findAllShouldReturnAllProductsOrderedByUuid_whenSeveralPages() {
+        List<Product> expected = saveProducts(10);
+
+        List<Product> actual = jdbcProductRepository.findAll();
+
+        assertThat(actual)
+                .extracting(Product::getUuid)
+                .containsExactlyElementsOf(expected.stream()
+                        .map(Product::getUuid)
+                        .sorted(DATABASE_ORDER)
+                        .toList());
+    }
+
+    @Test
+    void findAllShouldReturnEmptyList_whenNoProducts() {
+        List<Product> actual = jdbcProductRepository.findAll();
+
+        assertThat(actual).isEmpty();
+    }
+
+    @Test
+    void findPageShouldReturnProductsAfterUuid_whenUuidPassed() {
+        List<UUID> uuids = saveProducts(5).stream()
+                .map(Product::getUuid)
+                .sorted(DATABASE_ORDER)
+                .toList();
+
+        List<Product> actual = jdbcProductRepository.findPage(uuids.get(1), 2);
+
+        assertThat(actual)
+                .extracting(Product::getUuid)
+                .containsExactly(uuids.get(2), uuids.get(3));
+    }
+
+    @Test
+    void findCreatedSinceShouldReturnProductsInCreationOrder_whenLimited() {
+        for (int hour = 5; hour > 0; hour--) {
+            jdbcProductRepository.save(ProductTestBuilder.builder()
+                    .withUuid(UUID.randomUUID())
+                    .withCreated(PRODUCT_CREATED_DATE.plusHours(hour)).build()
+                    .buildProduct());
+        }
+
+        List<Product> actual = jdbcProductRepository.findCreatedSince(PRODUCT_CREATED_DATE.plusHours(2), 2);
+
+        assertThat(actual)
+                .extracting(Product::getCreated)
+                .containsExactly(PRODUCT_CREATED_DATE.plusHours(2), PRODUCT_CREATED_DATE.plusHours(3));
+    }
+
+    @Test
+    void findCreatedSinceShouldPageThroughEqualCreatedInCreatedOrder_whenCursorIsLastProduct() {
+        List<Product> products = Stream.of(new UUID(-1, 1), new UUID(1, 1), new UUID(Long.MIN_VALUE, 5),
+                        new UUID(0, -1), new UUID(0, 1))
+                .map(uuid -> ProductTestBuilder.builder()
+                        .withUuid(uuid)
+                        .withCreated(PRODUCT_CREATED_DATE).build()
+                        .buildProduct())
+                .toList();
+        jdbcProductRepository.saveAll(products);
+        List<Product> actual = new ArrayList<>(jdbcProductRepository.findCreatedSince(PRODUCT_CREATED_DATE, 2));
+
+        while (actual.size() < products.size()) {
+            Product last = actual.get(actual.size() - 1);
+            List<Product> page = jdbcProductRepository.findCreatedSince(last.getCreated(), last.getUuid(), 2);
+            assertThat(page).isNotEmpty();
+            actual.addAll(page);
+        }
+
+        assertThat(actual)
+                .extracting(Product::getUuid)
+                .containsExactlyElementsOf(products.stream()
+                        .sorted(CreatedOrder.PRODUCTS)
+                        .map(Product::getUuid)
+                        .toList());
+    }
+
+    @Nested
+    class SaveTest {
+
+        @Test
+        void saveShouldReturnProductWithUuidAndCreated_whenNewProduct() {
+            Product product = ProductTestBuilder.builder()
+                    .withUuid(null)
+                    .withCreated(null).build()
+                    .buildProduct();
+
+            Product actual = jdbcProductRepository.save(product);
+
+            assertThat(actual).hasNoNullFieldsOrProperties();
+            assertTrue(jdbcProductRepository.findById(actual.getUuid()).isPresent());
+        }
+
+        @Test
+        void saveShouldUpdateProduct_whenProductWithSameUuidExists() {
+            Product product = ProductTestBuilder.builder().build()
+                    .buildProduct();
+            jdbcProductRepository.save(product);
+            product.setPrice(NEW_PRODUCT_PRICE);
+
+            jdbcProductRepository.save(product);
+
+            assertThat(jdbcProductRepository.findAll())
+                    .singleElement()
+                    .extracting(Product::getPrice)
+                    .matches(price -> price.compareTo(NEW_PRODUCT_PRICE) == 0);
+        }
+
+        @Test
+        void saveShouldThrowValidationException_whenInvalidProductName() {
+            Product product = ProductTestBuilder.builder()
+                    .withName(INVALID_TEXT_VALUE).build()
+                    .buildProduct();
+
+            assertThrows(ValidationException.class, () -> jdbcProductRepository.save(product));
+        }
+
+        @Test
+        void saveShouldThrowValidationException_whenPriceHasMoreThanTwoDecimals() {
+            Product product = ProductTestBuilder.builder()
+                    .withPrice(new BigDecimal("10.005")).build()
+                    .buildProduct();
+
+            assertThrows(ValidationException.class, () -> jdbcProductRepository.save(product));
+            assertThat(jdbcProductRepository.findAll()).isEmpty();
+        }
+
+        @Test
+        void saveShouldKeepCreated_whenCreatedHasNanoseconds() {
+            Product product = ProductTestBuilder.builder()
+                    .withCreated(PRODUCT_CREATED_DATE.withNano(123_456_789)).build()
+                    .buildProduct();
+
+            jdbcProductRepository.save(product);
+
+            assertThat(jdbcProductRepository.findById(product.getUuid()))
+                    .get()
+                    .extracting(Product::getCreated)
+                    .isEqualTo(product.getCreated());
+        }
+
+        @Test
+        void saveShouldKeepPrice_whenTrailingZerosExceedColumnScale() {
+            Product product = ProductTestBuilder.builder()
+                    .withPrice(new BigDecimal("10.5000")).build()
+                    .buildProduct();
+
+            jdbcProductRepository.save(product);
+
+            assertThat(jdbcProductRepository.findById(product.getUuid()))
+                    .get()
+                    .extracting(Product::getPrice)
+                    .matches(price -> price.compareTo(product.getPrice()) == 0);
+        }
+
+        @Test
+        void saveAllShouldSaveEveryProduct_whenBatchLargerThanJdbcBatch() {
+            List<Product> products = IntStream.range(0, 7)
+                    .mapToObj(i -> ProductTestBuilder.builder()
+                            .withUuid(null)
+                            .withPrice(BigDecimal.valueOf(i + 1)).build()
+                            .buildProduct())
+                    .toList();
+
+            jdbcProductRepository.saveAll(products);
+
+            assertThat(jdbcProductRepository.findAll()).hasSize(7);
+        }
+
+        @Test
+        void saveAllShouldSaveNothing_whenOneProductIsInvalid() {
+            List<Product> products = List.of(
+                    ProductTestBuilder.builder()
+                            .withUuid(null).build()
+                            .buildProduct(),
+                    ProductTestBuilder.builder()
+                            .withUuid(null)
+                            .withPrice(BigDecimal.ZERO).build()
+                            .buildProduct());
+
+            assertThrows(ValidationException.class, () -> jdbcProductRepository.saveAll(products));
+            assertThat(jdbcProductRepository.findAll()).isEmpty();
+        }
+    }
+
+    @Test
+    void deleteShouldRemoveProduct_whenProductExists() {
+        Product product = jdbcProductRepository.save(ProductTestBuilder.builder().build()
+                .buildProduct());
+
+        jdbcProductRepository.delete(product.getUuid());
+
+        assertFalse(jdbcProductRepository.findById(product.getUuid()).isPresent());
+    }
+
+    @Test
+    void operationsShouldReuseConnections_whenCalledSequentially() {
+        saveProducts(5);
+        jdbcProductRepository.findAll();
+
+        assertEquals(1, connectionPool.opened());
+    }
+
+    private List<Product> saveProducts(int count) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            products.add(jdbcProductRepository.save(ProductTestBuilder.builder()
+                    .withUuid(null)
+                    .withPrice(BigDecimal.valueOf(i + 1)).build()
+                    .buildProduct()));
+        }
+        return products;
+    }
+}
@@ -0,0 +1,150 @@
+package ru.clevertec.product.repository.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.repository.index.CreatedOrder;
+import ru.clevertec.product.util.ProductTestBuilder;
+
+class PartitionedProductRepositoryTest {
+
+    private static final int NODES = 4;
+    private static final int PRODUCTS = 2000;
+
+    private final PartitionedProductRepository partitionedProductRepository = new PartitionedProductRepository();
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        IntStream.range(0, NODES)
+                .forEach(i -> partitionedProductRepository.addNode("node-" + i, new InMemoryProductRepository()));
+        products = IntStream.range(0, PRODUCTS)
+                .mapToObj(i -> ProductTestBuilder.builder()
+                        .withUuid(UUID.randomUUID()).build()
+                        .buildProduct())
+                .toList();
+        partitionedProductRepository.saveAll(products);
+    }
+
+    @Test
+    void findByIdShouldReturnProduct_whenSavedOnAnyNode() {
+        assertThat(products)
+                .allSatisfy(product -> assertThat(partitionedProductRepository.findById(product.getUuid()))
+                        .contains(product));
+    }
+
+    @Test
+    void findAllShouldGatherProductsFromAllNodes_whenCalled() {
+        List<Product> actual = partitionedProductRepository.findAll();
+
+        assertThat(actual).containsExactlyInAnyOrderElementsOf(products);
+        assertThat(partitionedProductRepository.distribution().values())
+                .hasSize(NODES)
+                .allSatisfy(count -> assertThat(count).isPositive());
+    }
+
+    @Test
+    void findAllShouldQueryNodesOutsideCommonPool_whenDefaultExecutorUsed() {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        partitionedProductRepository.addNode("recording", new InMemoryProductRepository() {
+            @Override
+            public List<Product> findAll() {
+                threads.add(Thread.currentThread());
+                return super.findAll();
+            }
+        });
+        threads.clear();
+
+        partitionedProductRepository.findAll();
+
+        assertThat(threads)
+                .singleElement()
+                .satisfies(thread -> assertThat(thread).isNotInstanceOf(ForkJoinWorkerThread.class))
+                .satisfies(thread -> assertThat(thread.isDaemon()).isTrue());
+    }
+
+    @Test
+    void saveShouldAssignUuid_whenUuidIsNull() {
+        Product product = ProductTestBuilder.builder()
+                .withUuid(null).build()
+                .buildProduct();
+
+        Product actual = partitionedProductRepository.save(product);
+
+        assertThat(partitionedProductRepository.findById(actual.getUuid())).contains(product);
+    }
+
+    @Test
+    void deleteShouldRemoveProductFromOwner_whenCalled() {
+        UUID uuid = products.get(0).getUuid();
+
+        partitionedProductRepository.delete(uuid);
+
+        assertThat(partitionedProductRepository.findById(uuid)).isEmpty();
+        assertThat(partitionedProductRepository.findAll()).hasSize(PRODUCTS - 1);
+    }
+
+    @Test
+    void findCreatedSinceShouldMergeNodesInCreatedOrder_whenPagingThroughEqualCreated() {
+        List<Product> expected = partitionedProductRepository.findAll().stream()
+                .sorted(CreatedOrder.PRODUCTS)
+                .toList();
+        Product first = expected.get(0);
+        List<Product> actual = new ArrayList<>(partitionedProductRepository.findCreatedSince(first.getCreated(), 7));
+
+        while (actual.size() < PRODUCTS) {
+            Product last = actual.get(actual.size() - 1);
+            List<Product> page = partitionedProductRepository.findCreatedSince(last.getCreated(), last.getUuid(), 7);
+            assertThat(page).isNotEmpty();
+            actual.addAll(page);
+        }
+
+        assertThat(actual).containsExactlyElementsOf(expected);
+    }
+
+    @Nested
+    class RebalanceTest {
+
+        @Test
+        void addNodeShouldMoveOnlyShareOfProducts_whenNodeJoins() {
+            int moved = partitionedProductRepository.addNode("node-new", new InMemoryProductRepository());
+
+            Map<String, Integer> distribution = partitionedProductRepository.distribution();
+            assertThat(moved)
+                    .isEqualTo(distribution.get("node-new"))
+                    .isBetween(PRODUCTS / 10, PRODUCTS * 3 / 10);
+            assertThat(partitionedProductRepository.findAll()).containsExactlyInAnyOrderElementsOf(products);
+        }
+
+        @Test
+        void removeNodeShouldMoveOnlyProductsOfRemovedNode_whenNodeLeaves() {
+            int expected = partitionedProductRepository.distribution().get("node-1");
+
+            int actual = partitionedProductRepository.removeNode("node-1");
+
+            assertThat(actual).isEqualTo(expected);
+            assertThat(products)
+                    .allSatisfy(product -> assertThat(partitionedProductRepository.findById(product.getUuid()))
+                            .contains(product));
+        }
+
+        @Test
+        void addNodeShouldThrowIllegalArgumentException_whenNameTaken() {
+            InMemoryProductRepository node = new InMemoryProductRepository();
+
+            assertThrows(IllegalArgumentException.class, () -> partitionedProductRepository.addNode("node-0", node));
+        }
+    }
+}
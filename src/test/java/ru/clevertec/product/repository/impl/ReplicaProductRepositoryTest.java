@@ -0,0 +1,204 @@
+package ru.clevertec.product.repository.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.exception.ValidationException;
+import ru.clevertec.product.repository.replication.ReplicationLog;
+import ru.clevertec.product.repository.replication.ReplicationServer;
+import ru.clevertec.product.repository.replication.ReplicationStats;
+import ru.clevertec.product.util.ProductTestBuilder;
+
+class ReplicaProductRepositoryTest {
+
+    private static final InetAddress LOOPBACK = InetAddress.getLoopbackAddress();
+    private static final Duration HEARTBEAT = Duration.ofMillis(20);
+    private static final Duration RECONNECT_DELAY = Duration.ofMillis(20);
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final ReplicatedProductRepository primary = new ReplicatedProductRepository(
+            new InMemoryProductRepository(), new ReplicationLog(5));
+    private final List<AutoCloseable> nodes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (AutoCloseable node : nodes) {
+            node.close();
+        }
+    }
+
+    @Test
+    void replicasShouldServeProductsSavedOnPrimary_whenConnected() throws InterruptedException {
+        int port = startServer(0);
+        ReplicaProductRepository first = startReplica(port);
+        ReplicaProductRepository second = startReplica(port);
+        Product saved = primary.save(product());
+        Product deleted = primary.save(product());
+        primary.delete(deleted.getUuid());
+
+        assertTrue(first.awaitOffset(3, TIMEOUT));
+        assertTrue(second.awaitOffset(3, TIMEOUT));
+        assertThat(first.findAll()).containsExactly(saved);
+        assertThat(second.findById(saved.getUuid())).contains(saved);
+        assertThat(second.findById(deleted.getUuid())).isEmpty();
+    }
+
+    @Test
+    void replicaShouldCatchUpFromOffset_whenReconnected() throws InterruptedException {
+        ReplicationServer server = new ReplicationServer(primary, new InetSocketAddress(LOOPBACK, 0), HEARTBEAT);
+        int port = server.port();
+        ReplicaProductRepository replica = startReplica(port);
+        primary.save(product());
+        assertTrue(replica.awaitOffset(1, TIMEOUT));
+        server.close();
+        Product missed = primary.save(product());
+
+        startServer(port);
+
+        assertTrue(replica.awaitOffset(2, TIMEOUT));
+        ReplicationStats stats = replica.stats();
+        assertThat(replica.findById(missed.getUuid())).contains(missed);
+        assertThat(stats.reconnects()).isPositive();
+        assertThat(stats.snapshots()).isZero();
+        assertThat(stats.offsetLag()).isZero();
+        assertThat(stats.lagMillis()).isNotNegative();
+    }
+
+    @Test
+    void replicaShouldLoadSnapshot_whenOffsetEvictedFromLog() throws InterruptedException {
+        List<Product> expected = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            expected.add(primary.save(product()));
+        }
+        ReplicaProductRepository replica = startReplica(startServer(0));
+
+        assertTrue(replica.awaitOffset(10, TIMEOUT));
+        assertThat(replica.findAll()).containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(replica.stats().snapshots()).isEqualTo(1);
+    }
+
+    @Test
+    void replicaShouldLoadSnapshot_whenPrimaryRestartedWithFreshLog() throws InterruptedException {
+        ReplicationServer server = new ReplicationServer(primary, new InetSocketAddress(LOOPBACK, 0), HEARTBEAT);
+        int port = server.port();
+        ReplicaProductRepository replica = startReplica(port);
+        Product kept = primary.save(product());
+        primary.save(product());
+        primary.save(product());
+        assertTrue(replica.awaitOffset(3, TIMEOUT));
+        server.close();
+        ReplicatedProductRepository restarted = new ReplicatedProductRepository(new InMemoryProductRepository(),
+                new ReplicationLog(5));
+        restarted.save(kept);
+        Product created = restarted.save(product());
+
+        startServer(restarted, port);
+
+        assertTrue(await(() -> replica.stats().snapshots() == 1));
+        assertThat(replica.findAll()).containsExactlyInAnyOrder(kept, created);
+        assertThat(replica.stats().appliedOffset()).isEqualTo(2);
+    }
+
+    @Test
+    void replicaShouldLoadSnapshot_whenRestartedPrimaryWrotePastReplicaOffset() throws InterruptedException {
+        ReplicationServer server = new ReplicationServer(primary, new InetSocketAddress(LOOPBACK, 0), HEARTBEAT);
+        int port = server.port();
+        ReplicaProductRepository replica = startReplica(port);
+        primary.save(product());
+        primary.save(product());
+        assertTrue(replica.awaitOffset(2, TIMEOUT));
+        server.close();
+        ReplicatedProductRepository restarted = new ReplicatedProductRepository(new InMemoryProductRepository(),
+                new ReplicationLog(5));
+        List<Product> expected = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            expected.add(restarted.save(product()));
+        }
+
+        startServer(restarted, port);
+
+        assertTrue(await(() -> replica.stats().snapshots() == 1));
+        assertThat(replica.findAll()).containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(replica.stats().appliedOffset()).isEqualTo(4);
+    }
+
+    @Test
+    void replicaShouldResyncFromSnapshot_whenRecordCannotBeApplied() throws InterruptedException {
+        AtomicBoolean rejected = new AtomicBoolean();
+        InMemoryProductRepository rejectingOnce = new InMemoryProductRepository() {
+
+            @Override
+            public Product save(Product product) {
+                if (rejected.compareAndSet(false, true)) {
+                    throw new ValidationException(List.of("rejected by replica"));
+                }
+                return super.save(product);
+            }
+        };
+        ReplicaProductRepository replica = new ReplicaProductRepository(
+                new InetSocketAddress(LOOPBACK, startServer(0)), rejectingOnce, RECONNECT_DELAY);
+        nodes.add(replica);
+        Product first = primary.save(product());
+        Product second = primary.save(product());
+
+        assertTrue(replica.awaitOffset(2, TIMEOUT));
+        ReplicationStats stats = replica.stats();
+        assertThat(replica.findAll()).containsExactlyInAnyOrder(first, second);
+        assertThat(stats.failures()).isEqualTo(1);
+        assertThat(stats.snapshots()).isEqualTo(1);
+    }
+
+    @Test
+    void saveShouldThrowUnsupportedOperationException_whenCalledOnReplica() {
+        ReplicaProductRepository replica = startReplica(startServer(0));
+        Product product = product();
+
+        assertThrows(UnsupportedOperationException.class, () -> replica.save(product));
+    }
+
+    private int startServer(int port) {
+        return startServer(primary, port);
+    }
+
+    private int startServer(ReplicatedProductRepository node, int port) {
+        ReplicationServer server = new ReplicationServer(node, new InetSocketAddress(LOOPBACK, port), HEARTBEAT);
+        nodes.add(server);
+        return server.port();
+    }
+
+    private ReplicaProductRepository startReplica(int port) {
+        ReplicaProductRepository replica = new ReplicaProductRepository(new InetSocketAddress(LOOPBACK, port),
+                new InMemoryProductRepository(), RECONNECT_DELAY);
+        nodes.add(replica);
+        return replica;
+    }
+
+    private boolean await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.onSpinWait();
+        }
+        return true;
+    }
+
+    private Product product() {
+        return ProductTestBuilder.builder()
+                .withUuid(UUID.randomUUID()).build()
+                .buildProduct();
+    }
+}
@@ -0,0 +1,285 @@
+package ru.clevertec.product.repository.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.clevertec.product.util.TestConstant.INVALID_TEXT_VALUE;
+import static ru.clevertec.product.util.TestConstant.NEW_PRODUCT_PRICE;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.exception.ValidationException;
+import ru.clevertec.product.repository.tiered.TieredStats;
+import ru.clevertec.product.util.ProductTestBuilder;
+
+class TieredProductRepositoryTest {
+
+    private static final int HOT_CAPACITY = 10;
+    private static final int FLUSH_SIZE = 20;
+    private static final int PRODUCTS = 300;
+
+    @TempDir
+    Path directory;
+
+    private TieredProductRepository tieredProductRepository;
+
+    @BeforeEach
+    void setUp() {
+        tieredProductRepository = new TieredProductRepository(directory, HOT_CAPACITY, FLUSH_SIZE, 3,
+                Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        tieredProductRepository.close();
+    }
+
+    @Test
+    void findByIdShouldReturnProduct_whenProductWasEvictedToDisk() {
+        List<Product> products = saveProducts(PRODUCTS);
+        Product expected = products.get(0);
+
+        Optional<Product> actual = tieredProductRepository.findById(expected.getUuid());
+
+        assertTrue(actual.isPresent());
+        assertThat(actual.get())
+                .isEqualTo(expected)
+                .isNotSameAs(expected);
+        assertThat(tieredProductRepository.stats().segments()).isPositive();
+    }
+
+    @Test
+    void findByIdShouldKeepHotTierBounded_whenManyProductsRead() {
+        saveProducts(PRODUCTS).forEach(product -> tieredProductRepository.findById(product.getUuid()));
+
+        assertThat(tieredProductRepository.stats().hotSize()).isEqualTo(HOT_CAPACITY);
+    }
+
+    @Test
+    void findByIdShouldSkipDiskReads_whenProductIsMissing() {
+        saveProducts(PRODUCTS);
+        long before = tieredProductRepository.stats().diskReads();
+
+        IntStream.range(0, 1_000)
+                .forEach(i -> assertFalse(tieredProductRepository.findById(UUID.randomUUID()).isPresent()));
+
+        TieredStats actual = tieredProductRepository.stats();
+        assertThat(actual.diskReads() - before)
+                .isLessThan(actual.bloomSkips() / 10);
+    }
+
+    @Test
+    void findAllShouldReturnLatestVersionOfEveryProduct_whenProductsAreInAllTiers() {
+        List<Product> products = saveProducts(PRODUCTS);
+        Product updated = tieredProductRepository.findById(products.get(0).getUuid()).orElseThrow();
+        updated.setPrice(NEW_PRODUCT_PRICE);
+        tieredProductRepository.save(updated);
+
+        List<Product> actual = tieredProductRepository.findAll();
+
+        assertThat(actual)
+                .hasSize(PRODUCTS)
+                .filteredOn(product -> product.getUuid().equals(updated.getUuid()))
+                .singleElement()
+                .extracting(Product::getPrice)
+                .isEqualTo(NEW_PRODUCT_PRICE);
+    }
+
+    @Test
+    void forEachShouldVisitLatestVersionOnce_whenProductsAreInAllTiers() {
+        List<Product> products = saveProducts(PRODUCTS);
+        Product updated = products.get(0);
+        updated.setPrice(NEW_PRODUCT_PRICE);
+        tieredProductRepository.save(updated);
+        tieredProductRepository.delete(products.get(1).getUuid());
+        List<Product> actual = new ArrayList<>();
+
+        tieredProductRepository.forEach(actual::add);
+
+        assertThat(actual)
+                .hasSize(PRODUCTS - 1)
+                .extracting(Product::getUuid)
+                .doesNotHaveDuplicates()
+                .doesNotContain(products.get(1).getUuid());
+        assertThat(actual)
+                .filteredOn(product -> product.getUuid().equals(updated.getUuid()))
+                .singleElement()
+                .extracting(Product::getPrice)
+                .isEqualTo(NEW_PRODUCT_PRICE);
+        assertThat(tieredProductRepository.stats().segments()).isPositive();
+    }
+
+    @Test
+    void constructorShouldThrowIllegalArgumentException_whenCompactionIntervalIsZero() {
+        assertThrows(IllegalArgumentException.class, () -> new TieredProductRepository(directory, HOT_CAPACITY,
+                FLUSH_SIZE, 3, Duration.ZERO));
+    }
+
+    @Nested
+    class SaveTest {
+
+        @Test
+        void saveShouldReturnProductWithUuidAndCreated_whenNewProduct() {
+            Product product = ProductTestBuilder.builder()
+                    .withUuid(null)
+                    .withCreated(null).build()
+                    .buildProduct();
+
+            Product actual = tieredProductRepository.save(product);
+
+            assertThat(actual).hasNoNullFieldsOrProperties();
+        }
+
+        @Test
+        void saveShouldThrowValidationException_whenInvalidProductName() {
+            Product product = ProductTestBuilder.builder()
+                    .withName(INVALID_TEXT_VALUE).build()
+                    .buildProduct();
+
+            assertThrows(ValidationException.class, () -> tieredProductRepository.save(product));
+        }
+
+        @Test
+        void saveShouldShadowDiskVersion_whenColdProductUpdated() {
+            Product product = saveProducts(PRODUCTS).get(0);
+            Product updated = new Product(product.getUuid(), product.getName(), product.getDescription(),
+                    NEW_PRODUCT_PRICE, product.getCreated());
+
+            tieredProductRepository.save(updated);
+            saveProducts(PRODUCTS);
+
+            assertThat(tieredProductRepository.findById(product.getUuid()))
+                    .get()
+                    .extracting(Product::getPrice)
+                    .isEqualTo(NEW_PRODUCT_PRICE);
+        }
+    }
+
+    @Nested
+    class DeleteTest {
+
+        @Test
+        void deleteShouldHideProduct_whenProductIsOnDisk() {
+            Product product = saveProducts(PRODUCTS).get(0);
+
+            tieredProductRepository.delete(product.getUuid());
+            tieredProductRepository.flush();
+
+            assertFalse(tieredProductRepository.findById(product.getUuid()).isPresent());
+            assertThat(tieredProductRepository.findAll()).hasSize(PRODUCTS - 1);
+        }
+
+        @Test
+        void deleteShouldRemoveProduct_whenProductIsInMemory() {
+            Product product = tieredProductRepository.save(ProductTestBuilder.builder().build()
+                    .buildProduct());
+
+            tieredProductRepository.delete(product.getUuid());
+
+            assertFalse(tieredProductRepository.findById(product.getUuid()).isPresent());
+        }
+    }
+
+    @Nested
+    class CompactTest {
+
+        @Test
+        void compactShouldMergeSegmentsIntoOne_whenSeveralSegments() throws IOException {
+            List<Product> products = saveProducts(PRODUCTS);
+            products.subList(0, 50).forEach(product -> tieredProductRepository.delete(product.getUuid()));
+            tieredProductRepository.flush();
+
+            tieredProductRepository.compact();
+
+            TieredStats actual = tieredProductRepository.stats();
+            assertEquals(1, actual.segments());
+            try (Stream<Path> files = Files.list(directory)) {
+                assertEquals(1, files.count());
+            }
+            assertThat(tieredProductRepository.findAll()).hasSize(PRODUCTS - 50);
+            assertThat(products.subList(50, PRODUCTS))
+                    .allSatisfy(product -> assertThat(tieredProductRepository.findById(product.getUuid()))
+                            .contains(product));
+        }
+
+        @Test
+        void compactShouldNotWaitForTraversal_whenCalledFromForEachAction() throws IOException {
+            saveProducts(PRODUCTS);
+            List<Product> visited = new ArrayList<>();
+
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> tieredProductRepository.forEach(product -> {
+                if (visited.isEmpty()) {
+                    saveProducts(2 * FLUSH_SIZE);
+                    tieredProductRepository.compact();
+                }
+                visited.add(product);
+            }));
+
+            assertThat(visited).hasSize(PRODUCTS);
+            assertEquals(1, tieredProductRepository.stats().segments());
+            try (Stream<Path> files = Files.list(directory)) {
+                assertEquals(1, files.count());
+            }
+            assertThat(tieredProductRepository.findAll()).hasSize(PRODUCTS + 2 * FLUSH_SIZE);
+        }
+
+        @Test
+        void compactShouldRunInBackground_whenThresholdReached() throws InterruptedException {
+            tieredProductRepository.close();
+            tieredProductRepository = new TieredProductRepository(directory, HOT_CAPACITY, FLUSH_SIZE, 3,
+                    Duration.ofMillis(10));
+            saveProducts(PRODUCTS);
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (tieredProductRepository.stats().segments() > 2 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertThat(tieredProductRepository.stats().segments()).isLessThanOrEqualTo(2);
+            assertThat(tieredProductRepository.findAll()).hasSize(PRODUCTS);
+        }
+    }
+
+    @Test
+    void closeShouldDeleteSegmentFiles_whenCalled() throws IOException {
+        saveProducts(PRODUCTS);
+
+        tieredProductRepository.close();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private List<Product> saveProducts(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> ProductTestBuilder.builder()
+                        .withUuid(UUID.randomUUID())
+                        .withPrice(BigDecimal.valueOf(i + 1)).build()
+                        .buildProduct())
+                .map(product -> {
+                    tieredProductRepository.save(product);
+                    return new Product(product.getUuid(), product.getName(), product.getDescription(),
+                            product.getPrice(), product.getCreated());
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,236 @@
+package ru.clevertec.product.repository.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+import static ru.clevertec.product.util.TestConstant.INVALID_TEXT_VALUE;
+import static ru.clevertec.product.util.TestConstant.NEW_PRODUCT_PRICE;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.exception.RepositoryException;
+import ru.clevertec.product.exception.ValidationException;
+import ru.clevertec.product.repository.ProductRepository;
+import ru.clevertec.product.repository.writebehind.WriteBehindStats;
+import ru.clevertec.product.util.ProductTestBuilder;
+
+@ExtendWith(MockitoExtension.class)
+class WriteBehindProductRepositoryTest {
+
+    private static final Duration LONG_INTERVAL = Duration.ofHours(1);
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final InMemoryProductRepository productRepository = new InMemoryProductRepository();
+    private WriteBehindProductRepository writeBehindProductRepository;
+
+    @Mock
+    private ProductRepository failingRepository;
+
+    @AfterEach
+    void tearDown() {
+        if (writeBehindProductRepository != null) {
+            writeBehindProductRepository.close();
+        }
+    }
+
+    @Nested
+    class ReadYourWritesTest {
+
+        @Test
+        void findByIdShouldReturnBufferedProduct_whenNotFlushedYet() {
+            writeBehindProductRepository = new WriteBehindProductRepository(productRepository, 100, 100,
+                    LONG_INTERVAL);
+            Product product = product();
+
+            writeBehindProductRepository.save(product);
+
+            assertThat(writeBehindProductRepository.findById(product.getUuid())).contains(product);
+            assertThat(productRepository.findAll()).isEmpty();
+        }
+
+        @Test
+        void findByIdShouldReturnEmptyOptional_whenDeleteBuffered() {
+            Product product = productRepository.save(product());
+            writeBehindProductRepository = new WriteBehindProductRepository(productRepository, 100, 100,
+                    LONG_INTERVAL);
+
+            writeBehindProductRepository.delete(product.getUuid());
+
+            assertThat(writeBehindProductRepository.findById(product.getUuid())).isEmpty();
+            assertThat(productRepository.findById(product.getUuid())).isPresent();
+        }
+
+        @Test
+        void findAllShouldReturnBufferedProducts_whenCalled() {
+            writeBehindProductRepository = new WriteBehindProductRepository(productRepository, 100, 100,
+                    LONG_INTERVAL);
+            Product product = writeBehindProductRepository.save(product());
+
+            assertThat(writeBehindProductRepository.findAll()).containsExactly(product);
+        }
+    }
+
+    @Nested
+    class FlushTest {
+
+        @Test
+        void flushShouldWriteLatestVersionOnce_whenSameProductSavedRepeatedly() {
+            writeBehindProductRepository = new WriteBehindProductRepository(productRepository, 100, 100,
+                    LONG_INTERVAL);
+            Product product = product();
+            for (int i = 0; i < 10; i++) {
+                writeBehindProductRepository.save(product);
+            }
+            product.setPrice(NEW_PRODUCT_PRICE);
+            writeBehindProductRepository.save(product);
+
+            writeBehindProductRepository.flush();
+
+            WriteBehindStats stats = writeBehindProductRepository.stats();
+            assertThat(productRepository.findAll()).containsExactly(product);
+            assertThat(stats.accepted()).isEqualTo(11);
+            assertThat(stats.coalesced()).isEqualTo(10);
+            assertThat(stats.written()).isEqualTo(1);
+            assertThat(stats.pending()).isZero();
+        }
+
+        @Test
+        void flushShouldApplyDelete_whenSaveThenDeleteBuffered() {
+            writeBehindProductRepository = new WriteBehindProductRepository(productRepository, 100, 100,
+                    LONG_INTERVAL);
+            Product product = writeBehindProductRepository.save(product());
+            writeBehindProductRepository.delete(product.getUuid());
+
+            writeBehindProductRepository.flush();
+
+            assertThat(productRepository.findAll()).isEmpty();
+        }
+
+        @Test
+        void bufferShouldFlushWithoutRequest_whenBatchSizeReached() {
+            writeBehindProductRepository = new WriteBehindProductRepository(productRepository, 100, 10,
+                    LONG_INTERVAL);
+
+            for (int i = 0; i < 10; i++) {
+                writeBehindProductRepository.save(product());
+            }
+
+            assertThat(await(() -> productRepository.findAll().size() == 10)).isTrue();
+        }
+
+        @Test
+        void saveAllShouldReturnAndFlush_whenBatchExceedsCapacity() {
+            writeBehindProductRepository = new WriteBehindProductRepository(productRepository, 10, 100,
+                    LONG_INTERVAL);
+            List<Product> products = Stream.generate(() -> product())
+                    .limit(11)
+                    .toList();
+
+            assertTimeoutPreemptively(TIMEOUT, () -> writeBehindProductRepository.saveAll(products));
+
+            assertThat(await(() -> productRepository.findAll().size() >= 10)).isTrue();
+            writeBehindProductRepository.flush();
+            assertThat(productRepository.findAll()).containsExactlyInAnyOrderElementsOf(products);
+        }
+
+        @Test
+        void bufferShouldFlushWithoutRequest_whenIntervalElapsed() {
+            writeBehindProductRepository = new WriteBehindProductRepository(productRepository, 100, 100,
+                    Duration.ofMillis(20));
+
+            writeBehindProductRepository.save(product());
+
+            assertThat(await(() -> productRepository.findAll().size() == 1)).isTrue();
+        }
+
+        @Test
+        void closeShouldWriteRemainingProducts_whenCalled() {
+            WriteBehindProductRepository repository = new WriteBehindProductRepository(productRepository, 100, 100,
+                    LONG_INTERVAL);
+            Product product = repository.save(product());
+
+            repository.close();
+
+            assertThat(productRepository.findAll()).containsExactly(product);
+        }
+
+        @Test
+        void flushShouldThrowRepositoryException_whenWrappedRepositoryFails() {
+            when(failingRepository.saveAll(anyList()))
+                    .thenThrow(new RepositoryException("database is down"));
+            writeBehindProductRepository = new WriteBehindProductRepository(failingRepository, 100, 100,
+                    LONG_INTERVAL);
+            writeBehindProductRepository.save(product());
+
+            assertThrows(RepositoryException.class, () -> writeBehindProductRepository.flush());
+            assertThat(writeBehindProductRepository.stats().failed()).isEqualTo(1);
+        }
+
+        @Test
+        void flushShouldThrowRepositoryException_whenBatchFailedOnIntervalTrigger() {
+            when(failingRepository.saveAll(anyList()))
+                    .thenThrow(new RepositoryException("database is down"));
+            writeBehindProductRepository = new WriteBehindProductRepository(failingRepository, 100, 100,
+                    Duration.ofMillis(20));
+            writeBehindProductRepository.save(product());
+            assertThat(await(() -> writeBehindProductRepository.stats().failed() == 1)).isTrue();
+
+            assertThrows(RepositoryException.class, () -> writeBehindProductRepository.flush());
+            writeBehindProductRepository.flush();
+        }
+
+        @Test
+        void findAllShouldLeaveFailureToFlush_whenBufferedWriteFailed() {
+            when(failingRepository.saveAll(anyList()))
+                    .thenThrow(new RepositoryException("database is down"));
+            writeBehindProductRepository = new WriteBehindProductRepository(failingRepository, 100, 100,
+                    LONG_INTERVAL);
+            writeBehindProductRepository.save(product());
+
+            writeBehindProductRepository.findAll();
+
+            assertThat(writeBehindProductRepository.stats().failed()).isEqualTo(1);
+            assertThrows(RepositoryException.class, () -> writeBehindProductRepository.flush());
+        }
+    }
+
+    @Test
+    void saveShouldThrowValidationExceptionImmediately_whenProductInvalid() {
+        writeBehindProductRepository = new WriteBehindProductRepository(productRepository);
+        Product product = ProductTestBuilder.builder()
+                .withName(INVALID_TEXT_VALUE).build()
+                .buildProduct();
+
+        assertThrows(ValidationException.class, () -> writeBehindProductRepository.save(product));
+        assertThat(writeBehindProductRepository.stats().accepted()).isZero();
+    }
+
+    private boolean await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.onSpinWait();
+        }
+        return true;
+    }
+
+    private Product product() {
+        return ProductTestBuilder.builder()
+                .withUuid(UUID.randomUUID()).build()
+                .buildProduct();
+    }
+}
@@ -0,0 +1,106 @@
+package ru.clevertec.product.repository.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.clevertec.product.util.TestConstant.PRODUCT_CREATED_DATE;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.query.Criterion;
+import ru.clevertec.product.query.ProductQuery;
+import ru.clevertec.product.query.ProductQueryEngine;
+import ru.clevertec.product.query.QueryPlan;
+import ru.clevertec.product.repository.impl.InMemoryProductRepository;
+import ru.clevertec.product.util.ProductTestBuilder;
+
+class CreatedIndexTest {
+
+    private static final int HOURS = 48;
+
+    private final CreatedIndex createdIndex = new CreatedIndex();
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        products = IntStream.range(0, HOURS)
+                .mapToObj(hour -> product(PRODUCT_CREATED_DATE.plusHours(hour)))
+                .toList();
+        products.forEach(createdIndex::put);
+    }
+
+    @Test
+    void betweenShouldReturnHalfOpenRangeInOrder_whenBoundsPassed() {
+        List<Product> actual = List.copyOf(createdIndex.between(PRODUCT_CREATED_DATE.plusHours(10),
+                PRODUCT_CREATED_DATE.plusHours(13)));
+
+        assertThat(actual).containsExactlyElementsOf(products.subList(10, 13));
+    }
+
+    @Test
+    void betweenShouldReturnAllProducts_whenUnbounded() {
+        assertThat(createdIndex.between(null, null)).containsExactlyElementsOf(products);
+    }
+
+    @Test
+    void sinceShouldStopAtLimit_whenMoreProductsMatch() {
+        List<Product> actual = createdIndex.since(PRODUCT_CREATED_DATE.plusHours(40), 3);
+
+        assertThat(actual).containsExactlyElementsOf(products.subList(40, 43));
+    }
+
+    @Test
+    void putShouldMoveProduct_whenCreatedChanged() {
+        Product product = products.get(0);
+        product.setCreated(PRODUCT_CREATED_DATE.plusHours(HOURS));
+
+        createdIndex.put(product);
+
+        assertThat(createdIndex.size()).isEqualTo(HOURS);
+        assertThat(createdIndex.since(PRODUCT_CREATED_DATE.plusHours(HOURS), 10)).containsExactly(product);
+    }
+
+    @Test
+    void removeShouldDropProductAndBucketCount_whenProductIndexed() {
+        createdIndex.remove(products.get(5).getUuid());
+
+        assertThat(createdIndex.between(PRODUCT_CREATED_DATE.plusHours(5), PRODUCT_CREATED_DATE.plusHours(6)))
+                .isEmpty();
+        assertThat(createdIndex.estimate(Criterion.createdBetween(PRODUCT_CREATED_DATE.plusHours(5),
+                PRODUCT_CREATED_DATE.plusHours(5).plusMinutes(1)))).isZero();
+    }
+
+    @Test
+    void estimateShouldCountOverlappingBuckets_whenRangeCriterionPassed() {
+        long actual = createdIndex.estimate(Criterion.createdBetween(PRODUCT_CREATED_DATE.plusHours(10),
+                PRODUCT_CREATED_DATE.plusHours(12)));
+
+        assertThat(actual).isBetween(2L, 4L);
+        assertThat(createdIndex.estimate(Criterion.nameStartsWith("Плюм"))).isEqualTo(-1);
+    }
+
+    @Test
+    void queryEngineShouldUseCreatedIndex_whenRepositoryProvidesIt() {
+        InMemoryProductRepository productRepository = new InMemoryProductRepository();
+        productRepository.saveAll(products);
+        ProductQueryEngine engine = new ProductQueryEngine(productRepository, List.of(productRepository.createdIndex()));
+        ProductQuery query = ProductQuery.where(Criterion.nameStartsWith("Плюм")
+                .and(Criterion.createdBetween(PRODUCT_CREATED_DATE.plusHours(20), null)));
+
+        QueryPlan plan = engine.plan(query);
+        List<Product> actual = engine.execute(query);
+
+        assertThat(plan.index()).isSameAs(productRepository.createdIndex());
+        assertThat(actual).containsExactlyInAnyOrderElementsOf(products.subList(20, HOURS));
+    }
+
+    private Product product(LocalDateTime created) {
+        return ProductTestBuilder.builder()
+                .withUuid(UUID.randomUUID())
+                .withCreated(created).build()
+                .buildProduct();
+    }
+}
@@ -0,0 +1,123 @@
+package ru.clevertec.product.repository.intern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.clevertec.product.util.TestConstant.PRODUCT_DESCRIPTION;
+import static ru.clevertec.product.util.TestConstant.PRODUCT_NAME;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import ru.clevertec.product.repository.bounded.ProductSizeEstimator;
+
+class StringPoolTest {
+
+    @Nested
+    class InternTest {
+
+        @Test
+        void internShouldReturnPooledInstance_whenEqualStringInterned() {
+            StringPool stringPool = new StringPool(16);
+            String expected = stringPool.intern(new String(PRODUCT_NAME));
+
+            String actual = stringPool.intern(new String(PRODUCT_NAME));
+
+            assertThat(actual).isSameAs(expected);
+        }
+
+        @Test
+        void internShouldReturnNull_whenNullPassed() {
+            StringPool stringPool = new StringPool(16);
+
+            String actual = stringPool.intern(null);
+
+            assertThat(actual).isNull();
+        }
+
+        @Test
+        void internShouldReplaceSlot_whenOtherStringCollides() {
+            StringPool stringPool = new StringPool(1);
+            stringPool.intern(PRODUCT_NAME);
+            String expected = new String(PRODUCT_DESCRIPTION);
+
+            String actual = stringPool.intern(expected);
+
+            assertThat(actual).isSameAs(expected);
+            assertThat(stringPool.intern(new String(PRODUCT_DESCRIPTION))).isSameAs(expected);
+        }
+
+        @Test
+        void internShouldReturnEqualStrings_whenCalledConcurrently() throws Exception {
+            StringPool stringPool = new StringPool(8);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<Boolean>> results = new ArrayList<>();
+                for (int thread = 0; thread < 4; thread++) {
+                    results.add(executor.submit(() -> {
+                        for (int i = 0; i < 10_000; i++) {
+                            String value = "значение" + i % 100;
+                            if (!stringPool.intern(value).equals(value)) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }));
+                }
+
+                for (Future<Boolean> result : results) {
+                    assertThat(result.get()).isTrue();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    void statsShouldCountDeduplicatedStrings_whenEqualStringsInterned() {
+        StringPool stringPool = new StringPool(16);
+        stringPool.intern(new String(PRODUCT_NAME));
+        stringPool.intern(new String(PRODUCT_NAME));
+        stringPool.intern(new String(PRODUCT_NAME));
+        stringPool.intern(null);
+
+        StringPoolStats actual = stringPool.stats();
+
+        assertThat(actual.capacity()).isEqualTo(16);
+        assertThat(actual.lookups()).isEqualTo(3);
+        assertThat(actual.deduplicated()).isEqualTo(2);
+        assertThat(actual.savedBytes()).isPositive();
+        assertThat(actual.dedupRatio()).isEqualTo(2.0 / 3);
+    }
+
+    @Test
+    void statsShouldCountOneBytePerChar_whenDeduplicatedStringIsLatin() {
+        StringPool latin = new StringPool(16);
+        StringPool cyrillic = new StringPool(16);
+        latin.intern(new String("Plumbuss"));
+        latin.intern(new String("Plumbuss"));
+        cyrillic.intern(new String("Плюмбусы"));
+        cyrillic.intern(new String("Плюмбусы"));
+
+        long actual = cyrillic.stats().savedBytes() - latin.stats().savedBytes();
+
+        assertThat(actual).isEqualTo(8);
+        assertThat(latin.stats().savedBytes()).isEqualTo(ProductSizeEstimator.estimate("Plumbuss"));
+    }
+
+    @Test
+    void constructorShouldRoundCapacityUpToPowerOfTwo_whenCapacityPassed() {
+        StringPool stringPool = new StringPool(100);
+
+        assertThat(stringPool.stats().capacity()).isEqualTo(128);
+    }
+
+    @Test
+    void constructorShouldThrowIllegalArgumentException_whenCapacityIsNotPositive() {
+        assertThrows(IllegalArgumentException.class, () -> new StringPool(0));
+    }
+}
@@ -0,0 +1,91 @@
+package ru.clevertec.product.repository.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import ru.clevertec.product.exception.RepositoryException;
+
+class ConnectionPoolTest {
+
+    private static final String SQL = "SELECT 1";
+
+    private final ConnectionPool connectionPool = new ConnectionPool(
+            "jdbc:h2:mem:" + UUID.randomUUID(), "sa", "", 1, Duration.ofMillis(50));
+
+    @AfterEach
+    void tearDown() {
+        connectionPool.close();
+    }
+
+    @Test
+    void statementShouldReturnSamePreparedStatement_whenConnectionReused() throws SQLException {
+        PreparedStatement first;
+        try (PooledConnection connection = connectionPool.acquire()) {
+            first = connection.statement(SQL);
+        }
+
+        PreparedStatement actual;
+        try (PooledConnection connection = connectionPool.acquire()) {
+            actual = connection.statement(SQL);
+        }
+
+        assertThat(actual).isSameAs(first);
+        assertEquals(1, connectionPool.opened());
+    }
+
+    @Test
+    void acquireShouldThrowRepositoryException_whenPoolExhausted() {
+        try (PooledConnection ignored = connectionPool.acquire()) {
+            assertThrows(RepositoryException.class, connectionPool::acquire);
+        }
+    }
+
+    @Test
+    void acquireShouldOpenNewConnection_whenPreviousInvalidated() {
+        try (PooledConnection connection = connectionPool.acquire()) {
+            connection.invalidate();
+        }
+
+        try (PooledConnection actual = connectionPool.acquire()) {
+            assertThat(actual).isNotNull();
+        }
+        assertEquals(1, connectionPool.opened());
+    }
+
+    @Test
+    void acquireShouldNotTimeOut_whenHeldConnectionDiscardedWhileWaiting()
+            throws ExecutionException, InterruptedException, TimeoutException {
+        ConnectionPool pool = new ConnectionPool("jdbc:h2:mem:" + UUID.randomUUID(), "sa", "", 1,
+                Duration.ofSeconds(30));
+        PooledConnection held = pool.acquire();
+        CompletableFuture<PooledConnection> waiter = CompletableFuture.supplyAsync(pool::acquire);
+
+        held.invalidate();
+        held.close();
+
+        try (PooledConnection actual = waiter.get(5, TimeUnit.SECONDS)) {
+            assertThat(actual).isNotSameAs(held);
+            assertEquals(1, pool.opened());
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    void acquireShouldThrowRepositoryException_whenPoolClosed() {
+        connectionPool.close();
+
+        assertThrows(RepositoryException.class, connectionPool::acquire);
+    }
+}
@@ -0,0 +1,145 @@
+package ru.clevertec.product.repository.merkle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.clevertec.product.util.TestConstant.NEW_PRODUCT_PRICE;
+import static ru.clevertec.product.util.TestConstant.PRODUCT_CREATED_DATE;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.repository.impl.InMemoryProductRepository;
+import ru.clevertec.product.repository.impl.MerkleProductRepository;
+import ru.clevertec.product.util.ProductTestBuilder;
+
+class MerkleSyncTest {
+
+    private static final int DEPTH = 12;
+    private static final int DIFFERENCES = 12;
+
+    @Test
+    void syncShouldCompareOnlyRoot_whenRepositoriesEqual() {
+        MerkleProductRepository source = repository(1000);
+        MerkleProductRepository target = repository(0);
+        MerkleSync.sync(source, target);
+
+        SyncReport actual = MerkleSync.sync(source, target);
+
+        assertThat(actual.isInSync()).isTrue();
+        assertThat(actual.hashesCompared()).isEqualTo(1);
+        assertThat(actual.productsTransferred()).isZero();
+    }
+
+    @Test
+    void syncShouldMakeTargetEqualToSource_whenProductsAddedChangedAndDeleted() {
+        MerkleProductRepository source = repository(1000);
+        MerkleProductRepository target = repository(0);
+        MerkleSync.sync(source, target);
+        diverge(source, DIFFERENCES);
+
+        SyncReport actual = MerkleSync.sync(source, target);
+
+        assertThat(actual.productsTransferred() + actual.productsDeleted()).isEqualTo(DIFFERENCES);
+        assertThat(target.findAll()).containsExactlyInAnyOrderElementsOf(source.findAll());
+        assertThat(target.tree().root()).isEqualTo(source.tree().root());
+    }
+
+    @Test
+    void syncShouldTransferVolumeProportionalToDifferences_whenCatalogueGrows() {
+        SyncReport small = syncAfterDivergence(1000, DIFFERENCES);
+        SyncReport large = syncAfterDivergence(4000, DIFFERENCES);
+        SyncReport moreDifferences = syncAfterDivergence(1000, 4 * DIFFERENCES);
+
+        assertThat(large.productsTransferred()).isEqualTo(small.productsTransferred());
+        assertThat(large.bytesTransferred()).isLessThan(2 * small.bytesTransferred());
+        assertThat(moreDifferences.bytesTransferred()).isGreaterThan(3 * small.bytesTransferred());
+    }
+
+    @Test
+    void syncShouldTransferFarLessThanCatalogue_whenFewDifferences() {
+        MerkleProductRepository source = repository(4000);
+        MerkleProductRepository target = repository(0);
+        SyncReport full = MerkleSync.sync(source, target);
+        diverge(source, DIFFERENCES);
+
+        SyncReport actual = MerkleSync.sync(source, target);
+
+        assertThat(actual.bytesTransferred() * 50).isLessThan(full.bytesTransferred());
+    }
+
+    @Test
+    void syncShouldFindNoDifferences_whenStoresKeepDifferentPriceScaleAndTimePrecision() {
+        Product product = ProductTestBuilder.builder()
+                .withPrice(new BigDecimal("10"))
+                .withCreated(PRODUCT_CREATED_DATE.withNano(123_456_789)).build()
+                .buildProduct();
+        Product stored = ProductTestBuilder.builder()
+                .withPrice(new BigDecimal("10.00"))
+                .withCreated(PRODUCT_CREATED_DATE.withNano(123_456_000)).build()
+                .buildProduct();
+        MerkleProductRepository source = repository(List.of(product));
+        MerkleProductRepository target = repository(List.of(stored));
+
+        SyncReport actual = MerkleSync.sync(source, target);
+
+        assertThat(actual.isInSync()).isTrue();
+        assertThat(actual.productsTransferred()).isZero();
+    }
+
+    @Test
+    void syncShouldThrowIllegalArgumentException_whenDepthsDiffer() {
+        MerkleProductRepository source = repository(0);
+        MerkleProductRepository target = new MerkleProductRepository(new InMemoryProductRepository(), DEPTH - 1);
+
+        assertThrows(IllegalArgumentException.class, () -> MerkleSync.sync(source, target));
+    }
+
+    private SyncReport syncAfterDivergence(int catalogue, int differences) {
+        MerkleProductRepository source = repository(catalogue);
+        MerkleProductRepository target = repository(0);
+        MerkleSync.sync(source, target);
+        diverge(source, differences);
+        return MerkleSync.sync(source, target);
+    }
+
+    /**
+     * Каждое третье различие - новый продукт, каждое третье - изменённая цена, остальные - удаление.
+     */
+    private void diverge(MerkleProductRepository repository, int differences) {
+        List<Product> existing = repository.findAll().stream()
+                .sorted((first, second) -> first.getUuid().compareTo(second.getUuid()))
+                .toList();
+        for (int i = 0; i < differences; i++) {
+            Product product = existing.get(i * existing.size() / differences);
+            switch (i % 3) {
+                case 0 -> repository.save(product(UUID.randomUUID()));
+                case 1 -> repository.save(ProductTestBuilder.builder()
+                        .withUuid(product.getUuid())
+                        .withPrice(NEW_PRODUCT_PRICE).build()
+                        .buildProduct());
+                default -> repository.delete(product.getUuid());
+            }
+        }
+    }
+
+    private MerkleProductRepository repository(int size) {
+        return repository(IntStream.range(0, size)
+                .mapToObj(i -> product(null))
+                .toList());
+    }
+
+    private MerkleProductRepository repository(List<Product> products) {
+        InMemoryProductRepository productRepository = new InMemoryProductRepository();
+        productRepository.saveAll(products);
+        return new MerkleProductRepository(productRepository, DEPTH);
+    }
+
+    private Product product(UUID uuid) {
+        return ProductTestBuilder.builder()
+                .withUuid(uuid).build()
+                .buildProduct();
+    }
+}
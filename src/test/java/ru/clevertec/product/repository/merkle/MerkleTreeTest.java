@@ -0,0 +1,65 @@
+package ru.clevertec.product.repository.merkle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class MerkleTreeTest {
+
+    private static final UUID LOWEST = new UUID(0, 1);
+    private static final UUID HIGHEST = new UUID(-1, 1);
+
+    @Test
+    void rootShouldNotDependOnOrder_whenSameChangesApplied() {
+        MerkleTree first = new MerkleTree(4);
+        MerkleTree second = new MerkleTree(4);
+
+        first.toggle(first.leafOf(LOWEST), 1);
+        first.toggle(first.leafOf(HIGHEST), 2);
+        second.toggle(second.leafOf(HIGHEST), 2);
+        second.toggle(second.leafOf(LOWEST), 1);
+
+        assertThat(first.root())
+                .isNotZero()
+                .isEqualTo(second.root());
+    }
+
+    @Test
+    void rootShouldReturnToEmpty_whenChangeToggledTwice() {
+        MerkleTree tree = new MerkleTree(4);
+        int leaf = tree.leafOf(LOWEST);
+
+        tree.toggle(leaf, 42);
+        tree.toggle(leaf, 42);
+
+        assertThat(tree.root()).isZero();
+    }
+
+    @Test
+    void hashShouldDifferOnlyOnPathToLeaf_whenLeafChanged() {
+        MerkleTree tree = new MerkleTree(2);
+
+        tree.toggle(tree.leafOf(LOWEST), 42);
+
+        assertThat(tree.hash(2)).isNotZero();
+        assertThat(tree.hash(3)).isZero();
+        assertThat(tree.hash(4)).isEqualTo(42);
+    }
+
+    @Test
+    void leafOfShouldMapUuidRangesInOrder_whenCalled() {
+        MerkleTree tree = new MerkleTree(3);
+
+        assertThat(tree.leafOf(LOWEST)).isEqualTo(tree.leaves());
+        assertThat(tree.leafOf(HIGHEST)).isEqualTo(2 * tree.leaves() - 1);
+        assertThat(tree.isLeaf(tree.leafOf(HIGHEST))).isTrue();
+        assertThat(tree.isLeaf(1)).isFalse();
+    }
+
+    @Test
+    void constructorShouldThrowIllegalArgumentException_whenDepthTooLarge() {
+        assertThrows(IllegalArgumentException.class, () -> new MerkleTree(21));
+    }
+}
@@ -0,0 +1,90 @@
+package ru.clevertec.product.repository.partition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.clevertec.product.util.TestConstant.PRODUCT_UUID;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 20_000;
+
+    private final ConsistentHashRing ring = new ConsistentHashRing(128);
+    private final List<UUID> keys = IntStream.range(0, KEYS)
+            .mapToObj(i -> UUID.randomUUID())
+            .toList();
+
+    @Test
+    void ownerShouldSpreadKeysEvenly_whenNodesAdded() {
+        IntStream.range(0, 4).forEach(i -> ring.add("node-" + i));
+
+        Map<String, Integer> actual = new HashMap<>();
+        keys.forEach(key -> actual.merge(ring.owner(key), 1, Integer::sum));
+
+        assertThat(actual.values()).allSatisfy(count -> assertThat(count).isBetween(KEYS / 4 * 7 / 10,
+                KEYS / 4 * 13 / 10));
+    }
+
+    @Test
+    void addShouldMoveKeysOnlyToNewNode_whenNodeJoins() {
+        IntStream.range(0, 4).forEach(i -> ring.add("node-" + i));
+        Map<UUID, String> before = new HashMap<>();
+        keys.forEach(key -> before.put(key, ring.owner(key)));
+
+        ring.add("node-4");
+
+        long moved = keys.stream()
+                .filter(key -> !ring.owner(key).equals(before.get(key)))
+                .peek(key -> assertThat(ring.owner(key)).isEqualTo("node-4"))
+                .count();
+        assertThat(moved).isBetween(KEYS / 10L, KEYS * 3 / 10L);
+    }
+
+    @Test
+    void removeShouldMoveOnlyKeysOfRemovedNode_whenNodeLeaves() {
+        IntStream.range(0, 4).forEach(i -> ring.add("node-" + i));
+        Map<UUID, String> before = new HashMap<>();
+        keys.forEach(key -> before.put(key, ring.owner(key)));
+
+        ring.remove("node-2");
+
+        assertThat(keys)
+                .filteredOn(key -> !before.get(key).equals("node-2"))
+                .allSatisfy(key -> assertThat(ring.owner(key)).isEqualTo(before.get(key)));
+        assertThat(ring.nodes()).containsExactlyInAnyOrder("node-0", "node-1", "node-3");
+    }
+
+    @Test
+    void removeShouldHandCollidingPointsToRemainingNode_whenRingsBuiltInDifferentOrder() {
+        ConsistentHashRing colliding = new ConsistentHashRing(16, ConsistentHashRingTest::pointIndex);
+        ConsistentHashRing fresh = new ConsistentHashRing(16, ConsistentHashRingTest::pointIndex);
+        colliding.add("node-0");
+        colliding.add("node-1");
+        colliding.add("node-2");
+        fresh.add("node-2");
+        fresh.add("node-1");
+
+        colliding.remove("node-0");
+
+        assertThat(keys).allSatisfy(key -> assertThat(colliding.owner(key)).isEqualTo(fresh.owner(key)));
+        assertThat(keys.stream().map(colliding::owner).distinct()).containsExactly("node-1");
+    }
+
+    @Test
+    void ownerShouldThrowIllegalStateException_whenRingIsEmpty() {
+        assertThrows(IllegalStateException.class, () -> ring.owner(PRODUCT_UUID));
+    }
+
+    /**
+     * Хеш точки, при котором i-я точка каждого узла совпадает с i-й точкой остальных узлов.
+     */
+    private static long pointIndex(String point) {
+        return Long.parseLong(point.substring(point.indexOf('#') + 1)) << 59;
+    }
+}
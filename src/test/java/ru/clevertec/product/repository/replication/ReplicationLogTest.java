@@ -0,0 +1,79 @@
+package ru.clevertec.product.repository.replication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.clevertec.product.util.TestConstant.PRODUCT_UUID;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class ReplicationLogTest {
+
+    private final ReplicationLog replicationLog = new ReplicationLog(3);
+
+    @Test
+    void appendShouldReturnConsecutiveOffsets_whenCalled() {
+        long first = replicationLog.append(PRODUCT_UUID, new byte[]{1});
+        long second = replicationLog.append(PRODUCT_UUID, null);
+
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(2);
+        assertThat(replicationLog.lastOffset()).isEqualTo(2);
+    }
+
+    @Test
+    void readShouldReturnRecordsInOrder_whenOffsetRetained() throws InterruptedException {
+        replicationLog.append(PRODUCT_UUID, new byte[]{1});
+        replicationLog.append(PRODUCT_UUID, null);
+
+        List<ReplicationRecord> actual = replicationLog.read(1, 10, 0, TimeUnit.MILLISECONDS);
+
+        assertThat(actual)
+                .extracting(ReplicationRecord::offset)
+                .containsExactly(1L, 2L);
+        assertTrue(actual.get(1).isDelete());
+    }
+
+    @Test
+    void readShouldReturnEmptyList_whenNoNewRecordsAppeared() throws InterruptedException {
+        replicationLog.append(PRODUCT_UUID, null);
+
+        List<ReplicationRecord> actual = replicationLog.read(2, 10, 10, TimeUnit.MILLISECONDS);
+
+        assertThat(actual).isEmpty();
+    }
+
+    @Test
+    void readShouldWaitForRecord_whenAppendedConcurrently() throws InterruptedException {
+        Thread writer = new Thread(() -> replicationLog.append(PRODUCT_UUID, null));
+        writer.start();
+
+        List<ReplicationRecord> actual = replicationLog.read(1, 10, 5, TimeUnit.SECONDS);
+
+        writer.join();
+        assertThat(actual).hasSize(1);
+    }
+
+    @Test
+    void readShouldThrowIllegalStateException_whenOffsetEvicted() {
+        for (int i = 0; i < 5; i++) {
+            replicationLog.append(PRODUCT_UUID, null);
+        }
+
+        assertFalse(replicationLog.isRetained(2));
+        assertTrue(replicationLog.isRetained(3));
+        assertThrows(IllegalStateException.class, () -> replicationLog.read(2, 10, 0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void readShouldThrowIllegalStateException_whenOffsetAheadOfLog() {
+        replicationLog.append(PRODUCT_UUID, null);
+
+        assertTrue(replicationLog.isRetained(2));
+        assertFalse(replicationLog.isRetained(3));
+        assertThrows(IllegalStateException.class, () -> replicationLog.read(3, 10, 0, TimeUnit.MILLISECONDS));
+    }
+}
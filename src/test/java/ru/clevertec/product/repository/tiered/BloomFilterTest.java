@@ -0,0 +1,52 @@
+package ru.clevertec.product.repository.tiered;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class BloomFilterTest {
+
+    private static final int ENTRIES = 10_000;
+    private static final int PROBES = 100_000;
+
+    @Test
+    void mightContainShouldReturnTrue_whenUuidWasPut() {
+        BloomFilter bloomFilter = new BloomFilter(ENTRIES, 0.01);
+        List<UUID> uuids = randomUuids(ENTRIES);
+
+        uuids.forEach(bloomFilter::put);
+
+        assertThat(uuids).allMatch(bloomFilter::mightContain);
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.1, 0.01, 0.001})
+    void mightContainShouldKeepFalsePositiveRate_whenUuidWasNotPut(double falsePositiveRate) {
+        BloomFilter bloomFilter = new BloomFilter(ENTRIES, falsePositiveRate);
+        randomUuids(ENTRIES).forEach(bloomFilter::put);
+
+        long falsePositives = randomUuids(PROBES).stream()
+                .filter(bloomFilter::mightContain)
+                .count();
+
+        assertThat((double) falsePositives / PROBES).isLessThan(falsePositiveRate * 2);
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0, 1, -0.5})
+    void constructorShouldThrowIllegalArgumentException_whenIncorrectRate(double falsePositiveRate) {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(ENTRIES, falsePositiveRate));
+    }
+
+    private List<UUID> randomUuids(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> UUID.randomUUID())
+                .toList();
+    }
+}
@@ -0,0 +1,154 @@
+package ru.clevertec.product.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.clevertec.product.data.InfoProductDto;
+import ru.clevertec.product.entity.Product;
+import ru.clevertec.product.exception.ProductNotFoundException;
+import ru.clevertec.product.mapper.ProductMapper;
+import ru.clevertec.product.repository.ProductRepository;
+import ru.clevertec.product.util.InfoProductTestBuilder;
+import ru.clevertec.product.util.ProductTestBuilder;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingProductServiceTest {
+
+    private static final int THREADS = 50;
+
+    @Mock
+    private ProductMapper mapper;
+    @Mock
+    private ProductRepository productRepository;
+
+    private CoalescingProductService productService;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        productService = new CoalescingProductService(new ProductServiceImpl(mapper, productRepository));
+    }
+
+    @Nested
+    class GetTest {
+
+        @Test
+        void getShouldCallRepositoryOnce_whenConcurrentCallsForSameUuid() throws InterruptedException {
+            Product product = ProductTestBuilder.builder().build()
+                    .buildProduct();
+            InfoProductDto expected = InfoProductTestBuilder.builder().build()
+                    .buildInfoProductDto();
+            when(productRepository.findById(product.getUuid()))
+                    .thenAnswer(invocation -> {
+                        release.await();
+                        return Optional.of(product);
+                    });
+            when(mapper.toInfoProductDto(product))
+                    .thenReturn(expected);
+
+            List<CompletableFuture<InfoProductDto>> actual = burst(product.getUuid());
+
+            assertThat(actual)
+                    .hasSize(THREADS)
+                    .allSatisfy(result -> assertThat(result.join()).isSameAs(expected));
+            verify(productRepository, times(1)).findById(product.getUuid());
+            verify(mapper, times(1)).toInfoProductDto(product);
+        }
+
+        @Test
+        void getShouldShareProductNotFoundException_whenConcurrentCallsForMissingUuid() throws InterruptedException {
+            UUID uuid = UUID.randomUUID();
+            when(productRepository.findById(uuid))
+                    .thenAnswer(invocation -> {
+                        release.await();
+                        return Optional.empty();
+                    });
+
+            List<CompletableFuture<InfoProductDto>> actual = burst(uuid);
+
+            assertThat(actual)
+                    .allSatisfy(result -> assertThatThrownBy(result::join)
+                            .hasCauseInstanceOf(ProductNotFoundException.class));
+            verify(productRepository, times(1)).findById(uuid);
+        }
+
+        @Test
+        void getShouldCallRepositoryAgain_whenPreviousCallCompleted() {
+            Product product = ProductTestBuilder.builder().build()
+                    .buildProduct();
+            when(productRepository.findById(product.getUuid()))
+                    .thenReturn(Optional.of(product));
+
+            productService.get(product.getUuid());
+            productService.get(product.getUuid());
+
+            verify(productRepository, times(2)).findById(product.getUuid());
+        }
+
+        @Test
+        void getShouldThrowProductNotFoundException_whenDeletedBeforeCall() {
+            UUID uuid = UUID.randomUUID();
+            when(productRepository.findById(uuid))
+                    .thenReturn(Optional.empty());
+
+            productService.delete(uuid);
+
+            assertThrows(ProductNotFoundException.class, () -> productService.get(uuid));
+            verify(productRepository).delete(uuid);
+        }
+    }
+
+    @Test
+    void getAllShouldDelegate_whenCalled() {
+        when(productRepository.findAll())
+                .thenReturn(List.of());
+
+        List<InfoProductDto> actual = productService.getAll();
+
+        assertThat(actual).isEmpty();
+    }
+
+    private List<CompletableFuture<InfoProductDto>> burst(UUID uuid) throws InterruptedException {
+        List<CompletableFuture<InfoProductDto>> results = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            CompletableFuture<InfoProductDto> result = new CompletableFuture<>();
+            results.add(result);
+            threads.add(new Thread(() -> {
+                try {
+                    result.complete(productService.get(uuid));
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!threads.stream().allMatch(thread -> thread.getState() == Thread.State.WAITING)
+               && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return results;
+    }
+}
@@ -0,0 +1,265 @@
+package ru.clevertec.product.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.clevertec.product.data.InfoProductDto;
+import ru.clevertec.product.data.ProductDto;
+import ru.clevertec.product.exception.ServiceOverloadedException;
+import ru.clevertec.product.service.ProductService;
+import ru.clevertec.product.service.limit.AdaptiveConcurrencyLimiter;
+import ru.clevertec.product.util.InfoProductTestBuilder;
+import ru.clevertec.product.util.ProductTestBuilder;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitedProductServiceTest {
+
+    private static final int CLIENTS = 4;
+    private static final int OVERLOAD_CLIENTS = 32;
+    private static final int REQUESTS_PER_CLIENT = 20;
+    private static final int MAX_LIMIT = 8;
+    private static final Duration TARGET_LATENCY = Duration.ofMillis(10);
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+
+    @Mock
+    private ProductService productService;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void createShouldDelegate_whenUnderLimit() {
+        ProductDto productDto = ProductTestBuilder.builder().build()
+                .buildProductDto();
+        UUID expected = UUID.randomUUID();
+        when(productService.create(productDto))
+                .thenReturn(expected);
+        ConcurrencyLimitedProductService limitedService = new ConcurrencyLimitedProductService(productService,
+                limiter());
+
+        UUID actual = limitedService.create(productDto);
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void getShouldDelegateWithoutLimit_whenCalled() {
+        InfoProductDto expected = InfoProductTestBuilder.builder().build()
+                .buildInfoProductDto();
+        when(productService.get(expected.uuid()))
+                .thenReturn(expected);
+        ConcurrencyLimitedProductService limitedService = new ConcurrencyLimitedProductService(productService,
+                limiter());
+
+        InfoProductDto actual = limitedService.get(expected.uuid());
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void deleteShouldDelegate_whenUnderLimit() {
+        UUID uuid = UUID.randomUUID();
+        ConcurrencyLimitedProductService limitedService = new ConcurrencyLimitedProductService(productService,
+                limiter());
+
+        limitedService.delete(uuid);
+
+        verify(productService).delete(uuid);
+    }
+
+    @Test
+    void createShouldRejectExcessAndShrinkLimit_whenServiceIsOverloaded() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(CLIENTS, 1, CLIENTS, TARGET_LATENCY,
+                Duration.ofMillis(10), 0);
+        SlowWriteProductService slowService = new SlowWriteProductService(CLIENTS);
+        ProductService limitedService = new ConcurrencyLimitedProductService(slowService, limiter);
+        ProductDto productDto = ProductTestBuilder.builder().build()
+                .buildProductDto();
+        CompletableFuture<?>[] running = IntStream.range(0, CLIENTS)
+                .mapToObj(i -> CompletableFuture.runAsync(() -> limitedService.create(productDto), executor))
+                .toArray(CompletableFuture[]::new);
+        slowService.started.await();
+
+        assertThrows(ServiceOverloadedException.class, () -> limitedService.create(productDto));
+
+        slowService.release.countDown();
+        CompletableFuture.allOf(running).join();
+        assertThat(limiter.rejected()).isEqualTo(1);
+        assertThat(limiter.limit()).isLessThan(CLIENTS);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    /**
+     * Задержка измеряется числом записей, завершившихся за время запроса, включая его собственную:
+     * записи выполняются по очереди, поэтому это время запроса в единицах времени одной записи,
+     * не зависящее от скорости машины. Допущенный ограничителем запрос ждёт не больше limit записей;
+     * ещё одна может завершиться между чтением счётчика и допуском.
+     */
+    @Test
+    void createShouldKeepTailLatencyBounded_whenServiceIsOverloaded() throws InterruptedException {
+        QueuedWriteProductService unlimitedService = new QueuedWriteProductService();
+        QueuedWriteProductService limitedTarget = new QueuedWriteProductService();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(MAX_LIMIT, 1, MAX_LIMIT, TARGET_LATENCY,
+                Duration.ZERO, 0);
+
+        LoadResult unlimited = load(unlimitedService, unlimitedService);
+        LoadResult limited = load(new ConcurrencyLimitedProductService(limitedTarget, limiter), limitedTarget);
+
+        assertThat(unlimited.p99()).isGreaterThan(MAX_LIMIT);
+        assertThat(limited.p99()).isLessThanOrEqualTo(MAX_LIMIT + 1);
+        assertThat(limited.rejected()).isPositive()
+                .isEqualTo(limiter.rejected());
+    }
+
+    private AdaptiveConcurrencyLimiter limiter() {
+        return new AdaptiveConcurrencyLimiter(10, 1, 50, TARGET_LATENCY, Duration.ofMillis(20), 16);
+    }
+
+    private LoadResult load(ProductService service, QueuedWriteProductService writes) throws InterruptedException {
+        ProductDto productDto = ProductTestBuilder.builder().build()
+                .buildProductDto();
+        List<Long> latencies = new ArrayList<>();
+        AtomicLong rejected = new AtomicLong();
+        List<Thread> clients = new ArrayList<>();
+        for (int i = 0; i < OVERLOAD_CLIENTS; i++) {
+            clients.add(new Thread(() -> {
+                for (int request = 0; request < REQUESTS_PER_CLIENT; request++) {
+                    long start = writes.completed();
+                    try {
+                        service.create(productDto);
+                        long latency = writes.completed() - start;
+                        synchronized (latencies) {
+                            latencies.add(latency);
+                        }
+                    } catch (ServiceOverloadedException e) {
+                        rejected.incrementAndGet();
+                        pause(1);
+                    }
+                }
+            }));
+        }
+        clients.forEach(Thread::start);
+        for (Thread client : clients) {
+            client.join();
+        }
+        List<Long> sorted = latencies.stream()
+                .sorted()
+                .toList();
+        return new LoadResult(sorted.get((int) (sorted.size() * 0.99)), rejected.get());
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record LoadResult(long p99, long rejected) {
+    }
+
+    /**
+     * Сервис, в котором доступны только изменяющие операции, update и delete выполняются как create.
+     */
+    private abstract static class WriteOnlyProductService implements ProductService {
+
+        @Override
+        public InfoProductDto get(UUID uuid) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<InfoProductDto> getAll() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<InfoProductDto> getByPriceBetween(BigDecimal min, BigDecimal max) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void update(UUID uuid, ProductDto productDto) {
+            create(productDto);
+        }
+
+        @Override
+        public void delete(UUID uuid) {
+            create(null);
+        }
+    }
+
+    /**
+     * Запись, которая ждёт сигнала и выполняется дольше целевой задержки ограничителя.
+     */
+    private static class SlowWriteProductService extends WriteOnlyProductService {
+
+        private final CountDownLatch started;
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        private SlowWriteProductService(int writers) {
+            this.started = new CountDownLatch(writers);
+        }
+
+        @Override
+        public UUID create(ProductDto productDto) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            pause(TARGET_LATENCY.toMillis() * 2);
+            return UUID.randomUUID();
+        }
+    }
+
+    /**
+     * Имитирует запись под общей блокировкой, как в хранилище в памяти. Блокировка честная,
+     * поэтому записи завершаются в порядке поступления.
+     */
+    private static class QueuedWriteProductService extends WriteOnlyProductService {
+
+        private final ReentrantLock writeLock = new ReentrantLock(true);
+        private final AtomicLong completed = new AtomicLong();
+
+        @Override
+        public UUID create(ProductDto productDto) {
+            writeLock.lock();
+            try {
+                pause(1);
+                completed.incrementAndGet();
+            } finally {
+                writeLock.unlock();
+            }
+            return UUID.randomUUID();
+        }
+
+        private long completed() {
+            return completed.get();
+        }
+    }
+}
@@ -7,13 +7,16 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static ru.clevertec.product.util.TestConstant.NEW_PRODUCT_DESCRIPTION;
 import static ru.clevertec.product.util.TestConstant.NEW_PRODUCT_NAME;
 import static ru.clevertec.product.util.TestConstant.NEW_PRODUCT_PRICE;
 import static ru.clevertec.product.util.TestConstant.PRODUCT_INCORRECT_UUID;
+import static ru.clevertec.product.util.TestConstant.PRODUCT_PRICE;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -126,6 +129,116 @@ class ProductServiceImplTest {
                     .containsAll(expected);
             verify(mapper, never()).toInfoProductDto(any(Product.class));
         }
+
+        @Test
+        void getAllShouldReturnSameList_whenRepositoryVersionUnchanged() {
+            Product product = ProductTestBuilder.builder().build()
+                    .buildProduct();
+
+            when(productRepository.version())
+                    .thenReturn(1L);
+            when(productRepository.findAll())
+                    .thenReturn(List.of(product));
+
+            List<InfoProductDto> first = productService.getAll();
+            List<InfoProductDto> second = productService.getAll();
+
+            assertThat(second).isSameAs(first);
+            verify(productRepository, times(1)).findAll();
+        }
+
+        @Test
+        void getAllShouldReuseUnchangedDtos_whenRepositoryVersionChanged() {
+            InfoProductDto infoProductDto = InfoProductTestBuilder.builder().build()
+                    .buildInfoProductDto();
+            Product product = ProductTestBuilder.builder().build()
+                    .buildProduct();
+
+            when(productRepository.version())
+                    .thenReturn(1L, 2L);
+            when(productRepository.findAll())
+                    .thenReturn(List.of(product));
+            when(mapper.toInfoProductDto(product))
+                    .thenReturn(infoProductDto);
+
+            List<InfoProductDto> first = productService.getAll();
+            List<InfoProductDto> second = productService.getAll();
+
+            assertThat(second)
+                    .isNotSameAs(first)
+                    .containsExactly(infoProductDto);
+            assertThat(second.get(0)).isSameAs(first.get(0));
+            verify(mapper, times(1)).toInfoProductDto(product);
+        }
+
+        @Test
+        void getAllShouldRemapChangedProduct_whenRepositoryVersionChanged() {
+            Product product = ProductTestBuilder.builder().build()
+                    .buildProduct();
+            InfoProductDto infoProductDto = InfoProductTestBuilder.builder().build()
+                    .buildInfoProductDto();
+            InfoProductDto updatedDto = InfoProductTestBuilder.builder()
+                    .withPrice(NEW_PRODUCT_PRICE).build()
+                    .buildInfoProductDto();
+
+            when(productRepository.version())
+                    .thenReturn(1L, 2L);
+            when(productRepository.findAll())
+                    .thenReturn(List.of(product));
+            when(mapper.toInfoProductDto(product))
+                    .thenReturn(infoProductDto, updatedDto);
+
+            productService.getAll();
+            product.setPrice(NEW_PRODUCT_PRICE);
+            List<InfoProductDto> actual = productService.getAll();
+
+            assertThat(actual).containsExactly(updatedDto);
+        }
+
+        @Test
+        void getAllShouldRebuildList_whenRepositoryDoesNotTrackVersions() {
+            when(productRepository.version())
+                    .thenReturn(-1L);
+            when(productRepository.findAll())
+                    .thenReturn(List.of());
+
+            productService.getAll();
+            productService.getAll();
+
+            verify(productRepository, times(2)).findAll();
+        }
+    }
+
+    @Nested
+    class GetByPriceBetweenTest {
+
+        @Test
+        void getByPriceBetweenShouldReturnInfoProductDtoList_whenRepositoryFoundProducts() {
+            InfoProductDto infoProductDto = InfoProductTestBuilder.builder().build()
+                    .buildInfoProductDto();
+            Product product = ProductTestBuilder.builder().build()
+                    .buildProduct();
+
+            when(productRepository.findByPriceBetween(PRODUCT_PRICE, NEW_PRODUCT_PRICE))
+                    .thenReturn(List.of(product));
+            when(mapper.toInfoProductDto(product))
+                    .thenReturn(infoProductDto);
+
+            List<InfoProductDto> actual = productService.getByPriceBetween(PRODUCT_PRICE, NEW_PRODUCT_PRICE);
+
+            assertThat(actual).containsExactly(infoProductDto);
+        }
+
+        @Test
+        void getByPriceBetweenShouldReturnEmptyList_whenNothingFound() {
+            when(productRepository.findByPriceBetween(BigDecimal.ONE, PRODUCT_PRICE))
+                    .thenReturn(List.of());
+
+            List<InfoProductDto> actual = productService.getByPriceBetween(BigDecimal.ONE, PRODUCT_PRICE);
+
+            assertThat(actual).isEmpty();
+            verify(mapper, never()).toInfoProductDto(any(Product.class));
+        }
     }
 
     @Nested
@@ -0,0 +1,182 @@
+package ru.clevertec.product.service.limit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import ru.clevertec.product.exception.ServiceOverloadedException;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final Duration TARGET = Duration.ofMillis(10);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Nested
+    class RejectTest {
+
+        @Test
+        void executeShouldRejectImmediately_whenLimitReachedAndQueueIsFull() throws InterruptedException {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 2, Duration.ofSeconds(1),
+                    Duration.ofSeconds(10), 0);
+            CountDownLatch started = new CountDownLatch(2);
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<?>[] running = IntStream.range(0, 2)
+                    .mapToObj(i -> CompletableFuture.runAsync(() -> limiter.execute(() -> {
+                        started.countDown();
+                        await(release);
+                    })))
+                    .toArray(CompletableFuture[]::new);
+            started.await();
+
+            assertThrows(ServiceOverloadedException.class, () -> limiter.execute(() -> {
+            }));
+
+            release.countDown();
+            CompletableFuture.allOf(running).join();
+            assertEquals(1, limiter.rejected());
+            assertEquals(0, limiter.inFlight());
+        }
+
+        @Test
+        void executeShouldRejectAfterMaxWait_whenNoPermitReleased() throws InterruptedException {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, Duration.ofSeconds(1),
+                    Duration.ofMillis(50), 1);
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<Void> running = CompletableFuture.runAsync(() -> limiter.execute(() -> {
+                started.countDown();
+                await(release);
+            }));
+            started.await();
+            long start = System.nanoTime();
+
+            assertThrows(ServiceOverloadedException.class, () -> limiter.execute(() -> {
+            }));
+
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+            release.countDown();
+            running.join();
+        }
+    }
+
+    @Nested
+    class AdaptTest {
+
+        @Test
+        void executeShouldDecreaseLimit_whenLatencyExceedsTarget() {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 20, TARGET,
+                    Duration.ofSeconds(1), 0, clock::get);
+
+            IntStream.range(0, 10)
+                    .forEach(i -> limiter.execute(() -> clock.addAndGet(TARGET.toNanos() * 2)));
+
+            assertEquals(9, limiter.limit());
+        }
+
+        @Test
+        void executeShouldNotGoBelowMinLimit_whenLatencyStaysHigh() {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 3, 20, TARGET,
+                    Duration.ofSeconds(1), 0, clock::get);
+
+            IntStream.range(0, 100)
+                    .forEach(i -> limiter.execute(() -> clock.addAndGet(TARGET.toNanos() * 2)));
+
+            assertEquals(3, limiter.limit());
+        }
+
+        @Test
+        void executeShouldIncreaseLimit_whenLimitIsSaturatedAndLatencyIsLow() {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 5, TARGET,
+                    Duration.ofSeconds(1), 0, clock::get);
+
+            limiter.execute(() -> clock.addAndGet(1));
+
+            assertEquals(2, limiter.limit());
+        }
+
+        @Test
+        void executeShouldNotIncreaseLimit_whenLimitIsNotSaturated() {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 5, TARGET,
+                    Duration.ofSeconds(1), 0, clock::get);
+
+            IntStream.range(0, 100)
+                    .forEach(i -> limiter.execute(() -> clock.addAndGet(1)));
+
+            assertEquals(4, limiter.limit());
+        }
+
+        @Test
+        void executeShouldAdmitAllWaiters_whenLimitGrows() throws InterruptedException {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 3, TARGET,
+                    Duration.ofSeconds(10), 2, clock::get);
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch bothRunning = new CountDownLatch(2);
+            CompletableFuture<Void> running = CompletableFuture.runAsync(() -> limiter.execute(() -> {
+                started.countDown();
+                await(release);
+            }));
+            started.await();
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            List<CompletableFuture<Boolean>> waiters = IntStream.range(0, 2)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> limiter.execute(() -> {
+                        bothRunning.countDown();
+                        return await(bothRunning, Duration.ofSeconds(5));
+                    }), executor))
+                    .toList();
+            while (limiter.waiting() < 2) {
+                Thread.onSpinWait();
+            }
+
+            release.countDown();
+
+            running.join();
+            assertThat(waiters).allSatisfy(waiter -> assertThat(waiter.join()).isTrue());
+            assertEquals(3, limiter.limit());
+            assertEquals(0, limiter.rejected());
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void executeShouldReleasePermit_whenOperationThrows() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, TARGET,
+                Duration.ofMillis(10), 0);
+
+        assertThrows(IllegalStateException.class, () -> limiter.execute(() -> {
+            throw new IllegalStateException();
+        }));
+
+        assertEquals(0, limiter.inFlight());
+        assertEquals(1, limiter.execute(() -> 1));
+    }
+
+    private static boolean await(CountDownLatch latch, Duration timeout) {
+        try {
+            return latch.await(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
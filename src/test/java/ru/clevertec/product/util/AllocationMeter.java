@@ -0,0 +1,46 @@
+package ru.clevertec.product.util;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Замер выделенной текущим потоком памяти на одну операцию по счётчикам ThreadMXBean.
+ * Операция предварительно прогревается, чтобы JIT успел убрать аллокации, которые он умеет убирать,
+ * из нескольких замеров берётся минимальный, чтобы не учитывать случайные выделения JVM.
+ */
+@UtilityClass
+public class AllocationMeter {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 1_000;
+    private static final int ROUNDS = 5;
+
+    public static long bytesPerOperation(Runnable operation) {
+        ThreadMXBean threads = threads();
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            operation.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                operation.run();
+            }
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+            best = Math.min(best, allocated / MEASURED_ITERATIONS);
+        }
+        return best;
+    }
+
+    private static ThreadMXBean threads() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof ThreadMXBean threads && threads.isThreadAllocatedMemorySupported(),
+                "thread allocation counters are not supported by this JVM");
+        ThreadMXBean threads = (ThreadMXBean) bean;
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+}
@@ -0,0 +1,37 @@
+package ru.clevertec.product.repository.column;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Сравнивает сразу столько цен, сколько помещается в векторный регистр, и пропускает блоки без совпадений.
+ * Номера строк из блока с совпадениями записываются скалярно: в JDK 17 нет векторного сжатия
+ * по маске, поэтому выигрыш есть только для узких диапазонов, см. {@link AdaptivePriceScanner}.
+ * Собирается отдельно от основного кода с модулем jdk.incubator.vector и загружается
+ * {@link PriceScanner#vector()} по имени, только если модуль подключён.
+ */
+class VectorPriceScanner implements PriceScanner {
+
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    @Override
+    public int scan(long[] prices, int length, long min, long max, int[] rowIds) {
+        int found = 0;
+        int row = 0;
+        for (int bound = SPECIES.loopBound(length); row < bound; row += SPECIES.length()) {
+            LongVector vector = LongVector.fromArray(SPECIES, prices, row);
+            if (vector.compare(VectorOperators.GE, min).and(vector.compare(VectorOperators.LE, max)).anyTrue()) {
+                for (int lane = row; lane < row + SPECIES.length(); lane++) {
+                    rowIds[found] = lane;
+                    found += prices[lane] >= min & prices[lane] <= max ? 1 : 0;
+                }
+            }
+        }
+        for (; row < length; row++) {
+            rowIds[found] = row;
+            found += prices[row] >= min & prices[row] <= max ? 1 : 0;
+        }
+        return found;
+    }
+}